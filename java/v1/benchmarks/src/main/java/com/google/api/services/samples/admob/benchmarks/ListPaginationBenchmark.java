@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.benchmarks;
+
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.Json;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.admob.v1.AdMob;
+import com.google.api.services.admob.v1.model.App;
+import com.google.api.services.admob.v1.model.AppManualAppInfo;
+import com.google.api.services.admob.v1.model.ListAppsResponse;
+import com.google.api.services.samples.admob.apps.ListApps;
+import com.google.api.services.samples.admob.testing.SyntheticReports;
+import com.google.api.services.samples.admob.util.PagePrefetcher;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures listing every app of an account page by page, against a transport that serves canned
+ * pages after a fixed latency, with and without prefetching upcoming pages.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ListPaginationBenchmark {
+
+  private static final String ACCOUNT_NAME = "accounts/pub-0000000000000000";
+
+  /** The number of pages the account's apps span. */
+  @Param({"10"})
+  public int pages;
+
+  /** The number of apps on each page. */
+  @Param({"1000"})
+  public int appsPerPage;
+
+  /** The latency of each list request. */
+  @Param({"20"})
+  public long latencyMillis;
+
+  /** The amount of work spent on each app, in {@link Blackhole#consumeCPU} tokens. */
+  @Param({"1000"})
+  public long tokensPerApp;
+
+  private AdMob adMob;
+  private ExecutorService executor;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    JsonFactory jsonFactory = Utils.getDefaultJsonFactory();
+    byte[][] content = new byte[pages][];
+    for (int page = 0; page < pages; page++) {
+      List<App> apps = new ArrayList<>(appsPerPage);
+      for (int i = 0; i < appsPerPage; i++) {
+        String appId = SyntheticReports.appId(page * appsPerPage + i);
+        apps.add(
+            new App()
+                .setName(ACCOUNT_NAME + "/apps/" + appId)
+                .setAppId(appId)
+                .setPlatform("ANDROID")
+                .setManualAppInfo(new AppManualAppInfo().setDisplayName("App " + appId)));
+      }
+      ListAppsResponse response = new ListAppsResponse().setApps(apps);
+      if (page + 1 < pages) {
+        response.setNextPageToken(Integer.toString(page + 1));
+      }
+      content[page] = jsonFactory.toByteArray(response);
+    }
+    adMob =
+        new AdMob.Builder(new CannedPagesTransport(content, latencyMillis), jsonFactory, null)
+            .setApplicationName("admobapi-java-benchmarks")
+            .build();
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  /** Fetches each page only once the previous one has been processed. */
+  @Benchmark
+  public void listSequentially(Blackhole blackhole) throws IOException {
+    String pageToken = null;
+    do {
+      ListAppsResponse response =
+          adMob.accounts().apps().list(ACCOUNT_NAME).setPageToken(pageToken).execute();
+      process(response, blackhole);
+      pageToken = response.getNextPageToken();
+    } while (pageToken != null);
+  }
+
+  /** Fetches upcoming pages in the background while the current one is processed. */
+  @Benchmark
+  public void listWithPrefetching(Blackhole blackhole) {
+    try (PagePrefetcher<ListAppsResponse> pages =
+        ListApps.listAppsPages(adMob, ACCOUNT_NAME, executor)) {
+      while (pages.hasNext()) {
+        process(pages.next(), blackhole);
+      }
+    }
+  }
+
+  private void process(ListAppsResponse response, Blackhole blackhole) {
+    for (App app : response.getApps()) {
+      blackhole.consume(app.getName());
+      Blackhole.consumeCPU(tokensPerApp);
+    }
+  }
+
+  /** Serves the page named by the request's page token, or the first page if there is none. */
+  private static final class CannedPagesTransport extends HttpTransport {
+
+    private final byte[][] content;
+    private final long latencyMillis;
+
+    CannedPagesTransport(byte[][] content, long latencyMillis) {
+      this.content = content;
+      this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+      return new MockLowLevelHttpRequest(url) {
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+          try {
+            Thread.sleep(latencyMillis);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+          }
+          Object pageToken = new GenericUrl(getUrl()).getFirst("pageToken");
+          int page = pageToken == null ? 0 : Integer.parseInt(pageToken.toString());
+          return new MockLowLevelHttpResponse()
+              .setContentType(Json.MEDIA_TYPE)
+              .setContent(content[page]);
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.benchmarks;
+
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.samples.admob.reports.Report;
+import com.google.api.services.samples.admob.reports.ReportCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the ways of writing parsed report rows out. */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ReportOutputBenchmark {
+
+  /** Discards everything written to it, so that only formatting is measured. */
+  private static final OutputStream NULL_OUTPUT =
+      new OutputStream() {
+        @Override
+        public void write(int b) {}
+
+        @Override
+        public void write(byte[] b, int off, int len) {}
+      };
+
+  /** The number of rows written. Output benchmarks hold all rows in memory. */
+  @Param({"1000", "100000"})
+  public long rows;
+
+  private Report report;
+  private byte[] encodedReport;
+  private PrintStream out;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    ReportPayload payload = new ReportPayload();
+    payload.rows = rows;
+    payload.recordedResponse = "";
+    payload.setUp();
+    try (InputStream in = payload.open()) {
+      report = Report.read(in);
+    } finally {
+      payload.tearDown();
+    }
+    ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+    ReportCodec.write(report, encoded);
+    encodedReport = encoded.toByteArray();
+    out = new PrintStream(NULL_OUTPUT);
+  }
+
+  /** Prints each row with {@code printf("%s%n", row)}, as the report samples do. */
+  @Benchmark
+  public void printfRows() {
+    for (ReportRow row : report.getRows()) {
+      out.printf("%s%n", row);
+    }
+  }
+
+  /** Encodes the report in the binary format used by the report cache. */
+  @Benchmark
+  public void encodeReport() throws IOException {
+    ReportCodec.write(report, NULL_OUTPUT);
+  }
+
+  /** Decodes the report from the binary format used by the report cache. */
+  @Benchmark
+  public Report decodeReport() throws IOException {
+    return ReportCodec.read(new ByteArrayInputStream(encodedReport));
+  }
+}
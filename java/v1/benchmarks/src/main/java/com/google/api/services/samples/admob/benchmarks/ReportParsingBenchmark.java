@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.json.JsonObjectParser;
+import com.google.api.services.admob.v1.model.GenerateNetworkReportResponse;
+import com.google.api.services.samples.admob.reports.ColumnarReport;
+import com.google.api.services.samples.admob.reports.ReportRowCursor;
+import com.google.api.services.samples.admob.reports.ReportStreamReader;
+import com.google.api.services.samples.admob.testing.SyntheticReports;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Measures the ways of reading a report response into rows. */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ReportParsingBenchmark {
+
+  /** Parses the whole response into an array, as the report samples originally did. */
+  @Benchmark
+  public GenerateNetworkReportResponse[] parseAllRows(ReportPayload payload) throws IOException {
+    return new JsonObjectParser(Utils.getDefaultJsonFactory())
+        .parseAndClose(payload.open(), UTF_8, GenerateNetworkReportResponse[].class);
+  }
+
+  /** Reads the response one row at a time. */
+  @Benchmark
+  public void streamRows(ReportPayload payload, Blackhole blackhole) throws IOException {
+    try (ReportStreamReader reader = ReportStreamReader.open(payload.open())) {
+      while (reader.hasNext()) {
+        blackhole.consume(reader.next());
+      }
+    }
+  }
+
+  /** Reads the response one row at a time, parsing it in chunks on a pool. */
+  @Benchmark
+  public void streamRowsInParallel(ReportPayload payload, ParsingPool pool, Blackhole blackhole)
+      throws IOException {
+    try (ReportStreamReader reader = ReportStreamReader.open(payload.open(), pool.get())) {
+      while (reader.hasNext()) {
+        blackhole.consume(reader.next());
+      }
+    }
+  }
+
+  /** Decodes the response one row at a time into a reused row, reading every metric. */
+  @Benchmark
+  public void cursorRows(ReportPayload payload, Blackhole blackhole) throws IOException {
+    try (ReportRowCursor cursor =
+        ReportRowCursor.open(
+            payload.open(), SyntheticReports.DIMENSIONS, SyntheticReports.METRICS)) {
+      int metrics = SyntheticReports.METRICS.size();
+      while (cursor.next()) {
+        for (int metric = 0; metric < metrics; metric++) {
+          blackhole.consume(cursor.longMetric(metric));
+          blackhole.consume(cursor.doubleMetric(metric));
+        }
+      }
+    }
+  }
+
+  /** Reads the response one row at a time into columns. */
+  @Benchmark
+  public ColumnarReport buildColumnarReport(ReportPayload payload) throws IOException {
+    try (ReportStreamReader reader = ReportStreamReader.open(payload.open())) {
+      return ColumnarReport.build(SyntheticReports.DIMENSIONS, SyntheticReports.METRICS, reader);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.benchmarks;
+
+import com.google.api.services.samples.admob.testing.SyntheticReports;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A network report response replayed by the benchmarks: either a recorded response, or a synthetic
+ * one of the requested size.
+ *
+ * <p>The response is kept in a file rather than in memory so that payloads of up to 10M rows can be
+ * replayed. After the first read it is served from the page cache.
+ */
+@State(Scope.Benchmark)
+public class ReportPayload {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /** The number of rows of the synthetic response. Ignored when replaying a recorded response. */
+  @Param({"1000", "100000", "1000000"})
+  public long rows;
+
+  /** The path of a recorded response to replay, or empty to generate a synthetic one. */
+  @Param({""})
+  public String recordedResponse;
+
+  private Path file;
+  private boolean temporary;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    if (!recordedResponse.isEmpty()) {
+      file = Paths.get(recordedResponse);
+      return;
+    }
+    file = Files.createTempFile("admob-report", ".json");
+    temporary = true;
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE)) {
+      SyntheticReports.writeReport(out, rows, rows);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    if (temporary) {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /** Opens the response, as a report method's {@code executeAsInputStream()} would. */
+  public InputStream open() throws IOException {
+    return new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+  }
+}
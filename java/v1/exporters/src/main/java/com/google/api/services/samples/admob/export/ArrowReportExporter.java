@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.api.services.samples.admob.export;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.admob.v1.model.ReportRowDimensionValue;
+import com.google.api.services.admob.v1.model.ReportRowMetricValue;
+import com.google.api.services.samples.admob.reports.ColumnarReport.MetricType;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * Exports a report in the Apache Arrow IPC streaming format, one record batch per batch of rows.
+ *
+ * <p>Each dimension has a UTF-8 column holding its value and, if labels are included, a {@code
+ * _LABEL} column holding its display label. Integer and micros metrics are 64-bit integer columns
+ * and double metrics are double columns, by the type the API reports each metric in (see {@link
+ * MetricType#of}). Values missing from a row are null.
+ */
+public final class ArrowReportExporter implements ReportExporter {
+
+  private final OutputStream out;
+  private final boolean includeLabels;
+  private final BufferAllocator allocator = new RootAllocator();
+  private List<String> dimensions;
+  private List<String> metrics;
+  private VectorSchemaRoot root;
+  private ArrowStreamWriter writer;
+
+  /**
+   * @param out The stream to export to, closed when the exporter is closed.
+   * @param includeLabels Whether to add a display label column for each dimension.
+   */
+  public ArrowReportExporter(OutputStream out, boolean includeLabels) {
+    this.out = out;
+    this.includeLabels = includeLabels;
+  }
+
+  @Override
+  public void start(ReportSchema schema, @Nullable ReportHeader header) throws IOException {
+    dimensions = schema.getDimensions();
+    metrics = schema.getMetrics();
+    MetricType[] metricTypes = MetricTypes.of(metrics);
+    List<Field> fields = new ArrayList<>();
+    for (String dimension : dimensions) {
+      fields.add(Field.nullable(dimension, new ArrowType.Utf8()));
+      if (includeLabels) {
+        fields.add(Field.nullable(dimension + "_LABEL", new ArrowType.Utf8()));
+      }
+    }
+    for (int i = 0; i < metricTypes.length; i++) {
+      fields.add(
+          Field.nullable(
+              metrics.get(i),
+              metricTypes[i] == MetricType.DOUBLE
+                  ? new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)
+                  : new ArrowType.Int(64, true)));
+    }
+    root = VectorSchemaRoot.create(new Schema(fields), allocator);
+    writer = new ArrowStreamWriter(root, null, out);
+    writer.start();
+  }
+
+  @Override
+  public void write(List<ReportRow> rows) throws IOException {
+    // Reallocating the vectors clears the previous batch.
+    root.allocateNew();
+    List<FieldVector> vectors = root.getFieldVectors();
+    for (int i = 0; i < rows.size(); i++) {
+      ReportRow row = rows.get(i);
+      Map<String, ReportRowDimensionValue> dimensionValues = row.getDimensionValues();
+      int column = 0;
+      for (String dimension : dimensions) {
+        ReportRowDimensionValue value =
+            dimensionValues == null ? null : dimensionValues.get(dimension);
+        setString(vectors.get(column++), i, value == null ? null : value.getValue());
+        if (includeLabels) {
+          setString(vectors.get(column++), i, value == null ? null : value.getDisplayLabel());
+        }
+      }
+      for (String metric : metrics) {
+        setMetric(vectors.get(column++), i, metric, MetricTypes.valueOf(row, metric));
+      }
+    }
+    root.setRowCount(rows.size());
+    writer.writeBatch();
+  }
+
+  @Override
+  public void finish(@Nullable ReportFooter footer) throws IOException {
+    writer.end();
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      if (writer != null) {
+        writer.close();
+        root.close();
+      }
+      allocator.close();
+    } finally {
+      out.close();
+    }
+  }
+
+  private static void setString(FieldVector vector, int index, @Nullable String value) {
+    VarCharVector strings = (VarCharVector) vector;
+    if (value == null) {
+      strings.setNull(index);
+    } else {
+      strings.setSafe(index, value.getBytes(UTF_8));
+    }
+  }
+
+  private static void setMetric(
+      FieldVector vector, int index, String metric, @Nullable ReportRowMetricValue value) {
+    if (vector instanceof Float8Vector) {
+      Float8Vector doubles = (Float8Vector) vector;
+      if (value == null) {
+        doubles.setNull(index);
+      } else {
+        doubles.setSafe(index, MetricTypes.doubleValue(metric, value));
+      }
+    } else {
+      BigIntVector longs = (BigIntVector) vector;
+      if (value == null) {
+        longs.setNull(index);
+      } else {
+        longs.setSafe(index, MetricTypes.longValue(metric, value));
+      }
+    }
+  }
+}
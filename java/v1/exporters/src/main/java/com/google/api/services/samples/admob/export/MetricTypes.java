@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.api.services.samples.admob.export;
+
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.admob.v1.model.ReportRowMetricValue;
+import com.google.api.services.samples.admob.reports.ColumnarReport.MetricType;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/** Reads the metric values of rows into columns of the types the API reports them in. */
+final class MetricTypes {
+
+  private MetricTypes() {}
+
+  /** Returns the type of each metric of a spec, from its name rather than from any row. */
+  static MetricType[] of(List<String> metrics) {
+    MetricType[] types = new MetricType[metrics.size()];
+    for (int i = 0; i < types.length; i++) {
+      types[i] = MetricType.of(metrics.get(i));
+    }
+    return types;
+  }
+
+  /** Returns the value of a metric in a row, or {@code null} if it has none. */
+  @Nullable
+  static ReportRowMetricValue valueOf(ReportRow row, String metric) {
+    Map<String, ReportRowMetricValue> values = row.getMetricValues();
+    if (values == null) {
+      return null;
+    }
+    ReportRowMetricValue value = values.get(metric);
+    return value == null
+            || (value.getIntegerValue() == null
+                && value.getMicrosValue() == null
+                && value.getDoubleValue() == null)
+        ? null
+        : value;
+  }
+
+  /** Returns an integer or micros value, or throws if the API returned a double instead. */
+  static long longValue(String metric, ReportRowMetricValue value) {
+    if (value.getIntegerValue() != null) {
+      return value.getIntegerValue();
+    } else if (value.getMicrosValue() != null) {
+      return value.getMicrosValue();
+    }
+    throw unexpectedType(metric, MetricType.DOUBLE);
+  }
+
+  /** Returns a double value, or throws if the API returned an integer or micros instead. */
+  static double doubleValue(String metric, ReportRowMetricValue value) {
+    if (value.getDoubleValue() != null) {
+      return value.getDoubleValue();
+    }
+    throw unexpectedType(
+        metric, value.getMicrosValue() != null ? MetricType.MICROS : MetricType.INTEGER);
+  }
+
+  private static IllegalArgumentException unexpectedType(String metric, MetricType type) {
+    return new IllegalArgumentException(
+        String.format(
+            "Metric %s has a %s value, not the %s type it is exported as.",
+            metric, type, MetricType.of(metric)));
+  }
+}
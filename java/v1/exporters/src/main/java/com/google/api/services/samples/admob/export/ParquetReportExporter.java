@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.api.services.samples.admob.export;
+
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.admob.v1.model.ReportRowDimensionValue;
+import com.google.api.services.admob.v1.model.ReportRowMetricValue;
+import com.google.api.services.samples.admob.reports.ColumnarReport.MetricType;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Types;
+
+/**
+ * Exports a report as a Snappy-compressed Apache Parquet file.
+ *
+ * <p>Each dimension has an optional UTF-8 string column holding its value and, if labels are
+ * included, a {@code _LABEL} column holding its display label. Integer and micros metrics are
+ * optional INT64 columns and double metrics are optional DOUBLE columns, by the type the API
+ * reports each metric in (see {@link MetricType#of}). The file is only complete once the exporter
+ * is finished.
+ */
+public final class ParquetReportExporter implements ReportExporter {
+
+  private final Path file;
+  private final boolean includeLabels;
+  private List<String> dimensions;
+  private List<String> metrics;
+  private MetricType[] metricTypes;
+  private SimpleGroupFactory groups;
+  @Nullable private ParquetWriter<Group> writer;
+
+  /**
+   * @param file The file to export to, replaced if it exists.
+   * @param includeLabels Whether to add a display label column for each dimension.
+   */
+  public ParquetReportExporter(Path file, boolean includeLabels) {
+    this.file = file;
+    this.includeLabels = includeLabels;
+  }
+
+  @Override
+  public void start(ReportSchema schema, @Nullable ReportHeader header) throws IOException {
+    dimensions = schema.getDimensions();
+    metrics = schema.getMetrics();
+    metricTypes = MetricTypes.of(metrics);
+    Types.MessageTypeBuilder builder = Types.buildMessage();
+    for (String dimension : dimensions) {
+      builder
+          .optional(PrimitiveTypeName.BINARY)
+          .as(LogicalTypeAnnotation.stringType())
+          .named(dimension);
+      if (includeLabels) {
+        builder
+            .optional(PrimitiveTypeName.BINARY)
+            .as(LogicalTypeAnnotation.stringType())
+            .named(dimension + "_LABEL");
+      }
+    }
+    for (int i = 0; i < metricTypes.length; i++) {
+      PrimitiveTypeName type =
+          metricTypes[i] == MetricType.DOUBLE ? PrimitiveTypeName.DOUBLE : PrimitiveTypeName.INT64;
+      builder.optional(type).named(metrics.get(i));
+    }
+    MessageType messageType = builder.named("report");
+    groups = new SimpleGroupFactory(messageType);
+    writer =
+        ExampleParquetWriter.builder(new LocalOutputFile(file))
+            .withType(messageType)
+            .withCompressionCodec(CompressionCodecName.SNAPPY)
+            .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+            .build();
+  }
+
+  @Override
+  public void write(List<ReportRow> rows) throws IOException {
+    for (ReportRow row : rows) {
+      Group group = groups.newGroup();
+      Map<String, ReportRowDimensionValue> dimensionValues = row.getDimensionValues();
+      for (String dimension : dimensions) {
+        ReportRowDimensionValue value =
+            dimensionValues == null ? null : dimensionValues.get(dimension);
+        if (value != null && value.getValue() != null) {
+          group.append(dimension, value.getValue());
+        }
+        if (includeLabels && value != null && value.getDisplayLabel() != null) {
+          group.append(dimension + "_LABEL", value.getDisplayLabel());
+        }
+      }
+      for (int i = 0; i < metrics.size(); i++) {
+        String metric = metrics.get(i);
+        ReportRowMetricValue value = MetricTypes.valueOf(row, metric);
+        if (value == null) {
+          continue;
+        } else if (metricTypes[i] == MetricType.DOUBLE) {
+          group.append(metric, MetricTypes.doubleValue(metric, value));
+        } else {
+          group.append(metric, MetricTypes.longValue(metric, value));
+        }
+      }
+      writer.write(group);
+    }
+  }
+
+  @Override
+  public void finish(@Nullable ReportFooter footer) throws IOException {
+    // Closing the writer writes the footer of the file, without which it cannot be read.
+    ParquetWriter<Group> finished = writer;
+    writer = null;
+    finished.close();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (writer != null) {
+      writer.close();
+    }
+  }
+
+  /** A local file to write Parquet to, without going through a Hadoop file system. */
+  private static final class LocalOutputFile implements OutputFile {
+
+    private final Path file;
+
+    LocalOutputFile(Path file) {
+      this.file = file;
+    }
+
+    @Override
+    public PositionOutputStream create(long blockSizeHint) throws IOException {
+      return new LocalPositionOutputStream(
+          Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+    }
+
+    @Override
+    public PositionOutputStream createOrOverwrite(long blockSizeHint) throws IOException {
+      return new LocalPositionOutputStream(Files.newOutputStream(file));
+    }
+
+    @Override
+    public boolean supportsBlockSize() {
+      return false;
+    }
+
+    @Override
+    public long defaultBlockSize() {
+      return 0;
+    }
+  }
+
+  /** Counts the bytes written to a file, which Parquet records the offsets of its pages with. */
+  private static final class LocalPositionOutputStream extends PositionOutputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+    private long position;
+
+    LocalPositionOutputStream(OutputStream out) {
+      this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+    }
+
+    @Override
+    public long getPos() {
+      return position;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      position++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      position += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+  }
+}
@@ -25,16 +25,27 @@ import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
 import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
 import com.google.api.client.googleapis.auth.oauth2.GoogleCredential;
 import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.http.HttpRequestInitializer;
 import com.google.api.client.http.HttpTransport;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.util.store.DataStoreFactory;
 import com.google.api.client.util.store.FileDataStoreFactory;
 import com.google.api.services.admob.v1.AdMob;
-import com.google.common.collect.ImmutableSet;
+import com.google.api.services.samples.admob.metrics.ApiMetrics;
+import com.google.api.services.samples.admob.metrics.MeteredHttpTransport;
+import com.google.api.services.samples.admob.testing.FakeAdMobTransport;
+import com.google.api.services.samples.admob.util.CredentialManager;
+import com.google.api.services.samples.admob.util.HttpTransportOptions;
 import java.io.IOException;
 import java.io.Reader;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.security.auth.login.CredentialException;
@@ -45,19 +56,82 @@ public class AdMobFactory {
   private static final java.io.File DATA_STORE_DIR =
       new java.io.File(System.getProperty("user.home"), ".store/admobapi_sample");
 
-  private static final HttpTransport HTTP_TRANSPORT = Utils.getDefaultTransport();
-  private static final JsonFactory JSON_FACTORY = Utils.getDefaultJsonFactory();
+  private static final HttpTransportOptions HTTP_TRANSPORT_OPTIONS = HttpTransportOptions.DEFAULT;
+
+  private static final String APPLICATION_NAME = "admobapi-java-samples";
+
+  /**
+   * System property that, when set to {@code true}, makes {@link #getInstance()} send requests to
+   * an in-process {@link FakeAdMobTransport} instead of the live API.
+   */
+  public static final String FAKE_API_PROPERTY = "admob.fakeApi";
+
+  /**
+   * System property that, when set to {@code true}, prints the time from JVM start to the first
+   * API response, to measure startup.
+   */
+  public static final String REPORT_STARTUP_PROPERTY = "admob.reportStartup";
+
+  private static final AtomicBoolean STARTUP_REPORTED = new AtomicBoolean();
+
+  /**
+   * System property that, when set to {@code true}, prints the {@link ApiMetrics} collected while
+   * running when the JVM exits.
+   */
+  public static final String PRINT_METRICS_PROPERTY = "admob.printMetrics";
+
+  /**
+   * System property that, when set to {@code true}, publishes the {@link ApiMetrics} over JMX. It
+   * is off by default, as starting the platform MBean server slows down startup.
+   */
+  public static final String JMX_METRICS_PROPERTY = "admob.jmxMetrics";
+
+  static {
+    if (Boolean.getBoolean(JMX_METRICS_PROPERTY)) {
+      ApiMetrics.global().registerMBean();
+    }
+    if (Boolean.getBoolean(PRINT_METRICS_PROPERTY)) {
+      Runtime.getRuntime()
+          .addShutdownHook(new Thread(() -> ApiMetrics.global().print(System.err)));
+    }
+  }
+
+  /** The clients created so far, one per credential, all sharing one transport. */
+  private static final Map<Credential, AdMob> CLIENTS = new ConcurrentHashMap<>();
+
+  /** Keeps the credential of the signed in user fresh, once authorized. */
+  private static CredentialManager credentialManager;
 
   /** The OAuth 2.0 scope to request. */
-  public static final ImmutableSet<String> ADMOB_READONLY =
-      ImmutableSet.of("https://www.googleapis.com/auth/admob.readonly");
+  public static final Set<String> ADMOB_READONLY =
+      Collections.singleton("https://www.googleapis.com/auth/admob.readonly");
+
+  /** Holds the JSON factory, so that Jackson is only loaded once a client is built. */
+  private static final class JsonFactoryHolder {
+    static final JsonFactory JSON_FACTORY = Utils.getDefaultJsonFactory();
+  }
 
   /**
-   * Authorizes the application to access users' protected data.
+   * Holds the shared transport, so that its connection pool is only created once a live request
+   * is about to be made, and never when running against a fake transport.
+   */
+  private static final class TransportHolder {
+    static final HttpTransport HTTP_TRANSPORT =
+        new MeteredHttpTransport(HTTP_TRANSPORT_OPTIONS.newTransport(), ApiMetrics.global());
+  }
+
+  /**
+   * Authorizes the application to access users' protected data, once per process. The access
+   * token is then refreshed in the background before it expires.
    *
    * @return An initialized {@link Credential} object.
    */
-  private static Credential authorize() throws CredentialException, IOException, RuntimeException {
+  private static synchronized Credential authorize()
+      throws CredentialException, IOException, RuntimeException {
+    if (credentialManager != null) {
+      return credentialManager.getCredential();
+    }
+
     // Load application default credentials if they're available.
     Credential credential = loadApplicationDefaultCredentials();
 
@@ -67,6 +141,7 @@ public class AdMobFactory {
       credential = loadUserCredentials(clientSecretsFile, new FileDataStoreFactory(DATA_STORE_DIR));
     }
 
+    credentialManager = new CredentialManager(credential);
     return credential;
   }
 
@@ -104,13 +179,16 @@ public class AdMobFactory {
     // Load client secrets JSON file.
     GoogleClientSecrets clientSecrets = null;
     try (Reader reader = Files.newBufferedReader(Paths.get(clientSecretsFile), UTF_8)) {
-      clientSecrets = GoogleClientSecrets.load(JSON_FACTORY, reader);
+      clientSecrets = GoogleClientSecrets.load(JsonFactoryHolder.JSON_FACTORY, reader);
     }
 
     // Set up the authorization code flow.
     GoogleAuthorizationCodeFlow flow =
         new GoogleAuthorizationCodeFlow.Builder(
-                HTTP_TRANSPORT, JSON_FACTORY, clientSecrets, ADMOB_READONLY)
+                TransportHolder.HTTP_TRANSPORT,
+                JsonFactoryHolder.JSON_FACTORY,
+                clientSecrets,
+                ADMOB_READONLY)
             .setDataStoreFactory(dataStoreFactory)
             .build();
 
@@ -119,17 +197,73 @@ public class AdMobFactory {
   }
 
   /**
-   * Performs all necessary setup steps for running requests against the API.
+   * Performs all necessary setup steps for running requests against the API. Every call returns
+   * the same client, so that connections are reused across samples.
    *
    * @return An initialized {@link AdMob} service object.
    */
   public static AdMob getInstance() throws Exception {
-    Credential credential = authorize();
+    if (Boolean.getBoolean(FAKE_API_PROPERTY)) {
+      return getInstance(new FakeAdMobTransport.Builder().build());
+    }
 
+    return getInstance(authorize());
+  }
+
+  /**
+   * Returns the client of the given credential, creating it on first use. Clients are thread-safe
+   * and share one pooled HTTP transport.
+   *
+   * @param credential The credential to authorize requests with.
+   * @return An initialized {@link AdMob} service object.
+   */
+  public static AdMob getInstance(Credential credential) {
     // Create AdMob client.
-    return new AdMob.Builder(HTTP_TRANSPORT, JSON_FACTORY, credential)
-        .setApplicationName("admobapi-java-samples")
-        .build();
+    return CLIENTS.computeIfAbsent(
+        credential,
+        key ->
+            new AdMob.Builder(
+                    TransportHolder.HTTP_TRANSPORT,
+                    JsonFactoryHolder.JSON_FACTORY,
+                    newRequestInitializer(key))
+                .setApplicationName(APPLICATION_NAME)
+                .build());
   }
   // [END main_body]
+
+  /**
+   * Creates an unauthorized service object that sends its requests through the given transport,
+   * such as a {@link FakeAdMobTransport}.
+   *
+   * @param transport The transport to send requests through.
+   * @return An initialized {@link AdMob} service object.
+   */
+  public static AdMob getInstance(HttpTransport transport) {
+    return new AdMob.Builder(
+            new MeteredHttpTransport(transport, ApiMetrics.global()),
+            JsonFactoryHolder.JSON_FACTORY,
+            newRequestInitializer(null))
+        .setApplicationName(APPLICATION_NAME)
+        .build();
+  }
+
+  /** Applies the transport options and, if enabled, reports the time to the first response. */
+  private static HttpRequestInitializer newRequestInitializer(
+      @Nullable HttpRequestInitializer credential) {
+    HttpRequestInitializer initializer = HTTP_TRANSPORT_OPTIONS.newRequestInitializer(credential);
+    if (!Boolean.getBoolean(REPORT_STARTUP_PROPERTY)) {
+      return initializer;
+    }
+    return request -> {
+      initializer.initialize(request);
+      request.setResponseInterceptor(
+          response -> {
+            if (STARTUP_REPORTED.compareAndSet(false, true)) {
+              System.err.printf(
+                  "Time to first response: %d ms%n",
+                  ManagementFactory.getRuntimeMXBean().getUptime());
+            }
+          });
+    };
+  }
 }
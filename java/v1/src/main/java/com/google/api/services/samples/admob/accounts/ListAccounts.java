@@ -20,6 +20,9 @@ import com.google.api.services.admob.v1.AdMob;
 import com.google.api.services.admob.v1.model.ListPublisherAccountsResponse;
 import com.google.api.services.admob.v1.model.PublisherAccount;
 import com.google.api.services.samples.admob.AdMobFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /** This example illustrates how to get a list of accounts. */
 public class ListAccounts {
@@ -43,6 +46,29 @@ public class ListAccounts {
     // [END main_body]
   }
 
+  /**
+   * Lists every publisher account the signed in user has access to, following page tokens until
+   * all pages have been read.
+   *
+   * @param adMob An initialized {@link AdMob} service object.
+   * @return The publisher accounts.
+   */
+  public static List<PublisherAccount> listAccounts(AdMob adMob) throws IOException {
+    List<PublisherAccount> accounts = new ArrayList<>();
+    ListPublisherAccountsResponse response;
+    String nextPageToken = null;
+
+    do {
+      response = adMob.accounts().list().setPageToken(nextPageToken).execute();
+      if (response.getAccount() != null) {
+        accounts.addAll(response.getAccount());
+      }
+      nextPageToken = response.getNextPageToken();
+    } while (nextPageToken != null);
+
+    return accounts;
+  }
+
   public static void main(String[] args) throws Exception {
     AdMob adMob = AdMobFactory.getInstance();
     runExample(adMob);
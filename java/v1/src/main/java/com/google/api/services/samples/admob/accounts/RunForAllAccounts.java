@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.accounts;
+
+import com.google.api.services.admob.v1.AdMob;
+import com.google.api.services.admob.v1.model.AdUnit;
+import com.google.api.services.admob.v1.model.App;
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import com.google.api.services.admob.v1.model.PublisherAccount;
+import com.google.api.services.samples.admob.AdMobFactory;
+import com.google.api.services.samples.admob.adunits.ListAdUnits;
+import com.google.api.services.samples.admob.apps.ListApps;
+import com.google.api.services.samples.admob.reports.AdMobReportClient;
+import com.google.api.services.samples.admob.reports.GenerateMediationReport;
+import com.google.api.services.samples.admob.reports.GenerateNetworkReport;
+import com.google.api.services.samples.admob.reports.Report;
+import com.google.api.services.samples.admob.reports.ReportClient;
+import com.google.api.services.samples.admob.reports.ScheduledReportClient;
+import com.google.api.services.samples.admob.util.AccountFanOut;
+import com.google.api.services.samples.admob.util.AccountFanOut.Results;
+import com.google.api.services.samples.admob.util.RequestScheduler;
+import com.google.api.services.samples.admob.util.RequestScheduler.Priority;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This example illustrates how to list apps and ad units and generate reports for every account
+ * the signed in user has access to, processing the accounts in parallel.
+ */
+public class RunForAllAccounts {
+
+  // [START main_body]
+  // Defines the maximum number of accounts processed at once. Requests are rate limited by the
+  // scheduler, see quota limits at https://developers.google.com/admob/api/quotas.
+  private static final int MAX_CONCURRENCY = 16;
+
+  public static void runExample(AdMob adMob) throws Exception {
+    // List the accounts to process.
+    List<String> accountNames = new ArrayList<>();
+    for (PublisherAccount account : ListAccounts.listAccounts(adMob)) {
+      accountNames.add(account.getName());
+    }
+
+    // Rate limit every API call against its quota and retry throttled and transient errors.
+    RequestScheduler scheduler = new RequestScheduler.Builder().build();
+    ReportClient reportClient =
+        new ScheduledReportClient(new AdMobReportClient(adMob), scheduler, Priority.BATCH);
+    NetworkReportSpec networkReportSpec =
+        GenerateNetworkReport.getNetworkReportRequest().getReportSpec();
+    MediationReportSpec mediationReportSpec =
+        GenerateMediationReport.getMediationReportRequest().getReportSpec();
+
+    try (AccountFanOut fanOut = new AccountFanOut(MAX_CONCURRENCY)) {
+      // Fan each step out across all accounts. Every page of an inventory listing and every report
+      // request goes through the scheduler on its own.
+      Results<List<App>> apps =
+          fanOut.run(
+              accountNames,
+              accountName -> ListApps.listApps(adMob, accountName, scheduler, Priority.BATCH));
+      Results<List<AdUnit>> adUnits =
+          fanOut.run(
+              accountNames,
+              accountName ->
+                  ListAdUnits.listAdUnits(adMob, accountName, scheduler, Priority.BATCH));
+      Results<Report> networkReports =
+          fanOut.run(
+              accountNames,
+              accountName -> reportClient.generateNetworkReport(accountName, networkReportSpec));
+      Results<Report> mediationReports =
+          fanOut.run(
+              accountNames,
+              accountName ->
+                  reportClient.generateMediationReport(accountName, mediationReportSpec));
+
+      // Display the aggregated results of each account.
+      for (String accountName : accountNames) {
+        System.out.printf(
+            "Account: %s, Apps: %s, Ad Units: %s, Network Report Rows: %s, "
+                + "Mediation Report Rows: %s%n",
+            accountName,
+            size(apps.getValues().get(accountName)),
+            size(adUnits.getValues().get(accountName)),
+            networkReports.getValues().containsKey(accountName)
+                ? networkReports.getValues().get(accountName).getRows().size()
+                : "failed",
+            mediationReports.getValues().containsKey(accountName)
+                ? mediationReports.getValues().get(accountName).getRows().size()
+                : "failed");
+      }
+
+      // Display the failures of each step.
+      printFailures("List apps", apps.getFailures());
+      printFailures("List ad units", adUnits.getFailures());
+      printFailures("Generate network report", networkReports.getFailures());
+      printFailures("Generate mediation report", mediationReports.getFailures());
+    }
+  }
+
+  private static Object size(List<?> list) {
+    return list == null ? "failed" : list.size();
+  }
+
+  private static void printFailures(String step, Map<String, Exception> failures) {
+    for (Map.Entry<String, Exception> failure : failures.entrySet()) {
+      System.out.printf("%s failed for %s: %s%n", step, failure.getKey(), failure.getValue());
+    }
+  }
+  // [END main_body]
+
+  public static void main(String[] args) throws Exception {
+    AdMob adMob = AdMobFactory.getInstance();
+    runExample(adMob);
+  }
+}
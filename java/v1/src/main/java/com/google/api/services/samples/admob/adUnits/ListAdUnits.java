@@ -20,7 +20,17 @@ import com.google.api.services.admob.v1.AdMob;
 import com.google.api.services.admob.v1.model.AdUnit;
 import com.google.api.services.admob.v1.model.ListAdUnitsResponse;
 import com.google.api.services.samples.admob.AdMobFactory;
+import com.google.api.services.samples.admob.util.PagePrefetcher;
+import com.google.api.services.samples.admob.util.RequestScheduler;
+import com.google.api.services.samples.admob.util.RequestScheduler.ApiCall;
+import com.google.api.services.samples.admob.util.RequestScheduler.Priority;
+import com.google.api.services.samples.admob.util.RequestScheduler.QuotaCategory;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.Nullable;
 
 /** This example illustrates how to get a list of ad units. */
 public class ListAdUnits {
@@ -36,48 +46,124 @@ public class ListAdUnits {
   // inventory quota limits at https://developers.google.com/admob/api/quotas.
   private static final Integer PAGE_SIZE = 1000;
 
-  public static void runExample(AdMob adMob) throws Exception {
+  // Defines the maximum number of pages fetched ahead while the current page is being displayed.
+  private static final int LOOKAHEAD_PAGES = 2;
 
+  public static void runExample(AdMob adMob, String accountName) throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    // Display ad units, page by page, while the following pages are fetched in the background.
+    try (PagePrefetcher<ListAdUnitsResponse> pages =
+        listAdUnitsPages(adMob, accountName, executor)) {
+      while (pages.hasNext()) {
+        List<AdUnit> adUnits = pages.next().getAdUnits();
+        if (adUnits == null) {
+          continue;
+        }
+        for (AdUnit adUnit : adUnits) {
+          System.out.printf(
+              "Ad Unit Display Name: %s, "
+                  + "Ad Unit Name: %s, "
+                  + "Ad Unit ID: %s, "
+                  + "Ad Unit Format: %s, "
+                  + "Ad Unit App ID: %s, "
+                  + "Ad Unit Ad Types: %s%n",
+              adUnit.getDisplayName(),
+              adUnit.getName(),
+              adUnit.getAdUnitId(),
+              adUnit.getAdFormat(),
+              adUnit.getAppId(),
+              adUnit.getAdTypes());
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Lists the pages of ad units of an account, prefetching upcoming pages on the given executor.
+   *
+   * @param adMob An initialized {@link AdMob} service object.
+   * @param accountName The account to list ad units for.
+   * @param executor The executor pages are fetched on.
+   * @return An iterator over the pages, which must be closed once done.
+   */
+  public static PagePrefetcher<ListAdUnitsResponse> listAdUnitsPages(
+      AdMob adMob, String accountName, ExecutorService executor) {
+    return new PagePrefetcher<>(
+        pageToken ->
+            adMob
+                .accounts()
+                .adUnits()
+                .list(accountName)
+                .setPageSize(PAGE_SIZE)
+                .setPageToken(pageToken)
+                .execute(),
+        ListAdUnitsResponse::getNextPageToken,
+        executor,
+        LOOKAHEAD_PAGES);
+  }
+
+  /**
+   * Lists every ad unit of an account, following page tokens until all pages have been read.
+   *
+   * @param adMob An initialized {@link AdMob} service object.
+   * @param accountName The account to list ad units for.
+   * @return The ad units of the account.
+   */
+  public static List<AdUnit> listAdUnits(AdMob adMob, String accountName) throws IOException {
+    return listAdUnits(adMob, accountName, null, Priority.INTERACTIVE);
+  }
+
+  /**
+   * Lists every ad unit of an account, running each page request through a scheduler so that
+   * every page is rate limited against the inventory quota and retried on its own.
+   *
+   * @param adMob An initialized {@link AdMob} service object.
+   * @param accountName The account to list ad units for.
+   * @param scheduler The scheduler page requests run through, or {@code null} to run them directly.
+   * @param priority The lane page requests wait in.
+   * @return The ad units of the account.
+   */
+  public static List<AdUnit> listAdUnits(
+      AdMob adMob, String accountName, @Nullable RequestScheduler scheduler, Priority priority)
+      throws IOException {
+    List<AdUnit> adUnits = new ArrayList<>();
     ListAdUnitsResponse response;
     String nextPageToken = null;
 
     do {
       // Create and execute the ad units list request.
+      String pageToken = nextPageToken;
+      ApiCall<ListAdUnitsResponse> request =
+          () ->
+              adMob
+                  .accounts()
+                  .adUnits()
+                  .list(accountName)
+                  .setPageSize(PAGE_SIZE)
+                  .setPageToken(pageToken)
+                  .execute();
       response =
-          adMob
-              .accounts()
-              .adUnits()
-              .list(ACCOUNT_NAME)
-              .setPageSize(PAGE_SIZE)
-              .setPageToken(nextPageToken)
-              .execute();
+          scheduler == null
+              ? request.call()
+              : scheduler.execute(accountName, QuotaCategory.INVENTORY, priority, request);
 
-      // Display ad units.
-      List<AdUnit> adUnits = response.getAdUnits();
-      for (AdUnit adUnit : adUnits) {
-        System.out.printf(
-            "Ad Unit Display Name: %s, "
-                + "Ad Unit Name: %s, "
-                + "Ad Unit ID: %s, "
-                + "Ad Unit Format: %s, "
-                + "Ad Unit App ID: %s, "
-                + "Ad Unit Ad Types: %s%n",
-            adUnit.getDisplayName(),
-            adUnit.getName(),
-            adUnit.getAdUnitId(),
-            adUnit.getAdFormat(),
-            adUnit.getAppId(),
-            adUnit.getAdTypes());
+      if (response.getAdUnits() != null) {
+        adUnits.addAll(response.getAdUnits());
       }
 
       // Update the next page token.
       nextPageToken = response.getNextPageToken();
     } while (nextPageToken != null);
+
+    return adUnits;
   }
   // [END main_body]
 
   public static void main(String[] args) throws Exception {
     AdMob adMob = AdMobFactory.getInstance();
-    runExample(adMob);
+    runExample(adMob, ACCOUNT_NAME);
   }
 }
@@ -21,7 +21,17 @@ import com.google.api.services.admob.v1.model.App;
 import com.google.api.services.admob.v1.model.AppLinkedAppInfo;
 import com.google.api.services.admob.v1.model.ListAppsResponse;
 import com.google.api.services.samples.admob.AdMobFactory;
+import com.google.api.services.samples.admob.util.PagePrefetcher;
+import com.google.api.services.samples.admob.util.RequestScheduler;
+import com.google.api.services.samples.admob.util.RequestScheduler.ApiCall;
+import com.google.api.services.samples.admob.util.RequestScheduler.Priority;
+import com.google.api.services.samples.admob.util.RequestScheduler.QuotaCategory;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.Nullable;
 
 /** This example illustrates how to get a list of apps. */
 public class ListApps {
@@ -37,51 +47,125 @@ public class ListApps {
   // inventory quota limits at https://developers.google.com/admob/api/quotas.
   private static final Integer PAGE_SIZE = 1000;
 
-  public static void runExample(AdMob adMob) throws Exception {
+  // Defines the maximum number of pages fetched ahead while the current page is being displayed.
+  private static final int LOOKAHEAD_PAGES = 2;
 
+  public static void runExample(AdMob adMob, String accountName) throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    // Display apps, page by page, while the following pages are fetched in the background.
+    try (PagePrefetcher<ListAppsResponse> pages = listAppsPages(adMob, accountName, executor)) {
+      while (pages.hasNext()) {
+        List<App> apps = pages.next().getApps();
+        if (apps == null) {
+          continue;
+        }
+        for (App app : apps) {
+          AppLinkedAppInfo linkedAppInfo = app.getLinkedAppInfo();
+
+          System.out.printf(
+              "App Name: %s, "
+                  + "App ID: %s, "
+                  + "App Platform: %s, "
+                  + "App Store ID: %s, "
+                  + "App Store Display Name: %s, "
+                  + "App Manual Info: %s%n",
+              app.getName(),
+              app.getAppId(),
+              app.getPlatform(),
+              linkedAppInfo == null ? "" : linkedAppInfo.getAppStoreId(),
+              linkedAppInfo == null ? "" : linkedAppInfo.getDisplayName(),
+              app.getManualAppInfo().getDisplayName());
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Lists the pages of apps of an account, prefetching upcoming pages on the given executor.
+   *
+   * @param adMob An initialized {@link AdMob} service object.
+   * @param accountName The account to list apps for.
+   * @param executor The executor pages are fetched on.
+   * @return An iterator over the pages, which must be closed once done.
+   */
+  public static PagePrefetcher<ListAppsResponse> listAppsPages(
+      AdMob adMob, String accountName, ExecutorService executor) {
+    return new PagePrefetcher<>(
+        pageToken ->
+            adMob
+                .accounts()
+                .apps()
+                .list(accountName)
+                .setPageSize(PAGE_SIZE)
+                .setPageToken(pageToken)
+                .execute(),
+        ListAppsResponse::getNextPageToken,
+        executor,
+        LOOKAHEAD_PAGES);
+  }
+
+  /**
+   * Lists every app of an account, following page tokens until all pages have been read.
+   *
+   * @param adMob An initialized {@link AdMob} service object.
+   * @param accountName The account to list apps for.
+   * @return The apps of the account.
+   */
+  public static List<App> listApps(AdMob adMob, String accountName) throws IOException {
+    return listApps(adMob, accountName, null, Priority.INTERACTIVE);
+  }
+
+  /**
+   * Lists every app of an account, running each page request through a scheduler so that every
+   * page is rate limited against the inventory quota and retried on its own.
+   *
+   * @param adMob An initialized {@link AdMob} service object.
+   * @param accountName The account to list apps for.
+   * @param scheduler The scheduler page requests run through, or {@code null} to run them directly.
+   * @param priority The lane page requests wait in.
+   * @return The apps of the account.
+   */
+  public static List<App> listApps(
+      AdMob adMob, String accountName, @Nullable RequestScheduler scheduler, Priority priority)
+      throws IOException {
+    List<App> apps = new ArrayList<>();
     ListAppsResponse response;
     String nextPageToken = null;
 
     do {
       // Create and execute the apps list request.
+      String pageToken = nextPageToken;
+      ApiCall<ListAppsResponse> request =
+          () ->
+              adMob
+                  .accounts()
+                  .apps()
+                  .list(accountName)
+                  .setPageSize(PAGE_SIZE)
+                  .setPageToken(pageToken)
+                  .execute();
       response =
-          adMob
-              .accounts()
-              .apps()
-              .list(ACCOUNT_NAME)
-              .setPageSize(PAGE_SIZE)
-              .setPageToken(nextPageToken)
-              .execute();
-
-      // Display apps.
-      List<App> apps = response.getApps();
-
-      for (App app : apps) {
-        AppLinkedAppInfo linkedAppInfo = app.getLinkedAppInfo();
-
-        System.out.printf(
-            "App Name: %s, "
-                + "App ID: %s, "
-                + "App Platform: %s, "
-                + "App Store ID: %s, "
-                + "App Store Display Name: %s, "
-                + "App Manual Info: %s%n",
-            app.getName(),
-            app.getAppId(),
-            app.getPlatform(),
-            linkedAppInfo == null ? "" : linkedAppInfo.getAppStoreId(),
-            linkedAppInfo == null ? "" : linkedAppInfo.getDisplayName(),
-            app.getManualAppInfo().getDisplayName());
+          scheduler == null
+              ? request.call()
+              : scheduler.execute(accountName, QuotaCategory.INVENTORY, priority, request);
+
+      if (response.getApps() != null) {
+        apps.addAll(response.getApps());
       }
 
       // Update the next page token.
       nextPageToken = response.getNextPageToken();
     } while (nextPageToken != null);
+
+    return apps;
   }
   // [END main_body]
 
   public static void main(String[] args) throws Exception {
     AdMob adMob = AdMobFactory.getInstance();
-    runExample(adMob);
+    runExample(adMob, ACCOUNT_NAME);
   }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.archive;
+
+import com.google.api.services.admob.v1.AdMob;
+import com.google.api.services.admob.v1.model.DateRange;
+import com.google.api.services.admob.v1.model.GenerateNetworkReportRequest;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpecSortCondition;
+import com.google.api.services.samples.admob.AdMobFactory;
+import com.google.api.services.samples.admob.export.ArchivingReportExporter;
+import com.google.api.services.samples.admob.export.ReportExportPipeline;
+import com.google.api.services.samples.admob.export.ReportExporter;
+import com.google.api.services.samples.admob.export.ReportSchema;
+import com.google.api.services.samples.admob.reports.ReportStreamReader;
+import com.google.api.services.samples.admob.util.DateUtils;
+import com.google.common.collect.ImmutableList;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This example illustrates how to append a day of network report rows to a local archive, then
+ * scan the archive for the earnings of a country over the last week.
+ */
+public class ArchiveNetworkReport {
+  /* ACCOUNT_NAME should follow the format "accounts/pub-XXXXXXXXXXXXXXXX"
+   * where "pub-XXXXXXXXXXXXXXXX" is your publisher ID
+   * See https://support.google.com/admob/answer/2784578
+   * for instructions on how to find your publisher ID.
+   */
+  private static final String ACCOUNT_NAME = "accounts/pub-XXXXXXXXXXXXXXXX";
+
+  // [START main_body]
+  // Defines the directory the archive is kept in. Run the sample once a day to add to it.
+  private static final Path ARCHIVE_DIRECTORY = Paths.get("network-report-archive");
+
+  private static final String TIME_ZONE = "America/Los_Angeles";
+
+  public static void runExample(AdMob adMob, String accountName) throws Exception {
+    ReportArchive archive = new ReportArchive(ARCHIVE_DIRECTORY);
+    LocalDate yesterday =
+        DateUtils.toLocalDate(DateUtils.yesterday(Clock.system(ZoneId.of(TIME_ZONE))));
+
+    // Append yesterday's rows to the archive while the response is being read.
+    GenerateNetworkReportRequest request = getDailyReportRequest(yesterday);
+    InputStream response =
+        adMob
+            .accounts()
+            .networkReport()
+            .generate(accountName, request)
+            .executeAsInputStream();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (ReportStreamReader reader = ReportStreamReader.open(response);
+        ReportExporter exporter = new ArchivingReportExporter(archive)) {
+      long rowCount =
+          ReportExportPipeline.export(
+              reader, ReportSchema.of(request.getReportSpec()), exporter, executor);
+
+      System.out.printf("Archived %d rows for %s%n", rowCount, yesterday);
+    } finally {
+      executor.shutdown();
+    }
+
+    // Sum the earnings in the United States over the last week, reading only matching segments.
+    ArchiveQuery query =
+        new ArchiveQuery.Builder()
+            .setDateRange(DateUtils.toDateRange(yesterday.minusDays(6), yesterday))
+            .addDimensionFilter("COUNTRY", ImmutableList.of("US"))
+            .build();
+    long[] earningsMicros = new long[1];
+    ReportArchive.ScanResult result =
+        archive.scan(query, row -> earningsMicros[0] += row.getLongMetric("ESTIMATED_EARNINGS"));
+
+    System.out.printf(
+        "Earnings in the US over the last week: %.2f, from %d rows%n",
+        earningsMicros[0] / 1e6, result.getRowCount());
+    System.out.printf(
+        "Segments read: %d, skipped: %d%n",
+        result.getSegmentsRead(), result.getSegmentsSkipped());
+  }
+
+  /** Returns a request for one day of rows by country and format, sorted by date. */
+  public static GenerateNetworkReportRequest getDailyReportRequest(LocalDate date) {
+    DateRange dateRange = DateUtils.toDateRange(date, date);
+    NetworkReportSpec reportSpec =
+        new NetworkReportSpec()
+            .setDateRange(dateRange)
+            .setTimeZone(TIME_ZONE)
+            .setMetrics(ImmutableList.of("IMPRESSIONS", "CLICKS", "ESTIMATED_EARNINGS"))
+            .setDimensions(ImmutableList.of("DATE", "COUNTRY", "FORMAT"))
+            .setSortConditions(
+                ImmutableList.of(
+                    new NetworkReportSpecSortCondition()
+                        .setDimension("DATE")
+                        .setOrder("ASCENDING")));
+    return new GenerateNetworkReportRequest().setReportSpec(reportSpec);
+  }
+  // [END main_body]
+
+  public static void main(String[] args) throws Exception {
+    AdMob adMob = AdMobFactory.getInstance();
+    runExample(adMob, ACCOUNT_NAME);
+  }
+}
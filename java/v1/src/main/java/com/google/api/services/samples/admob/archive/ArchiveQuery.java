@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.archive;
+
+import com.google.api.services.admob.v1.model.DateRange;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Selects the rows of a {@link ReportArchive} to scan: those within a date range, and whose
+ * dimensions match any of the given values.
+ */
+public final class ArchiveQuery {
+
+  private final int startDate;
+  private final int endDate;
+  private final ImmutableMap<String, ImmutableSet<String>> dimensionFilters;
+
+  private ArchiveQuery(Builder builder) {
+    this.startDate = builder.startDate;
+    this.endDate = builder.endDate;
+    this.dimensionFilters = ImmutableMap.copyOf(builder.dimensionFilters);
+  }
+
+  /** Returns a query that selects every row. */
+  public static ArchiveQuery all() {
+    return new Builder().build();
+  }
+
+  /** Returns the first date to select, as {@code yyyyMMdd}, or 0 if there is no date range. */
+  int getStartDate() {
+    return startDate;
+  }
+
+  /** Returns the last date to select, as {@code yyyyMMdd}, or 0 if there is no date range. */
+  int getEndDate() {
+    return endDate;
+  }
+
+  boolean hasDateRange() {
+    return endDate != 0;
+  }
+
+  /** Returns the values each filtered dimension must match one of. */
+  ImmutableMap<String, ImmutableSet<String>> getDimensionFilters() {
+    return dimensionFilters;
+  }
+
+  /** Returns a date as the {@code yyyyMMdd} number that reports use as the value of DATE. */
+  static int toDateNumber(int year, int month, int day) {
+    return year * 10000 + month * 100 + day;
+  }
+
+  public static final class Builder {
+    private int startDate;
+    private int endDate;
+    private final Map<String, ImmutableSet<String>> dimensionFilters = new LinkedHashMap<>();
+
+    /**
+     * Only selects rows whose DATE is within a range. Rows without a DATE dimension are then never
+     * selected.
+     *
+     * @param dateRange The dates to select, or {@code null} to select any date. See {@link
+     *     com.google.api.services.samples.admob.util.DateUtils#toDateRange}.
+     */
+    public Builder setDateRange(@Nullable DateRange dateRange) {
+      if (dateRange == null) {
+        startDate = 0;
+        endDate = 0;
+        return this;
+      }
+      startDate =
+          toDateNumber(
+              dateRange.getStartDate().getYear(),
+              dateRange.getStartDate().getMonth(),
+              dateRange.getStartDate().getDay());
+      endDate =
+          toDateNumber(
+              dateRange.getEndDate().getYear(),
+              dateRange.getEndDate().getMonth(),
+              dateRange.getEndDate().getDay());
+      if (startDate > endDate) {
+        throw new IllegalArgumentException("The start date must not be after the end date.");
+      }
+      return this;
+    }
+
+    /**
+     * Only selects rows where a dimension has one of the given values, like a dimension filter of a
+     * report specification. Filtering the same dimension again replaces its values.
+     *
+     * @param dimension The dimension to filter, such as "COUNTRY".
+     * @param matchesAny The values to select, such as "US".
+     */
+    public Builder addDimensionFilter(String dimension, Collection<String> matchesAny) {
+      if (matchesAny.isEmpty()) {
+        throw new IllegalArgumentException("A dimension filter must match at least one value.");
+      }
+      dimensionFilters.put(dimension, ImmutableSet.copyOf(matchesAny));
+      return this;
+    }
+
+    public ArchiveQuery build() {
+      return new ArchiveQuery(this);
+    }
+  }
+}
@@ -0,0 +1,469 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.archive;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.services.samples.admob.reports.ColumnarReport;
+import com.google.api.services.samples.admob.reports.ColumnarReport.MetricType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * A segment file of a {@link ReportArchive}, holding a batch of rows column by column.
+ *
+ * <p>A segment is a single buffer laid out as a header, a {@link BloomFilter} of its dimension
+ * values, a directory of its columns, the columns and a pool of strings:
+ *
+ * <ul>
+ *   <li>Each dimension column is a dictionary of its distinct values and their labels, followed by
+ *       one code per row, of 1, 2 or 4 bytes depending on the size of the dictionary.
+ *   <li>Each integer or micros metric column is a sequence of zig-zag variable-length numbers,
+ *       holding either the values or, when that is smaller, the differences between consecutive
+ *       values.
+ *   <li>Each double metric column holds 8 bytes per row.
+ * </ul>
+ *
+ * <p>The header also holds the first and last DATE of the rows, so that a scan can skip a segment
+ * from its header alone. Segments are read from memory-mapped files: nothing is parsed when one is
+ * opened, and strings are only decoded when a row reads them.
+ */
+final class ArchiveSegment {
+
+  private static final int MAGIC = 0x414d5241; // "AMRA"
+  private static final int VERSION = 1;
+
+  // Header fields, as byte offsets.
+  private static final int ROW_COUNT = 8;
+  private static final int DIMENSION_COUNT = 12;
+  private static final int METRIC_COUNT = 16;
+  private static final int MIN_DATE = 20;
+  private static final int MAX_DATE = 24;
+  private static final int BLOOM_FILTER = 28;
+  private static final int BLOOM_FILTER_WORDS = 32;
+  private static final int COLUMNS = 36;
+  private static final int STRINGS = 40;
+  private static final int HEADER_SIZE = 44;
+
+  /** A dimension entry holds its name, dictionary size, dictionary, codes and code width. */
+  private static final int DIMENSION_ENTRY_SIZE = 20;
+
+  /** A metric entry holds its name, type, encoding and values. */
+  private static final int METRIC_ENTRY_SIZE = 16;
+
+  /** A dictionary entry holds a value and its label, as string references. */
+  private static final int DICTIONARY_ENTRY_SIZE = 8;
+
+  /** How the values of a metric column are encoded. */
+  static final int PLAIN_ENCODING = 0;
+
+  static final int DELTA_ENCODING = 1;
+  static final int DOUBLE_ENCODING = 2;
+
+  /** The string reference of {@code null}. Other references are offsets into the string pool. */
+  private static final int NULL_STRING = -1;
+
+  static final String DATE = "DATE";
+
+  private final ByteBuffer buffer;
+  private final int rowCount;
+  private final int minDate;
+  private final int maxDate;
+  private final int bloomFilter;
+  private final int bloomFilterWords;
+  private final int columns;
+  private final int strings;
+  private final List<String> dimensions;
+  private final List<String> metrics;
+
+  /** The dictionary and code offsets and code widths of the dimensions, read once per segment. */
+  private final int[] dictionaryStarts;
+
+  private final int[] codeStarts;
+  private final int[] codeWidths;
+
+  private ArchiveSegment(ByteBuffer buffer) throws IOException {
+    if (buffer.limit() < HEADER_SIZE
+        || buffer.getInt(0) != MAGIC
+        || buffer.getInt(4) != VERSION
+        || buffer.getInt(STRINGS) > buffer.limit()) {
+      throw new IOException("Not a report archive segment, or from an unsupported version.");
+    }
+    this.buffer = buffer;
+    rowCount = buffer.getInt(ROW_COUNT);
+    minDate = buffer.getInt(MIN_DATE);
+    maxDate = buffer.getInt(MAX_DATE);
+    bloomFilter = buffer.getInt(BLOOM_FILTER);
+    bloomFilterWords = buffer.getInt(BLOOM_FILTER_WORDS);
+    columns = buffer.getInt(COLUMNS);
+    strings = buffer.getInt(STRINGS);
+
+    int dimensionCount = buffer.getInt(DIMENSION_COUNT);
+    List<String> dimensions = new ArrayList<>(dimensionCount);
+    dictionaryStarts = new int[dimensionCount];
+    codeStarts = new int[dimensionCount];
+    codeWidths = new int[dimensionCount];
+    for (int i = 0; i < dimensionCount; i++) {
+      int entry = columns + i * DIMENSION_ENTRY_SIZE;
+      dimensions.add(string(buffer.getInt(entry)));
+      dictionaryStarts[i] = buffer.getInt(entry + 8);
+      codeStarts[i] = buffer.getInt(entry + 12);
+      codeWidths[i] = buffer.getInt(entry + 16);
+    }
+    this.dimensions = Collections.unmodifiableList(dimensions);
+    int metricCount = buffer.getInt(METRIC_COUNT);
+    List<String> metrics = new ArrayList<>(metricCount);
+    for (int i = 0; i < metricCount; i++) {
+      metrics.add(string(buffer.getInt(metricEntry(i))));
+    }
+    this.metrics = Collections.unmodifiableList(metrics);
+  }
+
+  /** Opens a segment file. The file is memory-mapped, so opening it reads only its header. */
+  static ArchiveSegment open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new ArchiveSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  int getRowCount() {
+    return rowCount;
+  }
+
+  List<String> getDimensions() {
+    return dimensions;
+  }
+
+  List<String> getMetrics() {
+    return metrics;
+  }
+
+  /** Returns the first DATE of the rows, as {@code yyyyMMdd}, or 0 if no row has a date. */
+  int getMinDate() {
+    return minDate;
+  }
+
+  /** Returns the last DATE of the rows, as {@code yyyyMMdd}, or 0 if no row has a date. */
+  int getMaxDate() {
+    return maxDate;
+  }
+
+  /**
+   * Returns whether a row may have the given value of a dimension other than DATE, or {@code
+   * false} if none has.
+   */
+  boolean mightContain(String dimension, String value) {
+    return BloomFilter.mightContain(buffer, bloomFilter, bloomFilterWords, dimension, value);
+  }
+
+  /** Returns the number of distinct values of a dimension. */
+  int getCardinality(int dimension) {
+    return buffer.getInt(columns + dimension * DIMENSION_ENTRY_SIZE + 4);
+  }
+
+  /** Returns the dimension value with the given dictionary code. */
+  @Nullable
+  String getDimensionValue(int dimension, int code) {
+    return string(buffer.getInt(dictionaryEntry(dimension, code)));
+  }
+
+  /** Returns the display label of the dimension value with the given dictionary code. */
+  @Nullable
+  String getDimensionLabel(int dimension, int code) {
+    return string(buffer.getInt(dictionaryEntry(dimension, code) + 4));
+  }
+
+  /** Returns the dictionary code of the value of a dimension in a row. */
+  int getCode(int dimension, int row) {
+    int codes = codeStarts[dimension];
+    switch (codeWidths[dimension]) {
+      case 1:
+        return buffer.get(codes + row) & 0xff;
+      case 2:
+        return buffer.getShort(codes + 2 * row) & 0xffff;
+      default:
+        return buffer.getInt(codes + 4 * row);
+    }
+  }
+
+  MetricType getMetricType(int metric) {
+    return MetricType.values()[buffer.getInt(metricEntry(metric) + 4)];
+  }
+
+  int getMetricEncoding(int metric) {
+    return buffer.getInt(metricEntry(metric) + 8);
+  }
+
+  /** Returns the byte offset of the first value of a metric. */
+  int getMetricValues(int metric) {
+    return buffer.getInt(metricEntry(metric) + 12);
+  }
+
+  /** Returns the buffer of the segment, to read metric values from. */
+  ByteBuffer getBuffer() {
+    return buffer;
+  }
+
+  private int metricEntry(int metric) {
+    return columns + dimensions.size() * DIMENSION_ENTRY_SIZE + metric * METRIC_ENTRY_SIZE;
+  }
+
+  private int dictionaryEntry(int dimension, int code) {
+    return dictionaryStarts[dimension] + code * DICTIONARY_ENTRY_SIZE;
+  }
+
+  @Nullable
+  private String string(int reference) {
+    if (reference == NULL_STRING) {
+      return null;
+    }
+    int offset = strings + reference;
+    byte[] bytes = new byte[buffer.getInt(offset)];
+    ByteBuffer source = buffer.duplicate();
+    source.position(offset + 4);
+    source.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /**
+   * Encodes rows as a segment.
+   *
+   * @param report The rows, which must not be empty.
+   * @return A buffer holding the segment, from position 0 to its limit.
+   */
+  static ByteBuffer encode(ColumnarReport report) {
+    int rowCount = report.getRowCount();
+    List<String> dimensions = report.getDimensions();
+    List<String> metrics = report.getMetrics();
+    StringPool pool = new StringPool();
+
+    // Dictionaries hold string references, which are known before the pool is laid out.
+    int[][] dictionaries = new int[dimensions.size()][];
+    int[] codeWidths = new int[dimensions.size()];
+    int valueCount = 0;
+    int minDate = 0;
+    int maxDate = 0;
+    for (int i = 0; i < dimensions.size(); i++) {
+      int cardinality = report.dimensionCardinality(i);
+      dictionaries[i] = new int[2 * cardinality];
+      for (int code = 0; code < cardinality; code++) {
+        String value = report.dimensionValue(i, code);
+        dictionaries[i][2 * code] = pool.add(value);
+        dictionaries[i][2 * code + 1] = pool.add(report.dimensionLabel(i, code));
+        int date = dimensions.get(i).equals(DATE) ? parseDate(value) : 0;
+        if (date != 0) {
+          minDate = minDate == 0 ? date : Math.min(minDate, date);
+          maxDate = Math.max(maxDate, date);
+        }
+      }
+      codeWidths[i] = cardinality <= 0x100 ? 1 : cardinality <= 0x10000 ? 2 : 4;
+      if (!dimensions.get(i).equals(DATE)) {
+        valueCount += cardinality;
+      }
+    }
+    long[] bloomFilter = new long[BloomFilter.wordCount(valueCount)];
+    for (int i = 0; i < dimensions.size(); i++) {
+      for (int code = 0; code < report.dimensionCardinality(i); code++) {
+        String value = report.dimensionValue(i, code);
+        if (value != null && !dimensions.get(i).equals(DATE)) {
+          BloomFilter.add(bloomFilter, dimensions.get(i), value);
+        }
+      }
+    }
+
+    byte[][] metricValues = new byte[metrics.size()][];
+    int[] metricEncodings = new int[metrics.size()];
+    for (int i = 0; i < metrics.size(); i++) {
+      if (report.metricType(i) == MetricType.DOUBLE) {
+        metricEncodings[i] = DOUBLE_ENCODING;
+        continue;
+      }
+      byte[] plain = encodeLongs(report, i, false);
+      byte[] delta = encodeLongs(report, i, true);
+      metricEncodings[i] = delta.length < plain.length ? DELTA_ENCODING : PLAIN_ENCODING;
+      metricValues[i] = delta.length < plain.length ? delta : plain;
+    }
+
+    // Lay out the sections.
+    int bloomFilterStart = HEADER_SIZE;
+    int columnsStart = bloomFilterStart + bloomFilter.length * 8;
+    int offset =
+        columnsStart
+            + dimensions.size() * DIMENSION_ENTRY_SIZE
+            + metrics.size() * METRIC_ENTRY_SIZE;
+    int[] dictionaryStarts = new int[dimensions.size()];
+    for (int i = 0; i < dimensions.size(); i++) {
+      dictionaryStarts[i] = offset;
+      offset += dictionaries[i].length * 4;
+    }
+    int[] codeStarts = new int[dimensions.size()];
+    for (int i = 0; i < dimensions.size(); i++) {
+      codeStarts[i] = offset;
+      offset += rowCount * codeWidths[i];
+    }
+    int[] metricStarts = new int[metrics.size()];
+    for (int i = 0; i < metrics.size(); i++) {
+      metricStarts[i] = offset;
+      offset += metricValues[i] == null ? rowCount * 8 : metricValues[i].length;
+    }
+    int[] dimensionNames = new int[dimensions.size()];
+    for (int i = 0; i < dimensions.size(); i++) {
+      dimensionNames[i] = pool.add(dimensions.get(i));
+    }
+    int[] metricNames = new int[metrics.size()];
+    for (int i = 0; i < metrics.size(); i++) {
+      metricNames[i] = pool.add(metrics.get(i));
+    }
+    int stringsStart = offset;
+
+    ByteBuffer buffer = ByteBuffer.allocate(stringsStart + pool.bytes.size());
+    buffer
+        .putInt(MAGIC)
+        .putInt(VERSION)
+        .putInt(rowCount)
+        .putInt(dimensions.size())
+        .putInt(metrics.size())
+        .putInt(minDate)
+        .putInt(maxDate)
+        .putInt(bloomFilterStart)
+        .putInt(bloomFilter.length)
+        .putInt(columnsStart)
+        .putInt(stringsStart);
+    for (long word : bloomFilter) {
+      buffer.putLong(word);
+    }
+    for (int i = 0; i < dimensions.size(); i++) {
+      buffer
+          .putInt(dimensionNames[i])
+          .putInt(dictionaries[i].length / 2)
+          .putInt(dictionaryStarts[i])
+          .putInt(codeStarts[i])
+          .putInt(codeWidths[i]);
+    }
+    for (int i = 0; i < metrics.size(); i++) {
+      buffer
+          .putInt(metricNames[i])
+          .putInt(report.metricType(i).ordinal())
+          .putInt(metricEncodings[i])
+          .putInt(metricStarts[i]);
+    }
+    for (int[] dictionary : dictionaries) {
+      for (int reference : dictionary) {
+        buffer.putInt(reference);
+      }
+    }
+    for (int i = 0; i < dimensions.size(); i++) {
+      for (int row = 0; row < rowCount; row++) {
+        int code = report.dimensionCode(i, row);
+        if (codeWidths[i] == 1) {
+          buffer.put((byte) code);
+        } else if (codeWidths[i] == 2) {
+          buffer.putShort((short) code);
+        } else {
+          buffer.putInt(code);
+        }
+      }
+    }
+    for (int i = 0; i < metrics.size(); i++) {
+      if (metricValues[i] != null) {
+        buffer.put(metricValues[i]);
+      } else {
+        for (int row = 0; row < rowCount; row++) {
+          buffer.putDouble(report.doubleMetric(i, row));
+        }
+      }
+    }
+    buffer.put(pool.bytes.toByteArray());
+    buffer.flip();
+    return buffer;
+  }
+
+  private static byte[] encodeLongs(ColumnarReport report, int metric, boolean delta) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    long previous = 0;
+    for (int row = 0; row < report.getRowCount(); row++) {
+      long value = report.longMetric(metric, row);
+      long encoded = zigZag(delta ? value - previous : value);
+      while ((encoded & ~0x7FL) != 0) {
+        out.write((int) ((encoded & 0x7F) | 0x80));
+        encoded >>>= 7;
+      }
+      out.write((int) encoded);
+      previous = value;
+    }
+    return out.toByteArray();
+  }
+
+  /** Returns a DATE value, such as "20210131", as a number, or 0 if it is not a date. */
+  static int parseDate(@Nullable String value) {
+    if (value == null || value.length() != 8) {
+      return 0;
+    }
+    int date = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return 0;
+      }
+      date = date * 10 + (c - '0');
+    }
+    return date;
+  }
+
+  static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /** Collects the distinct strings of a segment, each stored once as a length and UTF-8 bytes. */
+  private static final class StringPool {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final Map<String, Integer> references = new HashMap<>();
+
+    int add(@Nullable String value) {
+      if (value == null) {
+        return NULL_STRING;
+      }
+      Integer reference = references.get(value);
+      if (reference == null) {
+        reference = bytes.size();
+        references.put(value, reference);
+        byte[] encoded = value.getBytes(UTF_8);
+        int length = encoded.length;
+        bytes.write(length >>> 24);
+        bytes.write(length >>> 16);
+        bytes.write(length >>> 8);
+        bytes.write(length);
+        bytes.write(encoded, 0, length);
+      }
+      return reference;
+    }
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.archive;
+
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.admob.v1.model.ReportRowDimensionValue;
+import com.google.api.services.admob.v1.model.ReportRowMetricValue;
+import com.google.api.services.samples.admob.reports.ColumnarReport.MetricType;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * A row read by a {@link ReportArchive} scan.
+ *
+ * <p>Values are read in place from the segment file: dimension values are decoded the first time a
+ * row of the segment reads them, and metric values are decoded as the scan moves from row to row.
+ * The same instance moves through all the rows of a segment, so it must not be kept once {@link
+ * ReportArchive.RowVisitor#visit} returns; {@link #toReportRow} makes a copy.
+ */
+public final class ArchivedRow {
+
+  private final ArchiveSegment segment;
+  private final ByteBuffer buffer;
+  private final int rowCount;
+
+  /** The dimension values and labels decoded so far, per dimension and dictionary code. */
+  private final String[][] values;
+
+  private final String[][] labels;
+
+  private final int[] metricEncodings;
+  private final int[] metricPositions;
+  private final long[] longValues;
+  private final double[] doubleValues;
+  private int row = -1;
+
+  ArchivedRow(ArchiveSegment segment) {
+    this.segment = segment;
+    this.buffer = segment.getBuffer();
+    this.rowCount = segment.getRowCount();
+    int dimensionCount = segment.getDimensions().size();
+    values = new String[dimensionCount][];
+    labels = new String[dimensionCount][];
+    int metricCount = segment.getMetrics().size();
+    metricEncodings = new int[metricCount];
+    metricPositions = new int[metricCount];
+    longValues = new long[metricCount];
+    doubleValues = new double[metricCount];
+    for (int i = 0; i < metricCount; i++) {
+      metricEncodings[i] = segment.getMetricEncoding(i);
+      metricPositions[i] = segment.getMetricValues(i);
+    }
+  }
+
+  /** Moves to the next row of the segment, or returns {@code false} after the last one. */
+  boolean next() {
+    if (row + 1 >= rowCount) {
+      return false;
+    }
+    row++;
+    for (int i = 0; i < metricEncodings.length; i++) {
+      int position = metricPositions[i];
+      if (metricEncodings[i] == ArchiveSegment.DOUBLE_ENCODING) {
+        doubleValues[i] = buffer.getDouble(position);
+        metricPositions[i] = position + 8;
+        continue;
+      }
+      long encoded = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = buffer.get(position++);
+        encoded |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      metricPositions[i] = position;
+      long value = ArchiveSegment.unZigZag(encoded);
+      longValues[i] =
+          metricEncodings[i] == ArchiveSegment.DELTA_ENCODING ? longValues[i] + value : value;
+    }
+    return true;
+  }
+
+  /** Returns the dictionary code of the value of a dimension in this row. */
+  int code(int dimension) {
+    return segment.getCode(dimension, row);
+  }
+
+  /** Returns the dimensions of the segment the row is in. */
+  public List<String> getDimensions() {
+    return segment.getDimensions();
+  }
+
+  /** Returns the metrics of the segment the row is in. */
+  public List<String> getMetrics() {
+    return segment.getMetrics();
+  }
+
+  /** Returns the value of a dimension, or {@code null} if the row has none. */
+  @Nullable
+  public String getDimensionValue(String dimension) {
+    int index = segment.getDimensions().indexOf(dimension);
+    return index < 0 ? null : dimensionValue(index, false);
+  }
+
+  /** Returns the display label of the value of a dimension, or {@code null} if it has none. */
+  @Nullable
+  public String getDimensionLabel(String dimension) {
+    int index = segment.getDimensions().indexOf(dimension);
+    return index < 0 ? null : dimensionValue(index, true);
+  }
+
+  /**
+   * Returns the value of an integer or micros metric, or 0 if the row has none. Micros values are
+   * returned unscaled.
+   */
+  public long getLongMetric(String metric) {
+    int index = segment.getMetrics().indexOf(metric);
+    if (index < 0) {
+      return 0;
+    } else if (metricEncodings[index] == ArchiveSegment.DOUBLE_ENCODING) {
+      throw new IllegalArgumentException("Metric " + metric + " has double values.");
+    }
+    return longValues[index];
+  }
+
+  /** Returns the value of any metric as a double, or 0 if the row has none. */
+  public double getDoubleMetric(String metric) {
+    int index = segment.getMetrics().indexOf(metric);
+    if (index < 0) {
+      return 0;
+    }
+    return metricEncodings[index] == ArchiveSegment.DOUBLE_ENCODING
+        ? doubleValues[index]
+        : longValues[index];
+  }
+
+  /** Returns a copy of the row, as returned by the API. */
+  public ReportRow toReportRow() {
+    List<String> dimensions = segment.getDimensions();
+    Map<String, ReportRowDimensionValue> dimensionValues = new LinkedHashMap<>();
+    for (int i = 0; i < dimensions.size(); i++) {
+      dimensionValues.put(
+          dimensions.get(i),
+          new ReportRowDimensionValue()
+              .setValue(dimensionValue(i, false))
+              .setDisplayLabel(dimensionValue(i, true)));
+    }
+    List<String> metrics = segment.getMetrics();
+    Map<String, ReportRowMetricValue> metricValues = new LinkedHashMap<>();
+    for (int i = 0; i < metrics.size(); i++) {
+      ReportRowMetricValue value = new ReportRowMetricValue();
+      MetricType type = segment.getMetricType(i);
+      if (type == MetricType.DOUBLE) {
+        value.setDoubleValue(doubleValues[i]);
+      } else if (type == MetricType.MICROS) {
+        value.setMicrosValue(longValues[i]);
+      } else {
+        value.setIntegerValue(longValues[i]);
+      }
+      metricValues.put(metrics.get(i), value);
+    }
+    ReportRow row =
+        new ReportRow().setDimensionValues(dimensionValues).setMetricValues(metricValues);
+    row.setFactory(Utils.getDefaultJsonFactory());
+    return row;
+  }
+
+  @Nullable
+  private String dimensionValue(int dimension, boolean label) {
+    String[][] decoded = label ? labels : values;
+    if (decoded[dimension] == null) {
+      decoded[dimension] = new String[segment.getCardinality(dimension)];
+    }
+    int code = code(dimension);
+    String value = decoded[dimension][code];
+    if (value == null) {
+      value =
+          label
+              ? segment.getDimensionLabel(dimension, code)
+              : segment.getDimensionValue(dimension, code);
+      decoded[dimension][code] = value;
+    }
+    return value;
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.archive;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A Bloom filter of dimension values, held in an array of 64-bit words when written and read in
+ * place from a segment buffer when scanned.
+ *
+ * <p>With 10 bits per value and 7 hash functions, about 1% of the lookups of values that were
+ * never added report them as possibly present.
+ */
+final class BloomFilter {
+
+  private static final int BITS_PER_VALUE = 10;
+  private static final int HASH_COUNT = 7;
+
+  private BloomFilter() {}
+
+  /** Returns the number of words of a filter sized for the given number of values. */
+  static int wordCount(int valueCount) {
+    return Math.max(1, (valueCount * BITS_PER_VALUE + 63) / 64);
+  }
+
+  static void add(long[] words, String dimension, String value) {
+    long hash = hash(dimension, value);
+    long bitCount = words.length * 64L;
+    for (int i = 0; i < HASH_COUNT; i++) {
+      long bit = bit(hash, i, bitCount);
+      words[(int) (bit >>> 6)] |= 1L << bit;
+    }
+  }
+
+  /**
+   * Returns whether a value may have been added to a filter, or {@code false} if it certainly was
+   * not.
+   *
+   * @param buffer The buffer holding the filter.
+   * @param offset The byte offset of the first word of the filter.
+   * @param wordCount The number of words of the filter.
+   */
+  static boolean mightContain(
+      ByteBuffer buffer, int offset, int wordCount, String dimension, String value) {
+    long hash = hash(dimension, value);
+    long bitCount = wordCount * 64L;
+    for (int i = 0; i < HASH_COUNT; i++) {
+      long bit = bit(hash, i, bitCount);
+      if ((buffer.getLong(offset + (int) (bit >>> 6) * 8) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Derives the bits of a value from the two halves of its hash. */
+  private static long bit(long hash, int i, long bitCount) {
+    long combined = (int) hash + (long) i * (int) (hash >>> 32);
+    return (combined & Long.MAX_VALUE) % bitCount;
+  }
+
+  /** Returns the 64-bit FNV-1a hash of a dimension and a value, with its bits spread. */
+  private static long hash(String dimension, String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < dimension.length(); i++) {
+      hash = (hash ^ dimension.charAt(i)) * 0x100000001b3L;
+    }
+    hash *= 0x100000001b3L;
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+    }
+    hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+    hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return hash ^ (hash >>> 33);
+  }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.archive;
+
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.samples.admob.export.ReportSchema;
+import com.google.api.services.samples.admob.reports.ColumnarReport;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An append-only archive of report rows, kept as a directory of segment files, for scanning months
+ * of reports without re-parsing them.
+ *
+ * <p>Each {@link #append} writes a new, immutable segment holding its rows column by column, with
+ * dictionary-encoded dimensions and variable-length metrics (see {@link ArchiveSegment}), which
+ * takes a small fraction of the size of the JSON response. A {@link #scan} memory-maps the
+ * segments one at a time and skips those whose date range or dimension values exclude every row
+ * from its {@link ArchiveQuery}, looking only at their header. Rows are appended as they come, so
+ * segments of rows sorted by DATE, such as those of a daily report, are the ones scans skip best.
+ *
+ * <p>Archives may be appended to and scanned concurrently, including by separate processes: a
+ * segment only appears once it has been completely written, under a name no other append can take.
+ * This requires a file system with hard links.
+ */
+public final class ReportArchive {
+
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".bin";
+
+  private final Path directory;
+
+  /** Receives the rows selected by a scan. */
+  public interface RowVisitor {
+    /** Visits a row. The row must not be kept once this returns. */
+    void visit(ArchivedRow row) throws IOException;
+  }
+
+  /** What a scan read: the number of rows selected, and of segments read and skipped. */
+  public static final class ScanResult {
+    private final long rowCount;
+    private final int segmentsRead;
+    private final int segmentsSkipped;
+
+    private ScanResult(long rowCount, int segmentsRead, int segmentsSkipped) {
+      this.rowCount = rowCount;
+      this.segmentsRead = segmentsRead;
+      this.segmentsSkipped = segmentsSkipped;
+    }
+
+    public long getRowCount() {
+      return rowCount;
+    }
+
+    public int getSegmentsRead() {
+      return segmentsRead;
+    }
+
+    /** Returns the number of segments skipped from their header, without reading their rows. */
+    public int getSegmentsSkipped() {
+      return segmentsSkipped;
+    }
+  }
+
+  /**
+   * @param directory The directory of the archive, created if it does not exist.
+   */
+  public ReportArchive(Path directory) throws IOException {
+    this.directory = Files.createDirectories(directory);
+  }
+
+  /**
+   * Appends rows as a new segment.
+   *
+   * @param schema The columns to keep, usually those of the report specification.
+   * @param rows The rows to append, which must not be empty.
+   * @return The segment file.
+   */
+  public Path append(ReportSchema schema, List<ReportRow> rows) throws IOException {
+    return append(
+        ColumnarReport.build(schema.getDimensions(), schema.getMetrics(), rows.iterator()));
+  }
+
+  /**
+   * Appends rows as a new segment.
+   *
+   * @param rows The rows to append, which must not be empty.
+   * @return The segment file.
+   */
+  public Path append(ColumnarReport rows) throws IOException {
+    if (rows.getRowCount() == 0) {
+      throw new IllegalArgumentException("A segment must hold at least one row.");
+    }
+    ByteBuffer segment = ArchiveSegment.encode(rows);
+    Path temporaryFile = Files.createTempFile(directory, "segment", ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+        while (segment.hasRemaining()) {
+          channel.write(segment);
+        }
+      }
+      // Segments are numbered in the order they were appended, so a concurrent append may take
+      // the next number first. Unlike a move, which may replace a segment that appeared after the
+      // check for it, a link only claims a name that is still free.
+      while (true) {
+        Path file = directory.resolve(segmentName(nextSegmentNumber()));
+        try {
+          return Files.createLink(file, temporaryFile);
+        } catch (FileAlreadyExistsException e) {
+          // Try the number after it.
+        }
+      }
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  /** Returns the segment files of the archive, in the order they were appended. */
+  public List<Path> getSegments() throws IOException {
+    List<Path> segments = new ArrayList<>();
+    try (DirectoryStream<Path> stream =
+        Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+      for (Path file : stream) {
+        segments.add(file);
+      }
+    }
+    // Segment numbers have a fixed number of digits, so names sort in append order.
+    Collections.sort(segments);
+    return segments;
+  }
+
+  /**
+   * Scans the rows of the archive selected by a query, segment by segment in append order.
+   *
+   * @param query The rows to select.
+   * @param visitor The visitor to pass each selected row to.
+   * @return What was scanned.
+   */
+  public ScanResult scan(ArchiveQuery query, RowVisitor visitor) throws IOException {
+    long rowCount = 0;
+    int segmentsRead = 0;
+    int segmentsSkipped = 0;
+    for (Path file : getSegments()) {
+      ArchiveSegment segment = ArchiveSegment.open(file);
+      if (!mayMatch(segment, query)) {
+        segmentsSkipped++;
+        continue;
+      }
+      segmentsRead++;
+      rowCount += scan(segment, query, visitor);
+    }
+    return new ScanResult(rowCount, segmentsRead, segmentsSkipped);
+  }
+
+  /** Returns whether the header of a segment allows any of its rows to match a query. */
+  private static boolean mayMatch(ArchiveSegment segment, ArchiveQuery query) {
+    if (query.hasDateRange()
+        && (segment.getMaxDate() == 0
+            || segment.getMaxDate() < query.getStartDate()
+            || segment.getMinDate() > query.getEndDate())) {
+      return false;
+    }
+    for (Map.Entry<String, ImmutableSet<String>> filter :
+        query.getDimensionFilters().entrySet()) {
+      String dimension = filter.getKey();
+      if (!segment.getDimensions().contains(dimension)) {
+        return false;
+      } else if (dimension.equals(ArchiveSegment.DATE)) {
+        continue;
+      }
+      boolean mightContain = false;
+      for (String value : filter.getValue()) {
+        mightContain |= segment.mightContain(dimension, value);
+      }
+      if (!mightContain) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long scan(ArchiveSegment segment, ArchiveQuery query, RowVisitor visitor)
+      throws IOException {
+    // Filters are checked once per dictionary entry, leaving one array lookup per row.
+    List<Integer> filteredDimensions = new ArrayList<>();
+    List<boolean[]> matchingCodes = new ArrayList<>();
+    if (query.hasDateRange()) {
+      int dimension = segment.getDimensions().indexOf(ArchiveSegment.DATE);
+      boolean[] matching = new boolean[segment.getCardinality(dimension)];
+      for (int code = 0; code < matching.length; code++) {
+        int date = ArchiveSegment.parseDate(segment.getDimensionValue(dimension, code));
+        matching[code] =
+            date != 0 && date >= query.getStartDate() && date <= query.getEndDate();
+      }
+      filteredDimensions.add(dimension);
+      matchingCodes.add(matching);
+    }
+    for (Map.Entry<String, ImmutableSet<String>> filter :
+        query.getDimensionFilters().entrySet()) {
+      int dimension = segment.getDimensions().indexOf(filter.getKey());
+      boolean[] matching = new boolean[segment.getCardinality(dimension)];
+      for (int code = 0; code < matching.length; code++) {
+        matching[code] = filter.getValue().contains(segment.getDimensionValue(dimension, code));
+      }
+      filteredDimensions.add(dimension);
+      matchingCodes.add(matching);
+    }
+    int[] dimensions = filteredDimensions.stream().mapToInt(Integer::intValue).toArray();
+    boolean[][] matching = matchingCodes.toArray(new boolean[0][]);
+
+    ArchivedRow row = new ArchivedRow(segment);
+    long rowCount = 0;
+    while (row.next()) {
+      if (matches(row, dimensions, matching)) {
+        visitor.visit(row);
+        rowCount++;
+      }
+    }
+    return rowCount;
+  }
+
+  private static boolean matches(ArchivedRow row, int[] dimensions, boolean[][] matching) {
+    for (int i = 0; i < dimensions.length; i++) {
+      if (!matching[i][row.code(dimensions[i])]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int nextSegmentNumber() throws IOException {
+    List<Path> segments = getSegments();
+    if (segments.isEmpty()) {
+      return 1;
+    }
+    String name = segments.get(segments.size() - 1).getFileName().toString();
+    return Integer.parseInt(
+            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))
+        + 1;
+  }
+
+  private static String segmentName(int number) {
+    return String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.async;
+
+import com.google.api.services.admob.v1.AdMob;
+import com.google.api.services.admob.v1.model.AdUnit;
+import com.google.api.services.admob.v1.model.App;
+import com.google.api.services.admob.v1.model.GenerateMediationReportRequest;
+import com.google.api.services.admob.v1.model.GenerateNetworkReportRequest;
+import com.google.api.services.admob.v1.model.ListAdUnitsResponse;
+import com.google.api.services.admob.v1.model.ListAppsResponse;
+import com.google.api.services.admob.v1.model.ListPublisherAccountsResponse;
+import com.google.api.services.admob.v1.model.PublisherAccount;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.samples.admob.util.RequestScheduler.ApiCall;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.reactivestreams.Publisher;
+
+/**
+ * An asynchronous facade over an {@link AdMob} service object: calls return a {@link
+ * CompletableFuture} and reports are published row by row with backpressure.
+ *
+ * <p>The underlying HTTP transport is blocking, so each call still occupies a thread of the
+ * executor while it waits for a response. The executor bounds how many calls are in flight, and
+ * calls beyond that wait in its queue rather than on threads of their own. Between pages of a list,
+ * and while a report subscriber has no outstanding demand, no thread is held at all. Errors
+ * complete futures exceptionally, and are signaled to report subscribers, with the {@code
+ * IOException} of the call.
+ *
+ * <p>Publishers implement the <a href="https://www.reactive-streams.org">Reactive Streams</a>
+ * interfaces, which {@code java.util.concurrent.Flow} mirrors; on Java 9+ they can be adapted with
+ * {@code org.reactivestreams.FlowAdapters}.
+ */
+public final class AsyncAdMob {
+
+  // Defines the size of the pages listed.
+  private static final int PAGE_SIZE = 1000;
+
+  private final AdMob adMob;
+  private final Executor executor;
+
+  /**
+   * @param adMob An initialized {@link AdMob} service object.
+   * @param executor The executor calls are made on.
+   */
+  public AsyncAdMob(AdMob adMob, Executor executor) {
+    this.adMob = adMob;
+    this.executor = executor;
+  }
+
+  /** Gets an account by name. */
+  public CompletableFuture<PublisherAccount> getAccount(String accountName) {
+    return call(() -> adMob.accounts().get(accountName).execute());
+  }
+
+  /** Lists every account the signed in user has access to. */
+  public CompletableFuture<List<PublisherAccount>> listAccounts() {
+    return listPages(
+        pageToken ->
+            call(
+                () ->
+                    adMob
+                        .accounts()
+                        .list()
+                        .setPageSize(PAGE_SIZE)
+                        .setPageToken(pageToken)
+                        .execute()),
+        ListPublisherAccountsResponse::getAccount,
+        ListPublisherAccountsResponse::getNextPageToken);
+  }
+
+  /** Lists every app of an account. */
+  public CompletableFuture<List<App>> listApps(String accountName) {
+    return listPages(
+        pageToken ->
+            call(
+                () ->
+                    adMob
+                        .accounts()
+                        .apps()
+                        .list(accountName)
+                        .setPageSize(PAGE_SIZE)
+                        .setPageToken(pageToken)
+                        .execute()),
+        ListAppsResponse::getApps,
+        ListAppsResponse::getNextPageToken);
+  }
+
+  /** Lists every ad unit of an account. */
+  public CompletableFuture<List<AdUnit>> listAdUnits(String accountName) {
+    return listPages(
+        pageToken ->
+            call(
+                () ->
+                    adMob
+                        .accounts()
+                        .adUnits()
+                        .list(accountName)
+                        .setPageSize(PAGE_SIZE)
+                        .setPageToken(pageToken)
+                        .execute()),
+        ListAdUnitsResponse::getAdUnits,
+        ListAdUnitsResponse::getNextPageToken);
+  }
+
+  /**
+   * Returns a publisher of the rows of a network report. The report is generated once per
+   * subscription, when the subscriber first requests rows.
+   */
+  public Publisher<ReportRow> generateNetworkReport(
+      String accountName, GenerateNetworkReportRequest request) {
+    return new ReportRowPublisher(
+        () ->
+            adMob
+                .accounts()
+                .networkReport()
+                .generate(accountName, request)
+                .executeAsInputStream(),
+        executor);
+  }
+
+  /**
+   * Returns a publisher of the rows of a mediation report. The report is generated once per
+   * subscription, when the subscriber first requests rows.
+   */
+  public Publisher<ReportRow> generateMediationReport(
+      String accountName, GenerateMediationReportRequest request) {
+    return new ReportRowPublisher(
+        () ->
+            adMob
+                .accounts()
+                .mediationReport()
+                .generate(accountName, request)
+                .executeAsInputStream(),
+        executor);
+  }
+
+  private <T> CompletableFuture<T> call(ApiCall<T> call) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              future.complete(call.call());
+            } catch (Throwable e) {
+              future.completeExceptionally(e);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /** Fetches pages one after the other, each on its own task, collecting their items. */
+  private static <P, T> CompletableFuture<List<T>> listPages(
+      Function<String, CompletableFuture<P>> fetch,
+      Function<P, List<T>> items,
+      Function<P, String> nextPageToken) {
+    return listPages(fetch, items, nextPageToken, null, new ArrayList<>());
+  }
+
+  private static <P, T> CompletableFuture<List<T>> listPages(
+      Function<String, CompletableFuture<P>> fetch,
+      Function<P, List<T>> items,
+      Function<P, String> nextPageToken,
+      @Nullable String pageToken,
+      List<T> collected) {
+    return fetch
+        .apply(pageToken)
+        .thenCompose(
+            page -> {
+              if (items.apply(page) != null) {
+                collected.addAll(items.apply(page));
+              }
+              String next = nextPageToken.apply(page);
+              return next == null
+                  ? CompletableFuture.completedFuture(collected)
+                  : listPages(fetch, items, nextPageToken, next, collected);
+            });
+  }
+}
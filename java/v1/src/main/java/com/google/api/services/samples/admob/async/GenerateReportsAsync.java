@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.async;
+
+import com.google.api.services.admob.v1.AdMob;
+import com.google.api.services.admob.v1.model.GenerateNetworkReportRequest;
+import com.google.api.services.admob.v1.model.PublisherAccount;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.samples.admob.AdMobFactory;
+import com.google.api.services.samples.admob.reports.GenerateNetworkReport;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * This example illustrates how to generate a network report for every account at once, with a
+ * small, fixed number of threads.
+ */
+public class GenerateReportsAsync {
+
+  // [START main_body]
+  // Defines the number of threads calls are made on, which bounds the calls in flight.
+  private static final int THREADS = 8;
+
+  // Defines the number of rows requested from a report at a time.
+  private static final int BATCH_ROWS = 1000;
+
+  public static void runExample(AdMob adMob, GenerateNetworkReportRequest request)
+      throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      AsyncAdMob asyncAdMob = new AsyncAdMob(adMob, executor);
+
+      // Subscribe to the report of each account, counting rows as they arrive.
+      List<PublisherAccount> accounts = asyncAdMob.listAccounts().join();
+      List<CompletableFuture<Long>> rowCounts = new ArrayList<>();
+      for (PublisherAccount account : accounts) {
+        RowCounter counter = new RowCounter();
+        asyncAdMob.generateNetworkReport(account.getName(), request).subscribe(counter);
+        rowCounts.add(counter.rowCount);
+      }
+
+      for (int i = 0; i < accounts.size(); i++) {
+        System.out.printf(
+            "Account %s: %d rows%n", accounts.get(i).getName(), rowCounts.get(i).join());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /** Counts the rows of a report, requesting them a batch at a time. */
+  private static final class RowCounter implements Subscriber<ReportRow> {
+    final CompletableFuture<Long> rowCount = new CompletableFuture<>();
+    private Subscription subscription;
+    private long rows;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(BATCH_ROWS);
+    }
+
+    @Override
+    public void onNext(ReportRow row) {
+      rows++;
+      if (rows % BATCH_ROWS == 0) {
+        subscription.request(BATCH_ROWS);
+      }
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      rowCount.completeExceptionally(error);
+    }
+
+    @Override
+    public void onComplete() {
+      rowCount.complete(rows);
+    }
+  }
+  // [END main_body]
+
+  public static void main(String[] args) throws Exception {
+    AdMob adMob = AdMobFactory.getInstance();
+
+    // Generate network report request.
+    GenerateNetworkReportRequest request = GenerateNetworkReport.getNetworkReportRequest();
+    runExample(adMob, request);
+  }
+}
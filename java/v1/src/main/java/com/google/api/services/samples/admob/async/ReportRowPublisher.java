@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.async;
+
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.samples.admob.reports.ReportStreamReader;
+import com.google.api.services.samples.admob.util.RequestScheduler.ApiCall;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Publishes the rows of a report as the subscriber requests them.
+ *
+ * <p>Each subscription generates the report anew. Rows are read from the response on the executor
+ * only while the subscriber has outstanding demand; once it is met, the task ends and the response
+ * is left unread, so a slow subscriber holds a connection but no thread, and the server is slowed
+ * down by TCP flow control. Cancelling the subscription closes the response.
+ */
+final class ReportRowPublisher implements Publisher<ReportRow> {
+
+  private final ApiCall<InputStream> request;
+  private final Executor executor;
+
+  /**
+   * @param request Generates the report and returns its raw response.
+   * @param executor The executor the report is requested and read on.
+   */
+  ReportRowPublisher(ApiCall<InputStream> request, Executor executor) {
+    this.request = request;
+    this.executor = executor;
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super ReportRow> subscriber) {
+    if (subscriber == null) {
+      throw new NullPointerException("The subscriber must not be null.");
+    }
+    ReportSubscription subscription = new ReportSubscription(subscriber);
+    subscriber.onSubscribe(subscription);
+  }
+
+  private final class ReportSubscription implements Subscription, Runnable {
+    private final Subscriber<? super ReportRow> subscriber;
+
+    /** The rows requested and not delivered yet, or {@code Long.MAX_VALUE} if unbounded. */
+    private final AtomicLong demand = new AtomicLong();
+
+    /** The number of times the subscription was signaled while a drain was scheduled or running. */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private volatile boolean cancelled;
+    private volatile Throwable invalidRequest;
+
+    // Only accessed by the drain, which never runs concurrently with itself.
+    private ReportStreamReader reader;
+    private boolean done;
+
+    ReportSubscription(Subscriber<? super ReportRow> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        invalidRequest =
+            new IllegalArgumentException("The number of rows requested must be positive: " + n);
+      } else {
+        demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+      }
+      schedule();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      schedule();
+    }
+
+    /** Makes sure a drain runs after this call, without ever running two at once. */
+    private void schedule() {
+      if (pending.getAndIncrement() == 0) {
+        try {
+          executor.execute(this);
+        } catch (RejectedExecutionException e) {
+          cancelled = true;
+          done = true;
+          subscriber.onError(e);
+        }
+      }
+    }
+
+    /** Delivers rows while there is demand, then returns so the thread can do other work. */
+    @Override
+    public void run() {
+      int missed = 1;
+      while (true) {
+        if (!done) {
+          drain();
+        }
+        missed = pending.addAndGet(-missed);
+        if (missed == 0) {
+          return;
+        }
+      }
+    }
+
+    private void drain() {
+      try {
+        if (cancelled) {
+          finish();
+          return;
+        }
+        if (invalidRequest != null) {
+          finish();
+          subscriber.onError(invalidRequest);
+          return;
+        }
+        if (reader == null) {
+          reader = ReportStreamReader.open(request.call());
+        }
+        long requested = demand.get();
+        long emitted = 0;
+        while (emitted != requested && !cancelled && reader.hasNext()) {
+          subscriber.onNext(reader.next());
+          emitted++;
+        }
+        if (cancelled) {
+          finish();
+        } else if (!reader.hasNext()) {
+          finish();
+          subscriber.onComplete();
+        } else if (requested != Long.MAX_VALUE) {
+          demand.addAndGet(-emitted);
+        }
+      } catch (IOException | RuntimeException e) {
+        finish();
+        subscriber.onError(e instanceof UncheckedIOException ? e.getCause() : e);
+      }
+    }
+
+    /** Ends the subscription, closing the response. No more signals are sent after this. */
+    private void finish() {
+      done = true;
+      cancelled = true;
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (IOException e) {
+          // The rows were read or are no longer wanted, so there is nothing to recover.
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.export;
+
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.samples.admob.archive.ReportArchive;
+import com.google.api.services.samples.admob.reports.ColumnarReport;
+import java.io.IOException;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ReportExporter} that appends the rows of a report to a {@link ReportArchive}.
+ *
+ * <p>Rows are collected column by column and appended as a new segment every {@code
+ * rowsPerSegment} rows, and once more for the remaining rows when the report is finished, so
+ * memory use is capped by the segment size rather than by the report size. A report that fails
+ * before it is finished leaves the segments already appended in the archive.
+ */
+public final class ArchivingReportExporter implements ReportExporter {
+
+  /** The default number of rows per segment, a few megabytes of rows once encoded. */
+  public static final int DEFAULT_ROWS_PER_SEGMENT = 256 * 1024;
+
+  private final ReportArchive archive;
+  private final int rowsPerSegment;
+  private ReportSchema schema;
+  private ColumnarReport.Builder segment;
+  private int segmentRowCount;
+
+  /**
+   * @param archive The archive to append to.
+   */
+  public ArchivingReportExporter(ReportArchive archive) {
+    this(archive, DEFAULT_ROWS_PER_SEGMENT);
+  }
+
+  /**
+   * @param archive The archive to append to.
+   * @param rowsPerSegment The maximum number of rows of each segment. Smaller segments let scans
+   *     skip more rows, but take more files.
+   */
+  public ArchivingReportExporter(ReportArchive archive, int rowsPerSegment) {
+    if (rowsPerSegment <= 0) {
+      throw new IllegalArgumentException("The number of rows per segment must be positive.");
+    }
+    this.archive = archive;
+    this.rowsPerSegment = rowsPerSegment;
+  }
+
+  @Override
+  public void start(ReportSchema schema, @Nullable ReportHeader header) {
+    this.schema = schema;
+    segment = new ColumnarReport.Builder(schema.getDimensions(), schema.getMetrics());
+  }
+
+  @Override
+  public void write(List<ReportRow> rows) throws IOException {
+    for (ReportRow row : rows) {
+      segment.add(row);
+      if (++segmentRowCount == rowsPerSegment) {
+        appendSegment();
+      }
+    }
+  }
+
+  @Override
+  public void finish(@Nullable ReportFooter footer) throws IOException {
+    if (segmentRowCount > 0) {
+      appendSegment();
+    }
+  }
+
+  @Override
+  public void close() {
+    segment = null;
+  }
+
+  private void appendSegment() throws IOException {
+    archive.append(segment.build());
+    segment = new ColumnarReport.Builder(schema.getDimensions(), schema.getMetrics());
+    segmentRowCount = 0;
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.export;
+
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.admob.v1.model.ReportRowDimensionValue;
+import com.google.api.services.admob.v1.model.ReportRowMetricValue;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Exports a report as CSV (RFC 4180): a line of column names, then one line per row.
+ *
+ * <p>Each dimension has a column holding its value and, if labels are included, a {@code _LABEL}
+ * column holding its display label. Each metric has a column holding its value as returned by the
+ * API, so currency metrics are in micros. Values are appended straight to a buffered writer,
+ * without formatting strings per row.
+ */
+public final class CsvReportExporter implements ReportExporter {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Writer out;
+  private final boolean includeLabels;
+  private final char[] digits = new char[20];
+  private List<String> dimensions;
+  private List<String> metrics;
+
+  /**
+   * @param out The writer to export to, closed when the exporter is closed.
+   * @param includeLabels Whether to add a display label column for each dimension.
+   */
+  public CsvReportExporter(Writer out, boolean includeLabels) {
+    this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out, BUFFER_SIZE);
+    this.includeLabels = includeLabels;
+  }
+
+  @Override
+  public void start(ReportSchema schema, @Nullable ReportHeader header) throws IOException {
+    dimensions = schema.getDimensions();
+    metrics = schema.getMetrics();
+    boolean first = true;
+    for (String dimension : dimensions) {
+      first = separate(first);
+      writeField(dimension);
+      if (includeLabels) {
+        out.write(',');
+        writeField(dimension + "_LABEL");
+      }
+    }
+    for (String metric : metrics) {
+      first = separate(first);
+      writeField(metric);
+    }
+    out.write("\r\n");
+  }
+
+  @Override
+  public void write(List<ReportRow> rows) throws IOException {
+    for (ReportRow row : rows) {
+      Map<String, ReportRowDimensionValue> dimensionValues = row.getDimensionValues();
+      Map<String, ReportRowMetricValue> metricValues = row.getMetricValues();
+      boolean first = true;
+      for (String dimension : dimensions) {
+        first = separate(first);
+        ReportRowDimensionValue value =
+            dimensionValues == null ? null : dimensionValues.get(dimension);
+        writeField(value == null ? null : value.getValue());
+        if (includeLabels) {
+          out.write(',');
+          writeField(value == null ? null : value.getDisplayLabel());
+        }
+      }
+      for (String metric : metrics) {
+        first = separate(first);
+        writeMetric(metricValues == null ? null : metricValues.get(metric));
+      }
+      out.write("\r\n");
+    }
+  }
+
+  @Override
+  public void finish(@Nullable ReportFooter footer) throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  private boolean separate(boolean first) throws IOException {
+    if (!first) {
+      out.write(',');
+    }
+    return false;
+  }
+
+  private void writeMetric(@Nullable ReportRowMetricValue value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    if (value.getIntegerValue() != null) {
+      writeLong(value.getIntegerValue());
+    } else if (value.getMicrosValue() != null) {
+      writeLong(value.getMicrosValue());
+    } else if (value.getDoubleValue() != null) {
+      out.write(Double.toString(value.getDoubleValue()));
+    }
+  }
+
+  /** Writes the decimal digits of a value without creating a string. */
+  private void writeLong(long value) throws IOException {
+    if (value == Long.MIN_VALUE) {
+      out.write(Long.toString(value));
+      return;
+    }
+    if (value < 0) {
+      out.write('-');
+      value = -value;
+    }
+    int start = digits.length;
+    do {
+      digits[--start] = (char) ('0' + value % 10);
+      value /= 10;
+    } while (value != 0);
+    out.write(digits, start, digits.length - start);
+  }
+
+  /** Writes a field, quoting it only if it holds a separator, quote or line break. */
+  private void writeField(@Nullable String value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    boolean quote = false;
+    for (int i = 0; i < value.length() && !quote; i++) {
+      char c = value.charAt(i);
+      quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (!quote) {
+      out.write(value);
+      return;
+    }
+    out.write('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        out.write('"');
+      }
+      out.write(c);
+    }
+    out.write('"');
+  }
+}
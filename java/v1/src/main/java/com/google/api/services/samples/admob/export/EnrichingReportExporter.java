@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.export;
+
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.admob.v1.model.ReportRowDimensionValue;
+import com.google.api.services.samples.admob.inventory.InventoryIndex;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ReportExporter} that adds inventory metadata to each row before passing it on, joining
+ * the APP and AD_UNIT dimensions of the rows with an {@link InventoryIndex}.
+ *
+ * <p>Reports with the APP or AD_UNIT dimension gain the {@link #APP_NAME}, {@link #APP_PLATFORM}
+ * and {@link #APP_STORE_ID} columns, and reports with the AD_UNIT dimension gain the {@link
+ * #AD_UNIT_FORMAT} column; the app of an ad unit is found through the index. The join happens as
+ * batches are written, so used with {@link ReportExportPipeline} it runs on the writer thread while
+ * the next rows are being read, and the report is never buffered. Rows whose app or ad unit is not
+ * in the index are left without the added values.
+ */
+public final class EnrichingReportExporter implements ReportExporter {
+
+  /** The display name of the app, from its store listing or else as set manually. */
+  public static final String APP_NAME = "APP_NAME";
+
+  public static final String APP_PLATFORM = "APP_PLATFORM";
+
+  /** The store ID of the app, for apps linked to an app store. */
+  public static final String APP_STORE_ID = "APP_STORE_ID";
+
+  public static final String AD_UNIT_FORMAT = "AD_UNIT_FORMAT";
+
+  private final ReportExporter delegate;
+  private final InventoryIndex inventory;
+  private boolean hasApp;
+  private boolean hasAdUnit;
+
+  /** The added values, created once per app and ad unit and shared by their rows. */
+  private final ReportRowDimensionValue[][] appValues;
+
+  private final ReportRowDimensionValue[] adUnitFormats;
+
+  /**
+   * @param delegate The exporter the enriched rows are written with, closed with this exporter.
+   * @param inventory The inventory of the account the report is for.
+   */
+  public EnrichingReportExporter(ReportExporter delegate, InventoryIndex inventory) {
+    this.delegate = delegate;
+    this.inventory = inventory;
+    appValues = new ReportRowDimensionValue[inventory.getAppCount()][];
+    adUnitFormats = new ReportRowDimensionValue[inventory.getAdUnitCount()];
+  }
+
+  @Override
+  public void start(ReportSchema schema, @Nullable ReportHeader header) throws IOException {
+    hasApp = schema.getDimensions().contains("APP");
+    hasAdUnit = schema.getDimensions().contains("AD_UNIT");
+    List<String> dimensions = new ArrayList<>(schema.getDimensions());
+    if (hasApp || hasAdUnit) {
+      dimensions.add(APP_NAME);
+      dimensions.add(APP_PLATFORM);
+      dimensions.add(APP_STORE_ID);
+    }
+    if (hasAdUnit) {
+      dimensions.add(AD_UNIT_FORMAT);
+    }
+    delegate.start(new ReportSchema(dimensions, schema.getMetrics()), header);
+  }
+
+  @Override
+  public void write(List<ReportRow> rows) throws IOException {
+    if (hasApp || hasAdUnit) {
+      for (ReportRow row : rows) {
+        enrich(row);
+      }
+    }
+    delegate.write(rows);
+  }
+
+  @Override
+  public void finish(@Nullable ReportFooter footer) throws IOException {
+    delegate.finish(footer);
+  }
+
+  @Override
+  public void close() throws IOException {
+    delegate.close();
+  }
+
+  private void enrich(ReportRow row) {
+    Map<String, ReportRowDimensionValue> dimensionValues = row.getDimensionValues();
+    if (dimensionValues == null) {
+      return;
+    }
+    int app = -1;
+    if (hasAdUnit) {
+      int adUnit = find(dimensionValues.get("AD_UNIT"), false);
+      if (adUnit >= 0) {
+        dimensionValues.put(AD_UNIT_FORMAT, adUnitFormat(adUnit));
+        app = inventory.getAdUnitApp(adUnit);
+      }
+    }
+    if (hasApp) {
+      int rowApp = find(dimensionValues.get("APP"), true);
+      app = rowApp >= 0 ? rowApp : app;
+    }
+    if (app >= 0) {
+      ReportRowDimensionValue[] values = appValues(app);
+      dimensionValues.put(APP_NAME, values[0]);
+      dimensionValues.put(APP_PLATFORM, values[1]);
+      dimensionValues.put(APP_STORE_ID, values[2]);
+    }
+  }
+
+  private int find(@Nullable ReportRowDimensionValue value, boolean app) {
+    if (value == null || value.getValue() == null) {
+      return -1;
+    }
+    return app ? inventory.findApp(value.getValue()) : inventory.findAdUnit(value.getValue());
+  }
+
+  private ReportRowDimensionValue[] appValues(int app) {
+    ReportRowDimensionValue[] values = appValues[app];
+    if (values == null) {
+      values =
+          new ReportRowDimensionValue[] {
+            dimensionValue(inventory.getAppDisplayName(app)),
+            dimensionValue(inventory.getAppPlatform(app)),
+            dimensionValue(inventory.getAppStoreId(app))
+          };
+      appValues[app] = values;
+    }
+    return values;
+  }
+
+  private ReportRowDimensionValue adUnitFormat(int adUnit) {
+    ReportRowDimensionValue value = adUnitFormats[adUnit];
+    if (value == null) {
+      value = dimensionValue(inventory.getAdUnitFormat(adUnit));
+      adUnitFormats[adUnit] = value;
+    }
+    return value;
+  }
+
+  private static ReportRowDimensionValue dimensionValue(@Nullable String value) {
+    return new ReportRowDimensionValue().setValue(value);
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.export;
+
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.samples.admob.reports.ReportStreamReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports a report while it is being read, so that parsing the response and writing the output
+ * overlap.
+ *
+ * <p>The calling thread reads rows into batches and hands them to a writer task through a bounded
+ * queue; the writer task is the only one to use the exporter, from start to finish. When the
+ * writer falls behind, the reader blocks, which caps memory use at a few batches.
+ */
+public final class ReportExportPipeline {
+
+  private static final int BATCH_SIZE = 1024;
+  private static final int MAX_QUEUED_BATCHES = 8;
+
+  /** Marks the end of the batches in the queue. */
+  private static final List<ReportRow> END = Collections.emptyList();
+
+  private ReportExportPipeline() {}
+
+  /**
+   * Reads every row of a report and exports it. Neither the reader nor the exporter is closed.
+   *
+   * @param reader The report to read.
+   * @param schema The columns of the report.
+   * @param exporter The exporter to write the rows with.
+   * @param executor The executor the writer task runs on.
+   * @return The number of rows exported.
+   */
+  public static long export(
+      ReportStreamReader reader,
+      ReportSchema schema,
+      ReportExporter exporter,
+      ExecutorService executor)
+      throws IOException {
+    BlockingQueue<List<ReportRow>> queue = new ArrayBlockingQueue<>(MAX_QUEUED_BATCHES);
+    Future<?> writer =
+        executor.submit(
+            () -> {
+              exporter.start(schema, reader.getHeader());
+              for (List<ReportRow> batch = queue.take(); batch != END; batch = queue.take()) {
+                exporter.write(batch);
+              }
+              // The footer follows the last row, which was read before END was queued.
+              exporter.finish(reader.getFooter());
+              return null;
+            });
+
+    long rowCount = 0;
+    try {
+      List<ReportRow> batch = new ArrayList<>(BATCH_SIZE);
+      while (reader.hasNext()) {
+        batch.add(reader.next());
+        rowCount++;
+        if (batch.size() == BATCH_SIZE) {
+          put(queue, batch, writer);
+          batch = new ArrayList<>(BATCH_SIZE);
+        }
+      }
+      if (!batch.isEmpty()) {
+        put(queue, batch, writer);
+      }
+      put(queue, END, writer);
+      await(writer);
+    } catch (UncheckedIOException e) {
+      writer.cancel(true);
+      throw e.getCause();
+    } catch (IOException | RuntimeException e) {
+      writer.cancel(true);
+      throw e;
+    }
+    return rowCount;
+  }
+
+  /** Queues a batch, unless the writer has stopped, in which case its error is thrown. */
+  private static void put(
+      BlockingQueue<List<ReportRow>> queue, List<ReportRow> batch, Future<?> writer)
+      throws IOException {
+    try {
+      while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+        if (writer.isDone()) {
+          await(writer);
+          throw new IOException("The report writer stopped before the last row.");
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+  }
+
+  private static void await(Future<?> writer) throws IOException {
+    try {
+      writer.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.export;
+
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.admob.v1.model.ReportRow;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Writes the rows of a report to some output format, a batch of rows at a time.
+ *
+ * <p>{@link #start} is called once, then {@link #write} for each batch of rows and finally {@link
+ * #finish}. An exporter is used from a single thread at a time.
+ */
+public interface ReportExporter extends Closeable {
+
+  /**
+   * Starts the output.
+   *
+   * @param schema The columns of the report.
+   * @param header The header of the report, or {@code null} if it has none.
+   */
+  void start(ReportSchema schema, @Nullable ReportHeader header) throws IOException;
+
+  /** Writes a batch of rows. The batch is not retained. */
+  void write(List<ReportRow> rows) throws IOException;
+
+  /**
+   * Completes the output once all rows have been written.
+   *
+   * @param footer The footer of the report, or {@code null} if it has none.
+   */
+  void finish(@Nullable ReportFooter footer) throws IOException;
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.export;
+
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/** The columns of an exported report: the dimensions and metrics requested by its spec. */
+public final class ReportSchema {
+
+  private final ImmutableList<String> dimensions;
+  private final ImmutableList<String> metrics;
+
+  public ReportSchema(List<String> dimensions, List<String> metrics) {
+    this.dimensions = ImmutableList.copyOf(dimensions);
+    this.metrics = ImmutableList.copyOf(metrics);
+  }
+
+  public static ReportSchema of(NetworkReportSpec reportSpec) {
+    return new ReportSchema(orEmpty(reportSpec.getDimensions()), orEmpty(reportSpec.getMetrics()));
+  }
+
+  public static ReportSchema of(MediationReportSpec reportSpec) {
+    return new ReportSchema(orEmpty(reportSpec.getDimensions()), orEmpty(reportSpec.getMetrics()));
+  }
+
+  /** Returns the dimensions of the report, in the order requested. */
+  public ImmutableList<String> getDimensions() {
+    return dimensions;
+  }
+
+  /** Returns the metrics of the report, in the order requested. */
+  public ImmutableList<String> getMetrics() {
+    return metrics;
+  }
+
+  private static List<String> orEmpty(@Nullable List<String> values) {
+    return values == null ? ImmutableList.of() : values;
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.inventory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** The apps and ad units added, removed or changed between two inventory snapshots. */
+public final class InventoryDelta {
+
+  private final List<String> addedApps = new ArrayList<>();
+  private final List<String> removedApps = new ArrayList<>();
+  private final List<String> changedApps = new ArrayList<>();
+  private final List<String> addedAdUnits = new ArrayList<>();
+  private final List<String> removedAdUnits = new ArrayList<>();
+  private final List<String> changedAdUnits = new ArrayList<>();
+  private final InventoryIndex current;
+
+  private InventoryDelta(InventoryIndex current) {
+    this.current = current;
+  }
+
+  /**
+   * Compares two snapshots of an account's inventory. An app or ad unit has changed when any of its
+   * indexed fields differ, or for an ad unit, when it moved to another app.
+   *
+   * @param previous The earlier snapshot.
+   * @param current The later snapshot.
+   * @return The IDs of the apps and ad units that differ.
+   */
+  public static InventoryDelta between(InventoryIndex previous, InventoryIndex current) {
+    InventoryDelta delta = new InventoryDelta(current);
+    for (int app = 0; app < current.getAppCount(); app++) {
+      String appId = current.getAppId(app);
+      int previousApp = previous.findApp(appId);
+      if (previousApp < 0) {
+        delta.addedApps.add(appId);
+      } else if (previous.getAppFingerprint(previousApp) != current.getAppFingerprint(app)) {
+        delta.changedApps.add(appId);
+      }
+    }
+    for (int app = 0; app < previous.getAppCount(); app++) {
+      String appId = previous.getAppId(app);
+      if (current.findApp(appId) < 0) {
+        delta.removedApps.add(appId);
+      }
+    }
+    for (int adUnit = 0; adUnit < current.getAdUnitCount(); adUnit++) {
+      String adUnitId = current.getAdUnitId(adUnit);
+      int previousAdUnit = previous.findAdUnit(adUnitId);
+      if (previousAdUnit < 0) {
+        delta.addedAdUnits.add(adUnitId);
+      } else if (previous.getAdUnitFingerprint(previousAdUnit)
+          != current.getAdUnitFingerprint(adUnit)) {
+        delta.changedAdUnits.add(adUnitId);
+      }
+    }
+    for (int adUnit = 0; adUnit < previous.getAdUnitCount(); adUnit++) {
+      String adUnitId = previous.getAdUnitId(adUnit);
+      if (current.findAdUnit(adUnitId) < 0) {
+        delta.removedAdUnits.add(adUnitId);
+      }
+    }
+    return delta;
+  }
+
+  public List<String> getAddedApps() {
+    return Collections.unmodifiableList(addedApps);
+  }
+
+  public List<String> getRemovedApps() {
+    return Collections.unmodifiableList(removedApps);
+  }
+
+  public List<String> getChangedApps() {
+    return Collections.unmodifiableList(changedApps);
+  }
+
+  public List<String> getAddedAdUnits() {
+    return Collections.unmodifiableList(addedAdUnits);
+  }
+
+  public List<String> getRemovedAdUnits() {
+    return Collections.unmodifiableList(removedAdUnits);
+  }
+
+  public List<String> getChangedAdUnits() {
+    return Collections.unmodifiableList(changedAdUnits);
+  }
+
+  /** Returns the later snapshot, which the delta leads to. */
+  public InventoryIndex getCurrent() {
+    return current;
+  }
+
+  /** Returns whether the snapshots hold the same inventory. */
+  public boolean isEmpty() {
+    return addedApps.isEmpty()
+        && removedApps.isEmpty()
+        && changedApps.isEmpty()
+        && addedAdUnits.isEmpty()
+        && removedAdUnits.isEmpty()
+        && changedAdUnits.isEmpty();
+  }
+}
@@ -0,0 +1,460 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.inventory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.services.admob.v1.model.AdUnit;
+import com.google.api.services.admob.v1.model.App;
+import com.google.api.services.admob.v1.model.AppLinkedAppInfo;
+import com.google.api.services.admob.v1.model.AppManualAppInfo;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * An immutable index of the apps and ad units of an account, for looking up inventory metadata by
+ * the app and ad unit IDs found in report rows.
+ *
+ * <p>The index is a single buffer laid out as an open-addressing hash table per kind of record,
+ * keyed by a {@code long} derived from the ID, followed by fixed-width records and a pool of
+ * strings. Looking up an ID decodes the stored ID once, then compares it without allocating. The
+ * same layout is written as a snapshot file, which {@link #load} memory-maps: loading does not
+ * parse anything, and strings are only decoded when first read.
+ *
+ * <p>Each record also holds a fingerprint of its fields, so that {@link InventoryDelta#between}
+ * finds the apps and ad units added, removed or changed between two snapshots without comparing
+ * their fields.
+ */
+public final class InventoryIndex {
+
+  private static final int MAGIC = 0x414d4958; // "AMIX"
+  private static final int VERSION = 1;
+
+  // Header fields, as byte offsets.
+  private static final int APP_COUNT = 8;
+  private static final int AD_UNIT_COUNT = 12;
+  private static final int APP_SLOTS = 16;
+  private static final int AD_UNIT_SLOTS = 20;
+  private static final int APP_RECORDS = 24;
+  private static final int AD_UNIT_RECORDS = 28;
+  private static final int STRINGS = 32;
+  private static final int HEADER_SIZE = 36;
+
+  /** A slot holds the key of an ID and the number of its record, or -1 if the slot is empty. */
+  private static final int SLOT_SIZE = 12;
+
+  /** Records hold a fingerprint, then one string reference per field and, for ad units, the app. */
+  private static final int APP_ID = 0;
+  private static final int APP_DISPLAY_NAME = 1;
+  private static final int APP_PLATFORM = 2;
+  private static final int APP_STORE_ID = 3;
+  private static final int APP_FIELDS = 4;
+
+  private static final int AD_UNIT_ID = 0;
+  private static final int AD_UNIT_DISPLAY_NAME = 1;
+  private static final int AD_UNIT_FORMAT = 2;
+  private static final int AD_UNIT_AD_TYPES = 3;
+  private static final int AD_UNIT_FIELDS = 4;
+
+  private static final int APP_RECORD_SIZE = 8 + 4 * APP_FIELDS;
+  private static final int AD_UNIT_RECORD_SIZE = 8 + 4 * AD_UNIT_FIELDS + 4;
+
+  private final ByteBuffer buffer;
+  private final int appCount;
+  private final int adUnitCount;
+  private final int appSlots;
+  private final int adUnitSlots;
+  private final int appRecords;
+  private final int adUnitRecords;
+  private final int appSlotMask;
+  private final int adUnitSlotMask;
+
+  /** The strings decoded so far, per record and field. */
+  private final String[] appStrings;
+
+  private final String[] adUnitStrings;
+
+  private InventoryIndex(ByteBuffer buffer) throws IOException {
+    if (buffer.limit() < HEADER_SIZE
+        || buffer.getInt(0) != MAGIC
+        || buffer.getInt(4) != VERSION) {
+      throw new IOException("Not an inventory snapshot, or from an unsupported version.");
+    }
+    this.buffer = buffer;
+    appCount = buffer.getInt(APP_COUNT);
+    adUnitCount = buffer.getInt(AD_UNIT_COUNT);
+    appSlots = buffer.getInt(APP_SLOTS);
+    adUnitSlots = buffer.getInt(AD_UNIT_SLOTS);
+    appRecords = buffer.getInt(APP_RECORDS);
+    adUnitRecords = buffer.getInt(AD_UNIT_RECORDS);
+    appSlotMask = (adUnitSlots - appSlots) / SLOT_SIZE - 1;
+    adUnitSlotMask = (appRecords - adUnitSlots) / SLOT_SIZE - 1;
+    appStrings = new String[appCount * APP_FIELDS];
+    adUnitStrings = new String[adUnitCount * AD_UNIT_FIELDS];
+  }
+
+  /**
+   * Builds an index of apps and ad units, as listed by {@code accounts.apps.list} and {@code
+   * accounts.adUnits.list}. Apps and ad units listed more than once are only indexed once.
+   */
+  public static InventoryIndex build(List<App> apps, List<AdUnit> adUnits) {
+    ByteArrayOutputStream strings = new ByteArrayOutputStream();
+    int appSlotCount = slotCount(apps.size());
+    int adUnitSlotCount = slotCount(adUnits.size());
+    int appSlots = HEADER_SIZE;
+    int adUnitSlots = appSlots + appSlotCount * SLOT_SIZE;
+    int appRecords = adUnitSlots + adUnitSlotCount * SLOT_SIZE;
+    int adUnitRecords = appRecords + apps.size() * APP_RECORD_SIZE;
+    int stringsStart = adUnitRecords + adUnits.size() * AD_UNIT_RECORD_SIZE;
+
+    // Records are written to their own buffer first, as the string pool size is not known yet.
+    ByteBuffer tables = ByteBuffer.allocate(stringsStart);
+    clearSlots(tables, appSlots, appSlotCount);
+    clearSlots(tables, adUnitSlots, adUnitSlotCount);
+
+    Map<String, Integer> appNumbers = new HashMap<>();
+    int appCount = 0;
+    for (App app : apps) {
+      String appId = app.getAppId();
+      if (appId == null || appNumbers.putIfAbsent(appId, appCount) != null) {
+        continue;
+      }
+      AppLinkedAppInfo linkedAppInfo = app.getLinkedAppInfo();
+      AppManualAppInfo manualAppInfo = app.getManualAppInfo();
+      String displayName =
+          linkedAppInfo != null && linkedAppInfo.getDisplayName() != null
+              ? linkedAppInfo.getDisplayName()
+              : manualAppInfo == null ? null : manualAppInfo.getDisplayName();
+      String[] fields = new String[APP_FIELDS];
+      fields[APP_ID] = appId;
+      fields[APP_DISPLAY_NAME] = displayName;
+      fields[APP_PLATFORM] = app.getPlatform();
+      fields[APP_STORE_ID] = linkedAppInfo == null ? null : linkedAppInfo.getAppStoreId();
+      int record = appRecords + appCount * APP_RECORD_SIZE;
+      writeRecord(tables, record, fields, strings);
+      insert(tables, appSlots, appSlotCount, appId, appCount);
+      appCount++;
+    }
+
+    Set<String> adUnitIds = new HashSet<>();
+    int adUnitCount = 0;
+    for (AdUnit adUnit : adUnits) {
+      String adUnitId = adUnit.getAdUnitId();
+      if (adUnitId == null || !adUnitIds.add(adUnitId)) {
+        continue;
+      }
+      String[] fields = new String[AD_UNIT_FIELDS];
+      fields[AD_UNIT_ID] = adUnitId;
+      fields[AD_UNIT_DISPLAY_NAME] = adUnit.getDisplayName();
+      fields[AD_UNIT_FORMAT] = adUnit.getAdFormat();
+      fields[AD_UNIT_AD_TYPES] =
+          adUnit.getAdTypes() == null ? null : String.join(",", adUnit.getAdTypes());
+      int record = adUnitRecords + adUnitCount * AD_UNIT_RECORD_SIZE;
+      writeRecord(tables, record, fields, strings);
+      int app = appNumbers.getOrDefault(adUnit.getAppId(), -1);
+      tables.putInt(record + 8 + 4 * AD_UNIT_FIELDS, app);
+      // Mix the app into the fingerprint, so that moving an ad unit to another app changes it.
+      tables.putLong(record, tables.getLong(record) * 31 + hash(adUnit.getAppId()));
+      insert(tables, adUnitSlots, adUnitSlotCount, adUnitId, adUnitCount);
+      adUnitCount++;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(stringsStart + strings.size());
+    tables.clear();
+    buffer.put(tables);
+    buffer.put(strings.toByteArray());
+    buffer.putInt(0, MAGIC);
+    buffer.putInt(4, VERSION);
+    buffer.putInt(APP_COUNT, appCount);
+    buffer.putInt(AD_UNIT_COUNT, adUnitCount);
+    buffer.putInt(APP_SLOTS, appSlots);
+    buffer.putInt(AD_UNIT_SLOTS, adUnitSlots);
+    buffer.putInt(APP_RECORDS, appRecords);
+    buffer.putInt(AD_UNIT_RECORDS, adUnitRecords);
+    buffer.putInt(STRINGS, stringsStart);
+    buffer.clear();
+    try {
+      return new InventoryIndex(buffer);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Loads an index from a snapshot file written by {@link #write}. The file is memory-mapped, so
+   * loading takes constant time and the operating system pages in what lookups touch.
+   */
+  public static InventoryIndex load(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new InventoryIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /** Writes the index to a snapshot file, replacing it atomically. */
+  public void write(Path file) throws IOException {
+    Path directory = file.toAbsolutePath().getParent();
+    Path temporaryFile = Files.createTempFile(directory, "inventory", ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+        ByteBuffer contents = buffer.duplicate();
+        contents.clear();
+        while (contents.hasRemaining()) {
+          channel.write(contents);
+        }
+      }
+      Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  public int getAppCount() {
+    return appCount;
+  }
+
+  public int getAdUnitCount() {
+    return adUnitCount;
+  }
+
+  /** Returns the number of the app with the given ID, or -1 if it is not indexed. */
+  public int findApp(CharSequence appId) {
+    return find(appSlots, appSlotMask, appCount, true, appId);
+  }
+
+  /** Returns the number of the ad unit with the given ID, or -1 if it is not indexed. */
+  public int findAdUnit(CharSequence adUnitId) {
+    return find(adUnitSlots, adUnitSlotMask, adUnitCount, false, adUnitId);
+  }
+
+  public String getAppId(int app) {
+    return appString(app, APP_ID);
+  }
+
+  /** Returns the app's store display name, or its manually set name if it is not linked. */
+  @Nullable
+  public String getAppDisplayName(int app) {
+    return appString(app, APP_DISPLAY_NAME);
+  }
+
+  @Nullable
+  public String getAppPlatform(int app) {
+    return appString(app, APP_PLATFORM);
+  }
+
+  @Nullable
+  public String getAppStoreId(int app) {
+    return appString(app, APP_STORE_ID);
+  }
+
+  public String getAdUnitId(int adUnit) {
+    return adUnitString(adUnit, AD_UNIT_ID);
+  }
+
+  @Nullable
+  public String getAdUnitDisplayName(int adUnit) {
+    return adUnitString(adUnit, AD_UNIT_DISPLAY_NAME);
+  }
+
+  @Nullable
+  public String getAdUnitFormat(int adUnit) {
+    return adUnitString(adUnit, AD_UNIT_FORMAT);
+  }
+
+  /** Returns the ad unit's ad types, separated by commas. */
+  @Nullable
+  public String getAdUnitAdTypes(int adUnit) {
+    return adUnitString(adUnit, AD_UNIT_AD_TYPES);
+  }
+
+  /** Returns the number of the ad unit's app, or -1 if its app is not indexed. */
+  public int getAdUnitApp(int adUnit) {
+    checkRecord(adUnit, adUnitCount);
+    return buffer.getInt(adUnitRecords + adUnit * AD_UNIT_RECORD_SIZE + 8 + 4 * AD_UNIT_FIELDS);
+  }
+
+  long getAppFingerprint(int app) {
+    checkRecord(app, appCount);
+    return buffer.getLong(appRecords + app * APP_RECORD_SIZE);
+  }
+
+  long getAdUnitFingerprint(int adUnit) {
+    checkRecord(adUnit, adUnitCount);
+    return buffer.getLong(adUnitRecords + adUnit * AD_UNIT_RECORD_SIZE);
+  }
+
+  private String appString(int app, int field) {
+    checkRecord(app, appCount);
+    int index = app * APP_FIELDS + field;
+    String value = appStrings[index];
+    if (value == null) {
+      // Strings are immutable, so racing threads at worst decode the same value twice.
+      value = decode(buffer.getInt(appRecords + app * APP_RECORD_SIZE + 8 + 4 * field));
+      appStrings[index] = value;
+    }
+    return value;
+  }
+
+  private String adUnitString(int adUnit, int field) {
+    checkRecord(adUnit, adUnitCount);
+    int index = adUnit * AD_UNIT_FIELDS + field;
+    String value = adUnitStrings[index];
+    if (value == null) {
+      value = decode(buffer.getInt(adUnitRecords + adUnit * AD_UNIT_RECORD_SIZE + 8 + 4 * field));
+      adUnitStrings[index] = value;
+    }
+    return value;
+  }
+
+  @Nullable
+  private String decode(int reference) {
+    if (reference < 0) {
+      return null;
+    }
+    return decodeAt(buffer, buffer.getInt(STRINGS) + reference);
+  }
+
+  private int find(int slots, int mask, int recordCount, boolean apps, CharSequence id) {
+    long key = key(id);
+    for (int slot = (int) key & mask; ; slot = (slot + 1) & mask) {
+      int position = slots + slot * SLOT_SIZE;
+      int record = buffer.getInt(position + 8);
+      if (record < 0 || record >= recordCount) {
+        return -1;
+      }
+      if (buffer.getLong(position) == key) {
+        // IDs sharing a key, e.g. from different publishers, are told apart by the full ID.
+        String storedId = apps ? getAppId(record) : getAdUnitId(record);
+        if (id instanceof String ? storedId.equals(id) : storedId.contentEquals(id)) {
+          return record;
+        }
+      }
+    }
+  }
+
+  private static void checkRecord(int record, int count) {
+    if (record < 0 || record >= count) {
+      throw new IndexOutOfBoundsException("No record " + record + " among " + count + ".");
+    }
+  }
+
+  /** Returns a power of two large enough to keep the table at most half full. */
+  private static int slotCount(int records) {
+    return Integer.highestOneBit(Math.max(1, records) * 2 - 1) << 1;
+  }
+
+  private static void clearSlots(ByteBuffer tables, int slots, int slotCount) {
+    for (int slot = 0; slot < slotCount; slot++) {
+      tables.putInt(slots + slot * SLOT_SIZE + 8, -1);
+    }
+  }
+
+  private static void insert(ByteBuffer tables, int slots, int slotCount, String id, int record) {
+    long key = key(id);
+    int mask = slotCount - 1;
+    int slot = (int) key & mask;
+    while (tables.getInt(slots + slot * SLOT_SIZE + 8) >= 0) {
+      slot = (slot + 1) & mask;
+    }
+    tables.putLong(slots + slot * SLOT_SIZE, key);
+    tables.putInt(slots + slot * SLOT_SIZE + 8, record);
+  }
+
+  private static void writeRecord(
+      ByteBuffer tables, int record, String[] fields, ByteArrayOutputStream strings) {
+    long fingerprint = 0;
+    for (int field = 0; field < fields.length; field++) {
+      String value = fields[field];
+      fingerprint = fingerprint * 31 + hash(value);
+      if (value == null) {
+        tables.putInt(record + 8 + 4 * field, -1);
+        continue;
+      }
+      byte[] bytes = value.getBytes(UTF_8);
+      tables.putInt(record + 8 + 4 * field, strings.size());
+      strings.write(bytes.length >>> 24);
+      strings.write(bytes.length >>> 16);
+      strings.write(bytes.length >>> 8);
+      strings.write(bytes.length);
+      strings.write(bytes, 0, bytes.length);
+    }
+    tables.putLong(record, fingerprint);
+  }
+
+  private static String decodeAt(ByteBuffer buffer, int offset) {
+    byte[] bytes = new byte[buffer.getInt(offset)];
+    ByteBuffer source = buffer.duplicate();
+    source.position(offset + 4);
+    source.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /**
+   * Returns the key of an app or ad unit ID. IDs end in a number unique to the app or ad unit, as
+   * in "ca-app-pub-XXXXXXXXXXXXXXXX~NNNNNNNNNN", which is cheaper to read than hashing the ID.
+   * Other IDs are hashed.
+   */
+  private static long key(CharSequence id) {
+    int start = id.length();
+    while (start > 0 && id.length() - start < 18 && isDigit(id.charAt(start - 1))) {
+      start--;
+    }
+    if (start == id.length() || start == 0 || !isSeparator(id.charAt(start - 1))) {
+      return hash(id);
+    }
+    long number = 0;
+    for (int i = start; i < id.length(); i++) {
+      number = number * 10 + (id.charAt(i) - '0');
+    }
+    // Spread the number's bits, as consecutive numbers would otherwise fill consecutive slots.
+    number = (number ^ (number >>> 33)) * 0xff51afd7ed558ccdL;
+    number = (number ^ (number >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return number ^ (number >>> 33);
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isSeparator(char c) {
+    return c == '~' || c == '/';
+  }
+
+  /** Returns the 64-bit FNV-1a hash of a string, or 0 for {@code null}. */
+  private static long hash(@Nullable CharSequence value) {
+    if (value == null) {
+      return 0;
+    }
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+    }
+    // FNV-1a mixes its low bits poorly, so fold the high bits in before they pick a slot.
+    return hash ^ (hash >>> 32);
+  }
+}
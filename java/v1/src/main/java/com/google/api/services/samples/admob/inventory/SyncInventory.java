@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.inventory;
+
+import com.google.api.services.admob.v1.AdMob;
+import com.google.api.services.admob.v1.model.AdUnit;
+import com.google.api.services.admob.v1.model.App;
+import com.google.api.services.samples.admob.AdMobFactory;
+import com.google.api.services.samples.admob.adunits.ListAdUnits;
+import com.google.api.services.samples.admob.apps.ListApps;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This example illustrates how to keep a local index of an account's apps and ad units, and find
+ * what changed since the previous run.
+ */
+public class SyncInventory {
+  /* ACCOUNT_NAME should follow the format "accounts/pub-XXXXXXXXXXXXXXXX"
+   * where "pub-XXXXXXXXXXXXXXXX" is your publisher ID
+   * See https://support.google.com/admob/answer/2784578
+   * for instructions on how to find your publisher ID.
+   */
+  private static final String ACCOUNT_NAME = "accounts/pub-XXXXXXXXXXXXXXXX";
+
+  // [START main_body]
+  // The snapshot the index is kept in between runs.
+  private static final Path SNAPSHOT_FILE = Paths.get("inventory.snapshot");
+
+  public static void runExample(AdMob adMob, String accountName) throws Exception {
+    InventoryDelta delta = sync(adMob, accountName, SNAPSHOT_FILE);
+
+    System.out.printf("Added apps: %s%n", delta.getAddedApps());
+    System.out.printf("Removed apps: %s%n", delta.getRemovedApps());
+    System.out.printf("Changed apps: %s%n", delta.getChangedApps());
+    System.out.printf("Added ad units: %s%n", delta.getAddedAdUnits());
+    System.out.printf("Removed ad units: %s%n", delta.getRemovedAdUnits());
+    System.out.printf("Changed ad units: %s%n", delta.getChangedAdUnits());
+  }
+
+  /**
+   * Lists the apps and ad units of an account, compares them with the snapshot of the previous
+   * sync, and replaces the snapshot.
+   *
+   * @param adMob An initialized {@link AdMob} service object.
+   * @param accountName The account to sync the inventory of.
+   * @param snapshotFile The snapshot file, which is created on the first sync.
+   * @return The changes since the previous sync, which lead to the current inventory. On the first
+   *     sync, everything is added.
+   */
+  public static InventoryDelta sync(AdMob adMob, String accountName, Path snapshotFile)
+      throws IOException {
+    List<App> apps = ListApps.listApps(adMob, accountName);
+    List<AdUnit> adUnits = ListAdUnits.listAdUnits(adMob, accountName);
+    InventoryIndex current = InventoryIndex.build(apps, adUnits);
+
+    boolean firstSync = !Files.exists(snapshotFile);
+    InventoryIndex previous =
+        firstSync
+            ? InventoryIndex.build(Collections.emptyList(), Collections.emptyList())
+            : InventoryIndex.load(snapshotFile);
+    InventoryDelta delta = InventoryDelta.between(previous, current);
+    if (firstSync || !delta.isEmpty()) {
+      current.write(snapshotFile);
+    }
+    return delta;
+  }
+  // [END main_body]
+
+  public static void main(String[] args) throws Exception {
+    AdMob adMob = AdMobFactory.getInstance();
+    runExample(adMob, ACCOUNT_NAME);
+  }
+}
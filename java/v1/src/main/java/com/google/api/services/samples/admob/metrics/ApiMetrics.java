@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters and latency histograms of the work done by the samples: API calls, report reading,
+ * pagination, retries and token refreshes.
+ *
+ * <p>Metrics are created on first use, by name, and recorded with a lookup in a concurrent map and
+ * an uncontended increment, so recording stays cheap next to the work being measured. They can be
+ * read with {@link #snapshot}, printed with {@link #print}, or browsed over JMX, e.g. with {@code
+ * jconsole}, once {@link #registerMBean} has been called.
+ */
+public final class ApiMetrics {
+
+  /** The name the metrics are registered under with JMX. */
+  public static final String OBJECT_NAME = "com.google.api.services.samples.admob:type=ApiMetrics";
+
+  // Counter names.
+  public static final String BYTES_RECEIVED = "http.bytesReceived";
+  public static final String THROTTLED = "http.throttled";
+  public static final String RETRIES = "http.retries";
+  public static final String PAGES_FETCHED = "list.pagesFetched";
+  public static final String REPORT_ROWS = "report.rows";
+
+  // Histogram names.
+  public static final String REPORT_READ = "report.read";
+  public static final String TOKEN_REFRESH = "auth.tokenRefresh";
+
+  /** The prefix of the per-method histograms of API call latency, up to the response headers. */
+  public static final String HTTP_PREFIX = "http ";
+
+  private static final ApiMetrics GLOBAL = new ApiMetrics();
+
+  private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+  private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+  /** Returns the metrics shared by the whole process. */
+  public static ApiMetrics global() {
+    return GLOBAL;
+  }
+
+  /** Adds to a counter. */
+  public void count(String name, long delta) {
+    counter(name).add(delta);
+  }
+
+  /** Records a duration, in nanoseconds, in a histogram. */
+  public void time(String name, long nanos) {
+    histogram(name).record(nanos);
+  }
+
+  public LongAdder counter(String name) {
+    // Look up first, as computeIfAbsent locks even when the metric exists on Java 8.
+    LongAdder counter = counters.get(name);
+    return counter != null ? counter : counters.computeIfAbsent(name, key -> new LongAdder());
+  }
+
+  public LatencyHistogram histogram(String name) {
+    LatencyHistogram histogram = histograms.get(name);
+    return histogram != null
+        ? histogram
+        : histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+  }
+
+  /**
+   * Records that a report was read.
+   *
+   * @param rows The number of rows read.
+   * @param nanos The time from opening the report to closing it.
+   */
+  public void recordReportRead(long rows, long nanos) {
+    count(REPORT_ROWS, rows);
+    time(REPORT_READ, nanos);
+  }
+
+  /**
+   * Returns the current value of every metric, by name. Counters have a single value; histograms
+   * have their count, mean, 50th, 90th and 99th percentile and maximum, in milliseconds. The rate
+   * at which report rows are read is derived from the report metrics.
+   */
+  public SortedMap<String, Number> snapshot() {
+    SortedMap<String, Number> values = new TreeMap<>();
+    counters.forEach((name, counter) -> values.put(name, counter.sum()));
+    histograms.forEach(
+        (name, histogram) -> {
+          LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+          values.put(name + ".count", snapshot.getCount());
+          values.put(name + ".meanMs", millis(snapshot.getMean()));
+          values.put(name + ".p50Ms", millis(snapshot.getValueAtPercentile(50)));
+          values.put(name + ".p90Ms", millis(snapshot.getValueAtPercentile(90)));
+          values.put(name + ".p99Ms", millis(snapshot.getValueAtPercentile(99)));
+          values.put(name + ".maxMs", millis(snapshot.getMax()));
+        });
+    LatencyHistogram reportRead = histograms.get(REPORT_READ);
+    LongAdder reportRows = counters.get(REPORT_ROWS);
+    if (reportRead != null && reportRows != null) {
+      LatencyHistogram.Snapshot snapshot = reportRead.snapshot();
+      double seconds = snapshot.getMean() * snapshot.getCount() / TimeUnit.SECONDS.toNanos(1);
+      values.put("report.rowsPerSecond", seconds == 0 ? 0 : reportRows.sum() / seconds);
+    }
+    return values;
+  }
+
+  /** Prints every metric, one per line. */
+  public void print(PrintStream out) {
+    snapshot().forEach((name, value) -> out.printf("%s: %s%n", name, value));
+  }
+
+  /**
+   * Registers the metrics with the platform MBean server under {@link #OBJECT_NAME}, unless they
+   * already are.
+   */
+  public synchronized void registerMBean() {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      server.registerMBean(new MetricsMBean(), new ObjectName(OBJECT_NAME));
+    } catch (InstanceAlreadyExistsException e) {
+      // Registered earlier.
+    } catch (JMException e) {
+      throw new IllegalStateException("Failed to register the API metrics with JMX.", e);
+    }
+  }
+
+  private static double millis(double nanos) {
+    return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  /** Exposes each metric as a read-only attribute, as metrics are created while running. */
+  private final class MetricsMBean implements DynamicMBean {
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+      Number value = snapshot().get(attribute);
+      if (value == null) {
+        throw new AttributeNotFoundException(attribute);
+      }
+      return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+      SortedMap<String, Number> snapshot = snapshot();
+      AttributeList list = new AttributeList();
+      for (String attribute : attributes) {
+        if (snapshot.containsKey(attribute)) {
+          list.add(new Attribute(attribute, snapshot.get(attribute)));
+        }
+      }
+      return list;
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+      SortedMap<String, Number> snapshot = snapshot();
+      MBeanAttributeInfo[] attributes =
+          snapshot.entrySet().stream()
+              .map(
+                  entry ->
+                      new MBeanAttributeInfo(
+                          entry.getKey(),
+                          entry.getValue().getClass().getName(),
+                          entry.getKey(),
+                          true,
+                          false,
+                          false))
+              .toArray(MBeanAttributeInfo[]::new);
+      return new MBeanInfo(
+          ApiMetrics.class.getName(),
+          "Metrics of the AdMob API samples.",
+          attributes,
+          null,
+          null,
+          null);
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) {
+      throw new UnsupportedOperationException("The API metrics are read-only.");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+      return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+      throw new UnsupportedOperationException("The API metrics have no operations.");
+    }
+  }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.metrics;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.regex.Pattern;
+
+/**
+ * An {@link HttpTransport} that records the latency, status and size of every response received
+ * through another transport in {@link ApiMetrics}.
+ *
+ * <p>Latency is measured up to the response headers, per method and path, with publisher IDs left
+ * out, e.g. {@code "http POST /v1/accounts/{publisher}/networkReport:generate"}. Each attempt is
+ * recorded, including retries made by the client library, and throttled ({@code 429}) responses
+ * are counted. Bytes are counted as the response body is read off the connection, before it is
+ * decompressed, so streamed reports are counted too.
+ */
+public final class MeteredHttpTransport extends HttpTransport {
+
+  /** The transport method creating requests, which is protected, so it is called reflectively. */
+  private static final Method BUILD_REQUEST;
+
+  static {
+    try {
+      BUILD_REQUEST =
+          HttpTransport.class.getDeclaredMethod("buildRequest", String.class, String.class);
+      BUILD_REQUEST.setAccessible(true);
+    } catch (NoSuchMethodException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private static final Pattern PUBLISHER_ID = Pattern.compile("pub-[0-9]+");
+  private static final int STATUS_CODE_TOO_MANY_REQUESTS = 429;
+
+  private final HttpTransport delegate;
+  private final ApiMetrics metrics;
+
+  /**
+   * @param delegate The transport requests are sent through.
+   * @param metrics The metrics to record the requests in.
+   */
+  public MeteredHttpTransport(HttpTransport delegate, ApiMetrics metrics) {
+    this.delegate = delegate;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public boolean supportsMethod(String method) throws IOException {
+    return delegate.supportsMethod(method);
+  }
+
+  @Override
+  public void shutdown() throws IOException {
+    delegate.shutdown();
+  }
+
+  @Override
+  protected LowLevelHttpRequest buildRequest(String method, String url) throws IOException {
+    LowLevelHttpRequest request;
+    try {
+      request = (LowLevelHttpRequest) BUILD_REQUEST.invoke(delegate, method, url);
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+    String path = PUBLISHER_ID.matcher(new GenericUrl(url).getRawPath()).replaceAll("{publisher}");
+    return new MeteredRequest(request, ApiMetrics.HTTP_PREFIX + method + " " + path);
+  }
+
+  private final class MeteredRequest extends LowLevelHttpRequest {
+    private final LowLevelHttpRequest request;
+    private final String name;
+
+    MeteredRequest(LowLevelHttpRequest request, String name) {
+      this.request = request;
+      this.name = name;
+    }
+
+    @Override
+    public void addHeader(String header, String value) throws IOException {
+      request.addHeader(header, value);
+    }
+
+    @Override
+    public void setTimeout(int connectTimeout, int readTimeout) throws IOException {
+      request.setTimeout(connectTimeout, readTimeout);
+    }
+
+    @Override
+    public void setWriteTimeout(int writeTimeout) throws IOException {
+      request.setWriteTimeout(writeTimeout);
+    }
+
+    @Override
+    public LowLevelHttpResponse execute() throws IOException {
+      request.setContentLength(getContentLength());
+      request.setContentEncoding(getContentEncoding());
+      request.setContentType(getContentType());
+      request.setStreamingContent(getStreamingContent());
+      long start = System.nanoTime();
+      LowLevelHttpResponse response = request.execute();
+      metrics.time(name, System.nanoTime() - start);
+      if (response.getStatusCode() == STATUS_CODE_TOO_MANY_REQUESTS) {
+        metrics.count(ApiMetrics.THROTTLED, 1);
+      }
+      return new MeteredResponse(response);
+    }
+  }
+
+  private final class MeteredResponse extends LowLevelHttpResponse {
+    private final LowLevelHttpResponse response;
+
+    MeteredResponse(LowLevelHttpResponse response) {
+      this.response = response;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+      InputStream content = response.getContent();
+      return content == null ? null : new CountingInputStream(content);
+    }
+
+    @Override
+    public String getContentEncoding() throws IOException {
+      return response.getContentEncoding();
+    }
+
+    @Override
+    public long getContentLength() throws IOException {
+      return response.getContentLength();
+    }
+
+    @Override
+    public String getContentType() throws IOException {
+      return response.getContentType();
+    }
+
+    @Override
+    public String getStatusLine() throws IOException {
+      return response.getStatusLine();
+    }
+
+    @Override
+    public int getStatusCode() throws IOException {
+      return response.getStatusCode();
+    }
+
+    @Override
+    public String getReasonPhrase() throws IOException {
+      return response.getReasonPhrase();
+    }
+
+    @Override
+    public int getHeaderCount() throws IOException {
+      return response.getHeaderCount();
+    }
+
+    @Override
+    public String getHeaderName(int index) throws IOException {
+      return response.getHeaderName(index);
+    }
+
+    @Override
+    public String getHeaderValue(int index) throws IOException {
+      return response.getHeaderValue(index);
+    }
+
+    @Override
+    public void disconnect() throws IOException {
+      response.disconnect();
+    }
+  }
+
+  /** Counts the bytes read locally, and adds them to the metrics in chunks and when closed. */
+  private final class CountingInputStream extends FilterInputStream {
+    private static final long FLUSH_BYTES = 1024 * 1024;
+
+    private long unrecorded;
+
+    CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        counted(1);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      int read = super.read(buffer, offset, length);
+      if (read > 0) {
+        counted(read);
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = super.skip(n);
+      counted(skipped);
+      return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+      super.close();
+    }
+
+    private void counted(long bytes) {
+      unrecorded += bytes;
+      if (unrecorded >= FLUSH_BYTES) {
+        flush();
+      }
+    }
+
+    private void flush() {
+      metrics.count(ApiMetrics.BYTES_RECEIVED, unrecorded);
+      unrecorded = 0;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.services.admob.v1.AdMob;
+import com.google.api.services.admob.v1.model.GenerateMediationReportRequest;
+import com.google.api.services.admob.v1.model.GenerateNetworkReportRequest;
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
+
+/** A {@link ReportClient} that issues a single AdMob API request per report. */
+public final class AdMobReportClient implements ReportClient {
+
+  private final AdMob adMob;
+  @Nullable private final ForkJoinPool parsingPool;
+
+  public AdMobReportClient(AdMob adMob) {
+    this(adMob, null);
+  }
+
+  /**
+   * @param adMob The client to request reports with.
+   * @param parsingPool The pool to parse report responses on in parallel, or {@code null} to parse
+   *     them on the calling thread. Parallel parsing only pays off for reports of many megabytes.
+   */
+  public AdMobReportClient(AdMob adMob, @Nullable ForkJoinPool parsingPool) {
+    this.adMob = adMob;
+    this.parsingPool = parsingPool;
+  }
+
+  @Override
+  public Report generateNetworkReport(String accountName, NetworkReportSpec reportSpec)
+      throws IOException {
+    GenerateNetworkReportRequest request =
+        new GenerateNetworkReportRequest().setReportSpec(reportSpec);
+    return read(
+        adMob.accounts().networkReport().generate(accountName, request).executeAsInputStream());
+  }
+
+  @Override
+  public Report generateMediationReport(String accountName, MediationReportSpec reportSpec)
+      throws IOException {
+    GenerateMediationReportRequest request =
+        new GenerateMediationReportRequest().setReportSpec(reportSpec);
+    return read(
+        adMob.accounts().mediationReport().generate(accountName, request).executeAsInputStream());
+  }
+
+  private Report read(InputStream response) throws IOException {
+    return parsingPool == null ? Report.read(response) : Report.read(response, parsingPool);
+  }
+}
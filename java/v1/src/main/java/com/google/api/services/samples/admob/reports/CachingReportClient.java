@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.services.admob.v1.model.DateRange;
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import com.google.api.services.samples.admob.util.DateUtils;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ReportClient} that keeps reports in an on-disk cache, keyed by the canonical form of the
+ * report request (see {@link ReportSpecKey}).
+ *
+ * <p>AdMob keeps updating the data of the most recent days, so reports covering today or yesterday
+ * are only served from the cache for a short time to live. Reports whose date range ends earlier
+ * only cover finalized days and never expire. When the cache grows past its maximum size, the least
+ * recently used reports are evicted until it is back under 90% of it.
+ */
+public final class CachingReportClient implements ReportClient {
+
+  /** The number of most recent days whose data may still change. */
+  private static final int VOLATILE_DAYS = 2;
+
+  private static final String FILE_SUFFIX = ".report";
+
+  /** The share of the maximum size eviction frees the cache down to, so it does not run often. */
+  private static final double EVICTION_TARGET = 0.9;
+
+  private final ReportClient delegate;
+  private final Path directory;
+  private final long maxSizeBytes;
+  private final Duration volatileTimeToLive;
+  private final Clock clock;
+
+  /**
+   * The total size of the cached reports, kept up to date by each write and deletion, and recounted
+   * whenever it exceeds the maximum size in case other processes share the directory.
+   */
+  private long totalSize;
+
+  /**
+   * @param delegate The client used to generate reports missing from the cache.
+   * @param directory The directory the cache is stored in.
+   * @param maxSizeBytes The maximum total size of the cached reports.
+   * @param volatileTimeToLive How long reports covering the most recent days stay fresh.
+   * @param clock The clock used to decide which days are finalized and when reports expire.
+   */
+  public CachingReportClient(
+      ReportClient delegate,
+      Path directory,
+      long maxSizeBytes,
+      Duration volatileTimeToLive,
+      Clock clock)
+      throws IOException {
+    this.delegate = delegate;
+    this.directory = Files.createDirectories(directory);
+    this.maxSizeBytes = maxSizeBytes;
+    this.volatileTimeToLive = volatileTimeToLive;
+    this.clock = clock;
+    this.totalSize = listFiles(new ArrayList<>());
+  }
+
+  @Override
+  public Report generateNetworkReport(String accountName, NetworkReportSpec reportSpec)
+      throws IOException {
+    Path file = directory.resolve(ReportSpecKey.of(accountName, reportSpec) + FILE_SUFFIX);
+    boolean volatileData = isVolatile(reportSpec.getDateRange(), reportSpec.getTimeZone());
+    Report report = read(file, volatileData);
+    if (report == null) {
+      report = delegate.generateNetworkReport(accountName, reportSpec);
+      write(file, report);
+    }
+    return report;
+  }
+
+  @Override
+  public Report generateMediationReport(String accountName, MediationReportSpec reportSpec)
+      throws IOException {
+    Path file = directory.resolve(ReportSpecKey.of(accountName, reportSpec) + FILE_SUFFIX);
+    boolean volatileData = isVolatile(reportSpec.getDateRange(), reportSpec.getTimeZone());
+    Report report = read(file, volatileData);
+    if (report == null) {
+      report = delegate.generateMediationReport(accountName, reportSpec);
+      write(file, report);
+    }
+    return report;
+  }
+
+  /**
+   * Returns whether a date range includes days whose data may still change. When the report uses
+   * the account's default time zone, which is not known here, the latest time zone is assumed.
+   */
+  private boolean isVolatile(DateRange dateRange, @Nullable String timeZone) {
+    ZoneId zone = timeZone == null ? ZoneOffset.MAX : ZoneId.of(timeZone);
+    LocalDate firstVolatileDay = LocalDate.now(clock.withZone(zone)).minusDays(VOLATILE_DAYS - 1);
+    return !DateUtils.toLocalDate(dateRange.getEndDate()).isBefore(firstVolatileDay);
+  }
+
+  /** Reads a cached report, or returns {@code null} if it is missing or expired. */
+  @Nullable
+  private Report read(Path file, boolean volatileData) throws IOException {
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+      DataInputStream data = new DataInputStream(in);
+      long createdMillis = data.readLong();
+      if (volatileData && clock.millis() - createdMillis > volatileTimeToLive.toMillis()) {
+        return null;
+      }
+      Report report = ReportCodec.read(data);
+      // Record the access, so that least recently used reports are evicted first.
+      Files.setLastModifiedTime(file, FileTime.fromMillis(clock.millis()));
+      return report;
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException | RuntimeException e) {
+      // Treat unreadable entries, e.g. from an older format or corrupted on disk, as missing.
+      delete(file);
+      return null;
+    }
+  }
+
+  private void write(Path file, Report report) throws IOException {
+    // Write to a temporary file first, so that concurrent readers never see a partial report.
+    Path temporaryFile = Files.createTempFile(directory, "report", ".tmp");
+    try {
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeLong(clock.millis());
+        ReportCodec.write(report, data);
+      }
+      long size = Files.size(temporaryFile);
+      long replacedSize = sizeOf(file);
+      Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+      if (addSize(size - replacedSize) > maxSizeBytes) {
+        evict();
+      }
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  /** Deletes a cached report, if it still exists. */
+  private void delete(Path file) throws IOException {
+    long size = sizeOf(file);
+    if (Files.deleteIfExists(file)) {
+      addSize(-size);
+    }
+  }
+
+  private synchronized long addSize(long delta) {
+    totalSize += delta;
+    return totalSize;
+  }
+
+  /**
+   * Deletes the least recently used reports until the cache fits in its eviction target. The
+   * directory is only listed here, to recount the size and order the reports by last use.
+   */
+  private synchronized void evict() throws IOException {
+    List<Path> files = new ArrayList<>();
+    totalSize = listFiles(files);
+    if (totalSize <= maxSizeBytes) {
+      return;
+    }
+    long targetSize = (long) (maxSizeBytes * EVICTION_TARGET);
+    files.sort(Comparator.comparing(CachingReportClient::lastModifiedTime));
+    for (Path file : files) {
+      if (totalSize <= targetSize) {
+        break;
+      }
+      long size = sizeOf(file);
+      if (Files.deleteIfExists(file)) {
+        totalSize -= size;
+      }
+    }
+  }
+
+  /** Adds the cached reports to a list, and returns their total size. */
+  private long listFiles(List<Path> files) throws IOException {
+    long size = 0;
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+      for (Path file : stream) {
+        files.add(file);
+        size += sizeOf(file);
+      }
+    }
+    return size;
+  }
+
+  /** Returns the size of a file, or 0 if it was deleted, e.g. by a concurrent eviction. */
+  private static long sizeOf(Path file) throws IOException {
+    try {
+      return Files.size(file);
+    } catch (NoSuchFileException e) {
+      return 0;
+    }
+  }
+
+  private static FileTime lastModifiedTime(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException e) {
+      return FileTime.fromMillis(0);
+    }
+  }
+}
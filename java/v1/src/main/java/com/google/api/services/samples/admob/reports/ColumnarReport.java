@@ -0,0 +1,341 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.admob.v1.model.ReportRowDimensionValue;
+import com.google.api.services.admob.v1.model.ReportRowMetricValue;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Holds report rows column by column, using primitive arrays instead of one object per value.
+ *
+ * <p>Each dimension column stores an {@code int} code per row, indexing into a dictionary of the
+ * distinct values (and display labels) of that dimension. Each metric column stores a {@code
+ * long} per row for integer and micros metrics, or a {@code double} per row for double metrics.
+ * A row with five dimensions and four metrics takes about 50 bytes, and aggregating a column is a
+ * sequential scan over a single array.
+ */
+public final class ColumnarReport {
+
+  /** The type of the values of a metric column. */
+  public enum MetricType {
+    /** Integer values, such as IMPRESSIONS or CLICKS. */
+    INTEGER,
+    /** Micros values, such as ESTIMATED_EARNINGS. */
+    MICROS,
+    /** Double values, such as MATCH_RATE. */
+    DOUBLE;
+
+    /**
+     * Returns the type the API reports a metric in. Metrics not known to be micros or doubles,
+     * including any added after this sample, are taken to be integers.
+     *
+     * @param metric The name of the metric, e.g. MATCH_RATE.
+     */
+    public static MetricType of(String metric) {
+      if (MICROS_METRICS.contains(metric)) {
+        return MICROS;
+      } else if (DOUBLE_METRICS.contains(metric)) {
+        return DOUBLE;
+      }
+      return INTEGER;
+    }
+  }
+
+  /**
+   * The metrics reported in micros. Of the ratio metrics (see {@link ReportRollup}), OBSERVED_ECPM
+   * and IMPRESSION_RPM are amounts of currency, so they are micros rather than doubles.
+   */
+  private static final ImmutableSet<String> MICROS_METRICS =
+      ImmutableSet.of("ESTIMATED_EARNINGS", "OBSERVED_ECPM", "IMPRESSION_RPM");
+
+  /** The metrics reported as doubles. */
+  private static final ImmutableSet<String> DOUBLE_METRICS =
+      ImmutableSet.of("MATCH_RATE", "SHOW_RATE", "IMPRESSION_CTR");
+
+  private final List<String> dimensions;
+  private final List<String> metrics;
+  private final int rowCount;
+  private final int[][] dimensionCodes;
+  private final Dictionary[] dictionaries;
+  private final MetricType[] metricTypes;
+  private final long[][] longMetrics;
+  private final double[][] doubleMetrics;
+
+  private ColumnarReport(Builder builder) {
+    this.dimensions = Collections.unmodifiableList(new ArrayList<>(builder.dimensions));
+    this.metrics = Collections.unmodifiableList(new ArrayList<>(builder.metrics));
+    this.rowCount = builder.rowCount;
+    this.dictionaries = builder.dictionaries;
+    this.metricTypes = builder.metricTypes;
+    this.dimensionCodes = new int[dimensions.size()][];
+    for (int i = 0; i < dimensionCodes.length; i++) {
+      dimensionCodes[i] = Arrays.copyOf(builder.dimensionCodes[i], rowCount);
+    }
+    this.longMetrics = new long[metrics.size()][];
+    this.doubleMetrics = new double[metrics.size()][];
+    for (int i = 0; i < metricTypes.length; i++) {
+      if (metricTypes[i] == MetricType.DOUBLE) {
+        doubleMetrics[i] = Arrays.copyOf(builder.doubleMetrics[i], rowCount);
+      } else {
+        longMetrics[i] = Arrays.copyOf(builder.longMetrics[i], rowCount);
+      }
+    }
+  }
+
+  /**
+   * Builds a columnar report from a stream of rows, such as a {@link ReportStreamReader}.
+   *
+   * @param dimensions The dimensions to keep, usually those of the report specification.
+   * @param metrics The metrics to keep, usually those of the report specification.
+   * @param rows The rows to add.
+   */
+  public static ColumnarReport build(
+      List<String> dimensions, List<String> metrics, Iterator<ReportRow> rows) {
+    Builder builder = new Builder(dimensions, metrics);
+    rows.forEachRemaining(builder::add);
+    return builder.build();
+  }
+
+  public List<String> getDimensions() {
+    return dimensions;
+  }
+
+  public List<String> getMetrics() {
+    return metrics;
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /** Returns the column index of a dimension, or -1 if the report does not have it. */
+  public int dimensionIndex(String dimension) {
+    return dimensions.indexOf(dimension);
+  }
+
+  /** Returns the column index of a metric, or -1 if the report does not have it. */
+  public int metricIndex(String metric) {
+    return metrics.indexOf(metric);
+  }
+
+  /** Returns the dictionary code of a dimension value in a row. */
+  public int dimensionCode(int dimension, int row) {
+    return dimensionCodes[dimension][row];
+  }
+
+  /** Returns the number of distinct values of a dimension. */
+  public int dimensionCardinality(int dimension) {
+    return dictionaries[dimension].values.size();
+  }
+
+  /** Returns the dimension value with the given dictionary code. */
+  @Nullable
+  public String dimensionValue(int dimension, int code) {
+    return dictionaries[dimension].values.get(code);
+  }
+
+  /** Returns the display label of the dimension value with the given dictionary code. */
+  @Nullable
+  public String dimensionLabel(int dimension, int code) {
+    return dictionaries[dimension].labels.get(code);
+  }
+
+  /**
+   * Returns the dictionary code of a dimension value, or -1 if no row has it.
+   *
+   * @param dimension The column index of the dimension.
+   * @param value The dimension value.
+   */
+  public int dimensionCode(int dimension, @Nullable String value) {
+    Integer code = dictionaries[dimension].codes.get(value);
+    return code == null ? -1 : code;
+  }
+
+  public MetricType metricType(int metric) {
+    return metricTypes[metric];
+  }
+
+  /** Returns an integer or micros metric value. */
+  public long longMetric(int metric, int row) {
+    return longMetrics[metric][row];
+  }
+
+  /** Returns a double metric value. */
+  public double doubleMetric(int metric, int row) {
+    return doubleMetrics[metric][row];
+  }
+
+  /** Returns any metric value as a double. Micros values are returned unscaled. */
+  public double metricAsDouble(int metric, int row) {
+    return metricTypes[metric] == MetricType.DOUBLE
+        ? doubleMetrics[metric][row]
+        : longMetrics[metric][row];
+  }
+
+  /** Returns the sum of an integer or micros metric over all rows. */
+  public long sumLongMetric(int metric) {
+    long sum = 0;
+    for (long value : longMetrics[metric]) {
+      sum += value;
+    }
+    return sum;
+  }
+
+  /** Returns the dimension codes of all rows. The array must not be modified. */
+  int[] dimensionCodes(int dimension) {
+    return dimensionCodes[dimension];
+  }
+
+  /** Returns the values of an integer or micros metric. The array must not be modified. */
+  long[] longMetrics(int metric) {
+    return longMetrics[metric];
+  }
+
+  /** Returns the values of a double metric. The array must not be modified. */
+  double[] doubleMetrics(int metric) {
+    return doubleMetrics[metric];
+  }
+
+  /** The distinct values of a dimension, and their display labels. */
+  private static final class Dictionary {
+    final Map<String, Integer> codes = new HashMap<>();
+    final List<String> values = new ArrayList<>();
+    final List<String> labels = new ArrayList<>();
+
+    int encode(@Nullable ReportRowDimensionValue value) {
+      String key = value == null ? null : value.getValue();
+      Integer code = codes.get(key);
+      if (code == null) {
+        code = values.size();
+        codes.put(key, code);
+        values.add(key);
+        labels.add(value == null ? null : value.getDisplayLabel());
+      }
+      return code;
+    }
+  }
+
+  /** Adds rows one at a time to a columnar report. */
+  public static final class Builder {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final List<String> dimensions;
+    private final List<String> metrics;
+    private final Dictionary[] dictionaries;
+    private final MetricType[] metricTypes;
+    private int[][] dimensionCodes;
+    private long[][] longMetrics;
+    private double[][] doubleMetrics;
+    private int capacity = INITIAL_CAPACITY;
+    private int rowCount;
+
+    public Builder(List<String> dimensions, List<String> metrics) {
+      this.dimensions = dimensions;
+      this.metrics = metrics;
+      this.dictionaries = new Dictionary[dimensions.size()];
+      this.dimensionCodes = new int[dimensions.size()][capacity];
+      for (int i = 0; i < dictionaries.length; i++) {
+        dictionaries[i] = new Dictionary();
+      }
+      this.metricTypes = new MetricType[metrics.size()];
+      this.longMetrics = new long[metrics.size()][capacity];
+      this.doubleMetrics = new double[metrics.size()][];
+    }
+
+    public Builder add(ReportRow row) {
+      if (rowCount == capacity) {
+        grow();
+      }
+      Map<String, ReportRowDimensionValue> dimensionValues = row.getDimensionValues();
+      for (int i = 0; i < dictionaries.length; i++) {
+        dimensionCodes[i][rowCount] =
+            dictionaries[i].encode(
+                dimensionValues == null ? null : dimensionValues.get(dimensions.get(i)));
+      }
+      Map<String, ReportRowMetricValue> metricValues = row.getMetricValues();
+      for (int i = 0; i < metricTypes.length; i++) {
+        ReportRowMetricValue value = metricValues == null ? null : metricValues.get(metrics.get(i));
+        if (value == null) {
+          continue;
+        } else if (value.getIntegerValue() != null) {
+          setType(i, MetricType.INTEGER);
+          longMetrics[i][rowCount] = value.getIntegerValue();
+        } else if (value.getMicrosValue() != null) {
+          setType(i, MetricType.MICROS);
+          longMetrics[i][rowCount] = value.getMicrosValue();
+        } else if (value.getDoubleValue() != null) {
+          setType(i, MetricType.DOUBLE);
+          doubleMetrics[i][rowCount] = value.getDoubleValue();
+        }
+      }
+      rowCount++;
+      return this;
+    }
+
+    public ColumnarReport build() {
+      for (int i = 0; i < metricTypes.length; i++) {
+        // Metrics without any value default to integers of zero.
+        if (metricTypes[i] == null) {
+          metricTypes[i] = MetricType.INTEGER;
+        }
+      }
+      return new ColumnarReport(this);
+    }
+
+    /** Records the type of a metric column the first time one of its values is seen. */
+    private void setType(int metric, MetricType type) {
+      if (metricTypes[metric] == type) {
+        return;
+      } else if (metricTypes[metric] != null) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Metric %s has values of both %s and %s types.",
+                metrics.get(metric), metricTypes[metric], type));
+      }
+      metricTypes[metric] = type;
+      if (type == MetricType.DOUBLE) {
+        doubleMetrics[metric] = new double[capacity];
+        longMetrics[metric] = null;
+      }
+    }
+
+    private void grow() {
+      capacity *= 2;
+      for (int i = 0; i < dimensionCodes.length; i++) {
+        dimensionCodes[i] = Arrays.copyOf(dimensionCodes[i], capacity);
+      }
+      for (int i = 0; i < metricTypes.length; i++) {
+        if (longMetrics[i] != null) {
+          longMetrics[i] = Arrays.copyOf(longMetrics[i], capacity);
+        }
+        if (doubleMetrics[i] != null) {
+          doubleMetrics[i] = Arrays.copyOf(doubleMetrics[i], capacity);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.services.admob.v1.AdMob;
+import com.google.api.services.admob.v1.model.GenerateNetworkReportRequest;
+import com.google.api.services.samples.admob.AdMobFactory;
+import com.google.api.services.samples.admob.reports.ReportPassthrough.Compression;
+import com.google.api.services.samples.admob.reports.ReportPassthrough.Result;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * This example illustrates how to save a network report to a file as returned by the API, without
+ * parsing its rows.
+ */
+public class DownloadNetworkReport {
+  /* ACCOUNT_NAME should follow the format "accounts/pub-XXXXXXXXXXXXXXXX"
+   * where "pub-XXXXXXXXXXXXXXXX" is your publisher ID
+   * See https://support.google.com/admob/answer/2784578
+   * for instructions on how to find your publisher ID.
+   */
+  private static final String ACCOUNT_NAME = "accounts/pub-XXXXXXXXXXXXXXXX";
+
+  // [START main_body]
+  // Defines the file the gzip-compressed report is saved to.
+  private static final Path REPORT_FILE = Paths.get("network-report.json.gz");
+
+  public static void runExample(
+      AdMob adMob, String accountName, GenerateNetworkReportRequest request) throws Exception {
+
+    // Get network report.
+    InputStream response =
+        adMob
+            .accounts()
+            .networkReport()
+            .generate(accountName, request)
+            .executeAsInputStream();
+
+    // Copy the response to the file, checking that it holds a complete report.
+    Result result = ReportPassthrough.copy(response, REPORT_FILE, Compression.GZIP);
+
+    System.out.printf(
+        "Saved %d rows (%d bytes) to %s%n",
+        result.getRowCount(), result.getByteCount(), REPORT_FILE.toAbsolutePath());
+    System.out.printf("%s%n", result.getFooter());
+  }
+  // [END main_body]
+
+  public static void main(String[] args) throws Exception {
+    AdMob adMob = AdMobFactory.getInstance();
+
+    // Generate network report request.
+    GenerateNetworkReportRequest request = GenerateNetworkReport.getNetworkReportRequest();
+    runExample(adMob, ACCOUNT_NAME, request);
+  }
+}
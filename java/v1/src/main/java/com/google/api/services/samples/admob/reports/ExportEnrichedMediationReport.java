@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.services.admob.v1.AdMob;
+import com.google.api.services.admob.v1.model.GenerateMediationReportRequest;
+import com.google.api.services.samples.admob.AdMobFactory;
+import com.google.api.services.samples.admob.export.CsvReportExporter;
+import com.google.api.services.samples.admob.export.EnrichingReportExporter;
+import com.google.api.services.samples.admob.export.ReportExportPipeline;
+import com.google.api.services.samples.admob.export.ReportExporter;
+import com.google.api.services.samples.admob.export.ReportSchema;
+import com.google.api.services.samples.admob.inventory.InventoryIndex;
+import com.google.api.services.samples.admob.inventory.SyncInventory;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This example illustrates how to export a mediation report to a CSV file with the name, platform
+ * and store ID of each app added to its rows.
+ */
+public class ExportEnrichedMediationReport {
+  /* ACCOUNT_NAME should follow the format "accounts/pub-XXXXXXXXXXXXXXXX"
+   * where "pub-XXXXXXXXXXXXXXXX" is your publisher ID
+   * See https://support.google.com/admob/answer/2784578
+   * for instructions on how to find your publisher ID.
+   */
+  private static final String ACCOUNT_NAME = "accounts/pub-XXXXXXXXXXXXXXXX";
+
+  // [START main_body]
+  // Defines the file the report is exported to.
+  private static final Path REPORT_FILE = Paths.get("mediation-report.csv");
+
+  // Defines the snapshot of the account's inventory the rows are joined with.
+  private static final Path INVENTORY_FILE = Paths.get("inventory.snapshot");
+
+  public static void runExample(
+      AdMob adMob, String accountName, GenerateMediationReportRequest request) throws Exception {
+
+    // Bring the inventory snapshot up to date, and use the synced inventory for lookups.
+    InventoryIndex inventory = SyncInventory.sync(adMob, accountName, INVENTORY_FILE).getCurrent();
+
+    // Get mediation report.
+    InputStream response =
+        adMob
+            .accounts()
+            .mediationReport()
+            .generate(accountName, request)
+            .executeAsInputStream();
+
+    // Join and write the rows on a separate thread while the response is being read.
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (ReportStreamReader reader = ReportStreamReader.open(response);
+        ReportExporter exporter =
+            new EnrichingReportExporter(
+                new CsvReportExporter(Files.newBufferedWriter(REPORT_FILE, UTF_8), false),
+                inventory)) {
+      long rowCount =
+          ReportExportPipeline.export(
+              reader, ReportSchema.of(request.getReportSpec()), exporter, executor);
+
+      System.out.printf("Exported %d rows to %s%n", rowCount, REPORT_FILE.toAbsolutePath());
+    } finally {
+      executor.shutdown();
+    }
+  }
+  // [END main_body]
+
+  public static void main(String[] args) throws Exception {
+    AdMob adMob = AdMobFactory.getInstance();
+
+    // Generate mediation report request.
+    GenerateMediationReportRequest request =
+        GenerateMediationReport.getMediationReportRequest();
+    runExample(adMob, ACCOUNT_NAME, request);
+  }
+}
@@ -16,13 +16,10 @@
 
 package com.google.api.services.samples.admob.reports;
 
-import com.google.api.client.googleapis.util.Utils;
-import com.google.api.client.json.JsonObjectParser;
 import com.google.api.services.admob.v1.AdMob;
 import com.google.api.services.admob.v1.model.Date;
 import com.google.api.services.admob.v1.model.DateRange;
 import com.google.api.services.admob.v1.model.GenerateMediationReportRequest;
-import com.google.api.services.admob.v1.model.GenerateMediationReportResponse;
 import com.google.api.services.admob.v1.model.MediationReportSpec;
 import com.google.api.services.admob.v1.model.MediationReportSpecDimensionFilter;
 import com.google.api.services.admob.v1.model.MediationReportSpecSortCondition;
@@ -31,11 +28,9 @@ import com.google.api.services.samples.admob.AdMobFactory;
 import com.google.api.services.samples.admob.util.DateUtils;
 import com.google.common.collect.ImmutableList;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 
@@ -61,15 +56,13 @@ public class GenerateMediationReport {
             .generate(accountName, request)
             .executeAsInputStream();
 
-    List<GenerateMediationReportResponse> result =
-        Arrays.asList(
-            new JsonObjectParser(Utils.getDefaultJsonFactory())
-                .parseAndClose(
-                    response, StandardCharsets.UTF_8, GenerateMediationReportResponse[].class));
-
-    // Print each record in the response stream.
-    for (GenerateMediationReportResponse record : result) {
-      System.out.printf("%s%n", record);
+    // Print the header, each row and the footer as they are read from the response stream.
+    try (ReportStreamReader reader = ReportStreamReader.open(response)) {
+      System.out.printf("%s%n", reader.getHeader());
+      while (reader.hasNext()) {
+        System.out.printf("%s%n", reader.next());
+      }
+      System.out.printf("%s%n", reader.getFooter());
     }
   }
 
@@ -16,23 +16,17 @@
 
 package com.google.api.services.samples.admob.reports;
 
-import com.google.api.client.googleapis.util.Utils;
-import com.google.api.client.json.JsonObjectParser;
 import com.google.api.services.admob.v1.AdMob;
 import com.google.api.services.admob.v1.model.Date;
 import com.google.api.services.admob.v1.model.DateRange;
 import com.google.api.services.admob.v1.model.GenerateNetworkReportRequest;
-import com.google.api.services.admob.v1.model.GenerateNetworkReportResponse;
 import com.google.api.services.admob.v1.model.NetworkReportSpec;
 import com.google.api.services.samples.admob.AdMobFactory;
 import com.google.api.services.samples.admob.util.DateUtils;
 import com.google.common.collect.ImmutableList;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.ZoneId;
-import java.util.Arrays;
-import java.util.List;
 
 
 /** This example illustrates how to generate a network report. */
@@ -57,15 +51,13 @@ public class GenerateNetworkReport {
             .generate(accountName, request)
             .executeAsInputStream();
 
-    List<GenerateNetworkReportResponse> result =
-        Arrays.asList(
-            new JsonObjectParser(Utils.getDefaultJsonFactory())
-                .parseAndClose(
-                    response, StandardCharsets.UTF_8, GenerateNetworkReportResponse[].class));
-
-    // Print each record in the response stream.
-    for (GenerateNetworkReportResponse record : result) {
-      System.out.printf("%s%n", record);
+    // Print the header, each row and the footer as they are read from the response stream.
+    try (ReportStreamReader reader = ReportStreamReader.open(response)) {
+      System.out.printf("%s%n", reader.getHeader());
+      while (reader.hasNext()) {
+        System.out.printf("%s%n", reader.next());
+      }
+      System.out.printf("%s%n", reader.getFooter());
     }
   }
 
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.services.admob.v1.AdMob;
+import com.google.api.services.admob.v1.model.Date;
+import com.google.api.services.admob.v1.model.DateRange;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.samples.admob.AdMobFactory;
+import com.google.api.services.samples.admob.reports.ShardedReportClient.ShardSize;
+import com.google.api.services.samples.admob.util.DateUtils;
+import com.google.common.collect.ImmutableList;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This example illustrates how to generate a network report over a long date range by splitting
+ * it into weekly shards that are generated concurrently.
+ */
+public class GenerateShardedNetworkReport {
+  /* ACCOUNT_NAME should follow the format "accounts/pub-XXXXXXXXXXXXXXXX"
+   * where "pub-XXXXXXXXXXXXXXXX" is your publisher ID
+   * See https://support.google.com/admob/answer/2784578
+   * for instructions on how to find your publisher ID.
+   */
+  private static final String ACCOUNT_NAME = "accounts/pub-XXXXXXXXXXXXXXXX";
+
+  // [START main_body]
+  // Defines the number of shards generated concurrently and the maximum rate of shard requests.
+  // Keep both within the reporting quota limits at https://developers.google.com/admob/api/quotas.
+  private static final int MAX_CONCURRENT_SHARDS = 8;
+  private static final double REQUESTS_PER_SECOND = 2.0;
+
+  public static void runExample(AdMob adMob, String accountName, NetworkReportSpec reportSpec)
+      throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(MAX_CONCURRENT_SHARDS);
+    try {
+      ReportClient reportClient =
+          new ShardedReportClient(
+              new AdMobReportClient(adMob), executor, ShardSize.WEEK, REQUESTS_PER_SECOND);
+
+      // Generate the report shards concurrently and merge them into a single report.
+      Report report = reportClient.generateNetworkReport(accountName, reportSpec);
+
+      // Print the header, each row and the footer of the merged report.
+      System.out.printf("%s%n", report.getHeader());
+      for (ReportRow row : report.getRows()) {
+        System.out.printf("%s%n", row);
+      }
+      System.out.printf("%s%n", report.getFooter());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public static NetworkReportSpec getNetworkReportSpec() {
+    /* AdMob API only supports the account default timezone and "America/Los_Angeles", see
+     * https://developers.google.com/admob/api/v1/reference/rest/v1/accounts.networkReport/generate
+     * for more information.
+     */
+    String timeZone = "America/Los_Angeles";
+    Clock clock = Clock.system(ZoneId.of(timeZone));
+
+    // Specify a one year date range.
+    Date startDate = DateUtils.daysBeforeNow(clock, 365);
+    Date endDate = DateUtils.today(clock);
+    DateRange dateRange = new DateRange().setStartDate(startDate).setEndDate(endDate);
+
+    // Specify metrics.
+    ImmutableList<String> metrics = ImmutableList.of("IMPRESSIONS", "MATCH_RATE");
+
+    // Specify dimensions. Sharded reports must be broken down by DATE.
+    ImmutableList<String> dimensions = ImmutableList.of("DATE", "FORMAT", "AD_UNIT");
+
+    // Create network report specification.
+    return new NetworkReportSpec()
+        .setDateRange(dateRange)
+        .setTimeZone(timeZone)
+        .setMetrics(metrics)
+        .setDimensions(dimensions);
+  }
+  // [END main_body]
+
+  public static void main(String[] args) throws Exception {
+    AdMob adMob = AdMobFactory.getInstance();
+    runExample(adMob, ACCOUNT_NAME, getNetworkReportSpec());
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.services.admob.v1.model.DateRange;
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.samples.admob.util.DateUtils;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps a local copy of a report up to date by only requesting the days that are new or may still
+ * change since the previous sync.
+ *
+ * <p>Each account and report specification (ignoring its date range) has its own directory holding
+ * one file per synced day and a watermark: the last day synced. A sync requests the days after the
+ * watermark, plus a restatement window of the most recent days already synced because AdMob keeps
+ * updating their data, plus any day of the requested range that was never synced. The fetched rows
+ * replace the stored days and the report for the whole requested range is assembled locally.
+ *
+ * <p>The report must include the DATE dimension so rows can be stored per day, and must not set
+ * {@code maxReportRows}, which would truncate days independently of each other.
+ */
+public final class IncrementalReportSync {
+
+  private static final String WATERMARK_FILE = "watermark";
+  private static final String DAY_FILE_SUFFIX = ".report";
+
+  private final ReportClient reportClient;
+  private final Path directory;
+  private final int restatementDays;
+
+  /**
+   * @param reportClient The client used to generate the days to sync.
+   * @param directory The directory the synced reports are stored in.
+   * @param restatementDays The number of most recent synced days to request again on every sync.
+   */
+  public IncrementalReportSync(ReportClient reportClient, Path directory, int restatementDays) {
+    this.reportClient = reportClient;
+    this.directory = directory;
+    this.restatementDays = restatementDays;
+  }
+
+  /**
+   * Syncs a network report and returns it for the specification's full date range.
+   *
+   * @param accountName The account to report on.
+   * @param reportSpec The report specification, which must include the DATE dimension.
+   */
+  public Report syncNetworkReport(String accountName, NetworkReportSpec reportSpec)
+      throws IOException {
+    checkSyncable(reportSpec.getDimensions(), reportSpec.getMaxReportRows());
+    Path reportDirectory =
+        directory.resolve(
+            ReportSpecKey.of(accountName, ReportSpecs.copyOf(reportSpec).setDateRange(null)));
+    return sync(
+        reportDirectory,
+        reportSpec.getDateRange(),
+        range ->
+            reportClient.generateNetworkReport(
+                accountName, ReportSpecs.copyOf(reportSpec).setDateRange(range)),
+        ReportSortOrder.of(reportSpec));
+  }
+
+  /**
+   * Syncs a mediation report and returns it for the specification's full date range.
+   *
+   * @param accountName The account to report on.
+   * @param reportSpec The report specification, which must include the DATE dimension.
+   */
+  public Report syncMediationReport(String accountName, MediationReportSpec reportSpec)
+      throws IOException {
+    checkSyncable(reportSpec.getDimensions(), reportSpec.getMaxReportRows());
+    Path reportDirectory =
+        directory.resolve(
+            ReportSpecKey.of(accountName, ReportSpecs.copyOf(reportSpec).setDateRange(null)));
+    return sync(
+        reportDirectory,
+        reportSpec.getDateRange(),
+        range ->
+            reportClient.generateMediationReport(
+                accountName, ReportSpecs.copyOf(reportSpec).setDateRange(range)),
+        ReportSortOrder.of(reportSpec));
+  }
+
+  /** Generates the report for a date range. */
+  private interface RangeRequest {
+    Report generate(DateRange dateRange) throws IOException;
+  }
+
+  private static void checkSyncable(
+      @Nullable List<String> dimensions, @Nullable Integer maxReportRows) {
+    if (dimensions == null || !dimensions.contains("DATE")) {
+      throw new IllegalArgumentException("Synced reports must include the DATE dimension.");
+    }
+    if (maxReportRows != null) {
+      throw new IllegalArgumentException("Synced reports cannot set maxReportRows.");
+    }
+  }
+
+  private Report sync(
+      Path reportDirectory,
+      DateRange dateRange,
+      RangeRequest request,
+      @Nullable Comparator<ReportRow> sortOrder)
+      throws IOException {
+    Files.createDirectories(reportDirectory);
+    LocalDate startDate = DateUtils.toLocalDate(dateRange.getStartDate());
+    LocalDate endDate = DateUtils.toLocalDate(dateRange.getEndDate());
+    LocalDate watermark = readWatermark(reportDirectory);
+
+    // Fetch from the first day that was never synced or is within the restatement window.
+    LocalDate fetchStart = null;
+    if (watermark != null) {
+      LocalDate restatementStart = watermark.minusDays(restatementDays - 1);
+      fetchStart = restatementStart.isAfter(startDate) ? restatementStart : startDate;
+    }
+    for (LocalDate day = startDate;
+        !day.isAfter(endDate) && (fetchStart == null || day.isBefore(fetchStart));
+        day = day.plusDays(1)) {
+      if (!Files.exists(dayFile(reportDirectory, day))) {
+        fetchStart = day;
+      }
+    }
+
+    ReportHeader header = null;
+    if (fetchStart != null && !fetchStart.isAfter(endDate)) {
+      Report fetched = request.generate(DateUtils.toDateRange(fetchStart, endDate));
+      header = fetched.getHeader();
+      storeDays(reportDirectory, fetchStart, endDate, fetched.getRows());
+      if (watermark == null || endDate.isAfter(watermark)) {
+        writeWatermark(reportDirectory, endDate);
+      }
+    }
+
+    // Assemble the requested range from the stored days.
+    List<ReportRow> rows = new ArrayList<>();
+    for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+      try (InputStream in =
+          new BufferedInputStream(Files.newInputStream(dayFile(reportDirectory, day)))) {
+        rows.addAll(ReportCodec.read(in).getRows());
+      }
+    }
+    if (sortOrder != null) {
+      rows.sort(sortOrder);
+    }
+    if (header != null) {
+      header = header.clone().setDateRange(dateRange);
+    }
+    return new Report(header, rows, new ReportFooter().setMatchingRowCount((long) rows.size()));
+  }
+
+  /** Stores the rows of each day of a date range, replacing previously stored rows. */
+  private static void storeDays(
+      Path reportDirectory, LocalDate startDate, LocalDate endDate, List<ReportRow> rows)
+      throws IOException {
+    Map<LocalDate, List<ReportRow>> rowsByDay = new HashMap<>();
+    for (ReportRow row : rows) {
+      String date = ReportRows.dimensionValue(row, "DATE");
+      rowsByDay
+          .computeIfAbsent(
+              LocalDate.parse(date, DateTimeFormatter.BASIC_ISO_DATE), day -> new ArrayList<>())
+          .add(row);
+    }
+    for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+      List<ReportRow> dayRows = rowsByDay.getOrDefault(day, Collections.emptyList());
+      Path temporaryFile = Files.createTempFile(reportDirectory, "day", ".tmp");
+      try {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+          ReportCodec.write(new Report(null, dayRows, null), out);
+        }
+        Files.move(
+            temporaryFile, dayFile(reportDirectory, day), StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(temporaryFile);
+      }
+    }
+  }
+
+  private static Path dayFile(Path reportDirectory, LocalDate day) {
+    return reportDirectory.resolve(day + DAY_FILE_SUFFIX);
+  }
+
+  @Nullable
+  private static LocalDate readWatermark(Path reportDirectory) throws IOException {
+    Path file = reportDirectory.resolve(WATERMARK_FILE);
+    return Files.exists(file) ? LocalDate.parse(new String(Files.readAllBytes(file), UTF_8)) : null;
+  }
+
+  private static void writeWatermark(Path reportDirectory, LocalDate watermark)
+      throws IOException {
+    Files.write(reportDirectory.resolve(WATERMARK_FILE), watermark.toString().getBytes(UTF_8));
+  }
+}
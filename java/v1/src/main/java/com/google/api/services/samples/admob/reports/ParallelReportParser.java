@@ -0,0 +1,254 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.json.JsonParser;
+import com.google.api.client.json.JsonToken;
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.admob.v1.model.ReportRow;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
+
+/**
+ * Parses a report response in chunks on a {@link ForkJoinPool}, for {@link ReportStreamReader}.
+ *
+ * <p>The response is read into chunks of about {@link #CHUNK_SIZE} bytes, each cut just before
+ * the last row element it holds, so that every chunk holds whole elements. Finding the cut does
+ * not need to scan the chunk: an element starts with <code>{"row":</code>, which cannot appear
+ * inside a JSON string without an escaped quote, so it is searched for backwards from the end of
+ * the chunk. Chunks are then parsed in parallel and returned in the order of the response, with
+ * a bounded number of chunks read ahead.
+ */
+final class ParallelReportParser implements Closeable {
+
+  static final int CHUNK_SIZE = 1024 * 1024;
+
+  private static final byte[] ARRAY_START = {'['};
+
+  /** Closes the array after the trailing comma of a chunk that is cut before an element. */
+  private static final byte[] ARRAY_END = {'n', 'u', 'l', 'l', ']'};
+
+  /** The rows of a chunk, and the header or footer if the chunk holds them. */
+  static final class Chunk {
+    final List<ReportRow> rows = new ArrayList<>();
+    ReportHeader header;
+    ReportFooter footer;
+  }
+
+  private final InputStream response;
+  private final ForkJoinPool pool;
+  private final int maxChunksInFlight;
+  private final Deque<CompletableFuture<Chunk>> chunks = new ArrayDeque<>();
+
+  /** The bytes read after the last cut. */
+  private byte[] pending = new byte[CHUNK_SIZE];
+
+  private int pendingLength;
+  private boolean endOfResponse;
+  private boolean first = true;
+
+  ParallelReportParser(InputStream response, ForkJoinPool pool) {
+    this.response = response;
+    this.pool = pool;
+    this.maxChunksInFlight = 2 * pool.getParallelism();
+  }
+
+  /** Returns the next chunk of the response, or {@code null} once all have been returned. */
+  @Nullable
+  Chunk next() throws IOException {
+    while (chunks.size() < maxChunksInFlight && submitNextChunk()) {
+      // Read ahead.
+    }
+    CompletableFuture<Chunk> chunk = chunks.poll();
+    if (chunk == null) {
+      return null;
+    }
+    try {
+      return chunk.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) cause).getCause();
+      } else if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (CompletableFuture<Chunk> chunk : chunks) {
+      chunk.cancel(false);
+    }
+    chunks.clear();
+    response.close();
+  }
+
+  /** Reads the next chunk and submits it for parsing, or returns {@code false} at the end. */
+  private boolean submitNextChunk() throws IOException {
+    int cut;
+    while (true) {
+      if (pendingLength >= CHUNK_SIZE && (cut = lastRowStart(pending, pendingLength)) > 0) {
+        break;
+      } else if (endOfResponse) {
+        cut = pendingLength;
+        break;
+      }
+      fill();
+    }
+    if (cut == 0) {
+      if (first) {
+        throw new IOException("Expected the report response to be a JSON array.");
+      }
+      return false;
+    }
+
+    byte[] bytes = pending;
+    int length = cut;
+    boolean firstChunk = first;
+    boolean lastChunk = cut == pendingLength && endOfResponse;
+    pending = new byte[pendingLength - cut + CHUNK_SIZE];
+    System.arraycopy(bytes, cut, pending, 0, pendingLength - cut);
+    pendingLength -= cut;
+    first = false;
+    chunks.add(
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return parse(bytes, length, firstChunk, lastChunk);
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            },
+            pool));
+    return true;
+  }
+
+  /** Reads until the pending bytes hold {@link #CHUNK_SIZE} more bytes, or the response ends. */
+  private void fill() throws IOException {
+    if (pending.length < pendingLength + CHUNK_SIZE) {
+      byte[] grown = new byte[pendingLength + CHUNK_SIZE];
+      System.arraycopy(pending, 0, grown, 0, pendingLength);
+      pending = grown;
+    }
+    int limit = pendingLength + CHUNK_SIZE;
+    while (pendingLength < limit) {
+      int read = response.read(pending, pendingLength, limit - pendingLength);
+      if (read == -1) {
+        endOfResponse = true;
+        return;
+      }
+      pendingLength += read;
+    }
+  }
+
+  /** Returns the offset of the last row element that starts within the bytes, or -1. */
+  private static int lastRowStart(byte[] bytes, int length) {
+    for (int i = length - 1; i >= 0; i--) {
+      if (bytes[i] == '{' && isRowStart(bytes, i + 1, length)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Returns whether the bytes after an opening brace are {@code "row":}, allowing whitespace. */
+  private static boolean isRowStart(byte[] bytes, int offset, int length) {
+    int i = skipWhitespace(bytes, offset, length);
+    if (i + 5 > length
+        || bytes[i] != '"'
+        || bytes[i + 1] != 'r'
+        || bytes[i + 2] != 'o'
+        || bytes[i + 3] != 'w'
+        || bytes[i + 4] != '"') {
+      return false;
+    }
+    i = skipWhitespace(bytes, i + 5, length);
+    return i < length && bytes[i] == ':';
+  }
+
+  private static int skipWhitespace(byte[] bytes, int offset, int length) {
+    int i = offset;
+    while (i < length
+        && (bytes[i] == ' ' || bytes[i] == '\n' || bytes[i] == '\r' || bytes[i] == '\t')) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Parses a chunk. Chunks other than the first are made a JSON array by an opening bracket, and
+   * chunks other than the last by closing their trailing comma with {@code null]}.
+   */
+  private static Chunk parse(byte[] bytes, int length, boolean first, boolean last)
+      throws IOException {
+    InputStream in = new ByteArrayInputStream(bytes, 0, length);
+    if (!first) {
+      in = new SequenceInputStream(new ByteArrayInputStream(ARRAY_START), in);
+    }
+    if (!last) {
+      in = new SequenceInputStream(in, new ByteArrayInputStream(ARRAY_END));
+    }
+    Chunk chunk = new Chunk();
+    JsonParser parser = Utils.getDefaultJsonFactory().createJsonParser(in, UTF_8);
+    try {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new IOException("Expected the report response to be a JSON array.");
+      }
+      for (JsonToken token = parser.nextToken();
+          token != JsonToken.END_ARRAY;
+          token = parser.nextToken()) {
+        if (token == JsonToken.START_OBJECT) {
+          ReportStreamReader.Element element = ReportStreamReader.readElement(parser);
+          chunk.header = element.header != null ? element.header : chunk.header;
+          chunk.footer = element.footer != null ? element.footer : chunk.footer;
+          if (element.row != null) {
+            chunk.rows.add(element.row);
+          }
+        } else if (token != JsonToken.VALUE_NULL || last) {
+          throw new IOException("Unexpected token in report response: " + token);
+        }
+      }
+    } finally {
+      parser.close();
+    }
+    return chunk;
+  }
+}
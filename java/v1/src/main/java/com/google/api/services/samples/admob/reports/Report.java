@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.admob.v1.model.ReportRow;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
+
+/** A fully read network or mediation report: its header, rows and footer. */
+public final class Report {
+
+  private final ReportHeader header;
+  private final List<ReportRow> rows;
+  private final ReportFooter footer;
+
+  public Report(
+      @Nullable ReportHeader header, List<ReportRow> rows, @Nullable ReportFooter footer) {
+    this.header = header;
+    this.rows = Collections.unmodifiableList(rows);
+    this.footer = footer;
+  }
+
+  /**
+   * Reads every row of a report response stream and closes the stream.
+   *
+   * @param response The raw report response, as returned by {@code executeAsInputStream()}.
+   * @return The report held in memory.
+   */
+  public static Report read(InputStream response) throws IOException {
+    return read(ReportStreamReader.open(response));
+  }
+
+  /**
+   * Reads every row of a report response stream, parsing it in parallel on a pool, and closes the
+   * stream. This only pays off for reports of many megabytes (see {@link
+   * ReportStreamReader#open(InputStream, ForkJoinPool)}).
+   *
+   * @param response The raw report response, as returned by {@code executeAsInputStream()}.
+   * @param pool The pool to parse the response on.
+   * @return The report held in memory.
+   */
+  public static Report read(InputStream response, ForkJoinPool pool) throws IOException {
+    return read(ReportStreamReader.open(response, pool));
+  }
+
+  private static Report read(ReportStreamReader opened) throws IOException {
+    try (ReportStreamReader reader = opened) {
+      List<ReportRow> rows = new ArrayList<>();
+      reader.forEachRemaining(rows::add);
+      return new Report(reader.getHeader(), rows, reader.getFooter());
+    } catch (UncheckedIOException e) {
+      // Reading the rows failed partway, such as when the connection was reset.
+      throw e.getCause();
+    }
+  }
+
+  @Nullable
+  public ReportHeader getHeader() {
+    return header;
+  }
+
+  public List<ReportRow> getRows() {
+    return rows;
+  }
+
+  @Nullable
+  public ReportFooter getFooter() {
+    return footer;
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import java.io.IOException;
+
+/**
+ * Generates network and mediation reports. Implementations may call the AdMob API directly or
+ * wrap another client to add behavior such as sharding or caching.
+ */
+public interface ReportClient {
+
+  /**
+   * Generates a network report.
+   *
+   * @param accountName The account to report on, in the format "accounts/pub-XXXXXXXXXXXXXXXX".
+   * @param reportSpec The report specification.
+   * @return The report rows, with its header and footer.
+   */
+  Report generateNetworkReport(String accountName, NetworkReportSpec reportSpec)
+      throws IOException;
+
+  /**
+   * Generates a mediation report.
+   *
+   * @param accountName The account to report on, in the format "accounts/pub-XXXXXXXXXXXXXXXX".
+   * @param reportSpec The report specification.
+   * @return The report rows, with its header and footer.
+   */
+  Report generateMediationReport(String accountName, MediationReportSpec reportSpec)
+      throws IOException;
+}
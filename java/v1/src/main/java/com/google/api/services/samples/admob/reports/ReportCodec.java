@@ -0,0 +1,265 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.admob.v1.model.ReportRowDimensionValue;
+import com.google.api.services.admob.v1.model.ReportRowMetricValue;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Encodes reports in a compact binary format.
+ *
+ * <p>The header and footer are stored as JSON. Rows are stored as a count followed by their
+ * dimension and metric values. Every distinct string (dimension and metric names, dimension values
+ * and labels) is written once and referenced by index afterwards, and numbers use variable-length
+ * encoding, so a typical row takes a handful of bytes instead of the hundreds used by JSON.
+ */
+public final class ReportCodec {
+
+  private static final int MAGIC = 0x41444d52; // "ADMR"
+  private static final int VERSION = 1;
+
+  private static final int INTEGER_VALUE = 0;
+  private static final int MICROS_VALUE = 1;
+  private static final int DOUBLE_VALUE = 2;
+  private static final int NO_VALUE = 3;
+
+  private static final JsonFactory JSON_FACTORY = Utils.getDefaultJsonFactory();
+
+  private ReportCodec() {}
+
+  /** Writes a report to the given stream. The stream is flushed but not closed. */
+  public static void write(Report report, OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeByte(VERSION);
+    writeJson(data, report.getHeader());
+    writeJson(data, report.getFooter());
+
+    StringWriter strings = new StringWriter(data);
+    writeVarLong(data, report.getRows().size());
+    for (ReportRow row : report.getRows()) {
+      Map<String, ReportRowDimensionValue> dimensions = row.getDimensionValues();
+      writeVarLong(data, dimensions == null ? 0 : dimensions.size());
+      if (dimensions != null) {
+        for (Map.Entry<String, ReportRowDimensionValue> dimension : dimensions.entrySet()) {
+          strings.write(dimension.getKey());
+          strings.write(dimension.getValue().getValue());
+          strings.write(dimension.getValue().getDisplayLabel());
+        }
+      }
+      Map<String, ReportRowMetricValue> metrics = row.getMetricValues();
+      writeVarLong(data, metrics == null ? 0 : metrics.size());
+      if (metrics != null) {
+        for (Map.Entry<String, ReportRowMetricValue> metric : metrics.entrySet()) {
+          strings.write(metric.getKey());
+          writeMetricValue(data, metric.getValue());
+        }
+      }
+    }
+    data.flush();
+  }
+
+  /** Reads a report from the given stream. The stream is not closed. */
+  public static Report read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != MAGIC || data.readByte() != VERSION) {
+      throw new IOException("Not an encoded report.");
+    }
+    ReportHeader header = readJson(data, ReportHeader.class);
+    ReportFooter footer = readJson(data, ReportFooter.class);
+
+    StringReader strings = new StringReader(data);
+    int rowCount = (int) readVarLong(data);
+    List<ReportRow> rows = new ArrayList<>(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      int dimensionCount = (int) readVarLong(data);
+      Map<String, ReportRowDimensionValue> dimensions = new LinkedHashMap<>();
+      for (int j = 0; j < dimensionCount; j++) {
+        String name = strings.read();
+        dimensions.put(
+            name,
+            new ReportRowDimensionValue().setValue(strings.read()).setDisplayLabel(strings.read()));
+      }
+      int metricCount = (int) readVarLong(data);
+      Map<String, ReportRowMetricValue> metrics = new LinkedHashMap<>();
+      for (int j = 0; j < metricCount; j++) {
+        String name = strings.read();
+        metrics.put(name, readMetricValue(data));
+      }
+      ReportRow row = new ReportRow().setDimensionValues(dimensions).setMetricValues(metrics);
+      row.setFactory(JSON_FACTORY);
+      rows.add(row);
+    }
+    return new Report(header, rows, footer);
+  }
+
+  private static void writeMetricValue(DataOutputStream data, ReportRowMetricValue value)
+      throws IOException {
+    if (value.getIntegerValue() != null) {
+      data.writeByte(INTEGER_VALUE);
+      writeVarLong(data, zigZag(value.getIntegerValue()));
+    } else if (value.getMicrosValue() != null) {
+      data.writeByte(MICROS_VALUE);
+      writeVarLong(data, zigZag(value.getMicrosValue()));
+    } else if (value.getDoubleValue() != null) {
+      data.writeByte(DOUBLE_VALUE);
+      data.writeDouble(value.getDoubleValue());
+    } else {
+      data.writeByte(NO_VALUE);
+    }
+  }
+
+  private static ReportRowMetricValue readMetricValue(DataInputStream data) throws IOException {
+    int type = data.readByte();
+    switch (type) {
+      case INTEGER_VALUE:
+        return new ReportRowMetricValue().setIntegerValue(unZigZag(readVarLong(data)));
+      case MICROS_VALUE:
+        return new ReportRowMetricValue().setMicrosValue(unZigZag(readVarLong(data)));
+      case DOUBLE_VALUE:
+        return new ReportRowMetricValue().setDoubleValue(data.readDouble());
+      case NO_VALUE:
+        return new ReportRowMetricValue();
+      default:
+        throw new IOException("Unknown metric value type: " + type);
+    }
+  }
+
+  private static void writeJson(DataOutputStream data, @Nullable Object value)
+      throws IOException {
+    if (value == null) {
+      data.writeBoolean(false);
+    } else {
+      data.writeBoolean(true);
+      writeString(data, JSON_FACTORY.toString(value));
+    }
+  }
+
+  @Nullable
+  private static <T> T readJson(DataInputStream data, Class<T> type) throws IOException {
+    return data.readBoolean() ? JSON_FACTORY.fromString(readString(data), type) : null;
+  }
+
+  private static void writeString(DataOutputStream data, String value) throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    writeVarLong(data, bytes.length);
+    data.write(bytes);
+  }
+
+  private static String readString(DataInputStream data) throws IOException {
+    byte[] bytes = new byte[(int) readVarLong(data)];
+    data.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  static void writeVarLong(DataOutputStream data, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      data.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    data.writeByte((int) value);
+  }
+
+  static long readVarLong(DataInputStream data) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = data.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable-length number.");
+  }
+
+  static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Writes strings as an index into the strings written so far, or as a new string the first time
+   * it is seen. Index 0 stands for {@code null} and index 1 introduces a new string.
+   */
+  private static final class StringWriter {
+    private final DataOutputStream data;
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    StringWriter(DataOutputStream data) {
+      this.data = data;
+    }
+
+    void write(@Nullable String value) throws IOException {
+      if (value == null) {
+        writeVarLong(data, 0);
+        return;
+      }
+      Integer index = indexes.get(value);
+      if (index != null) {
+        writeVarLong(data, index);
+      } else {
+        writeVarLong(data, 1);
+        writeString(data, value);
+        indexes.put(value, indexes.size() + 2);
+      }
+    }
+  }
+
+  /** Reads strings written by {@link StringWriter}. */
+  private static final class StringReader {
+    private final DataInputStream data;
+    private final List<String> strings = new ArrayList<>();
+
+    StringReader(DataInputStream data) {
+      this.data = data;
+    }
+
+    @Nullable
+    String read() throws IOException {
+      int index = (int) readVarLong(data);
+      if (index == 0) {
+        return null;
+      } else if (index == 1) {
+        String value = readString(data);
+        strings.add(value);
+        return value;
+      }
+      return strings.get(index - 2);
+    }
+  }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.json.JsonParser;
+import com.google.api.client.json.JsonToken;
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nullable;
+
+/**
+ * Copies a raw report response to a channel without parsing its rows, for reports that are only
+ * landed for a downstream system.
+ *
+ * <p>The response is copied through a single fixed-size buffer, so memory use stays flat for
+ * reports of any size. While it is copied, a byte-level scanner checks its framing: a JSON array
+ * whose first element holds the header, followed by rows, and whose last element holds the footer.
+ * Only the header and footer are parsed.
+ */
+public final class ReportPassthrough {
+
+  /** How the copied response is compressed. */
+  public enum Compression {
+    NONE,
+    GZIP
+  }
+
+  private static final int BUFFER_SIZE = 256 * 1024;
+
+  /** Header and footer elements larger than this are not parsed. */
+  private static final int MAX_CAPTURED_ELEMENT_SIZE = 64 * 1024;
+
+  /** What was copied: the parsed header and footer, and the number of rows and bytes. */
+  public static final class Result {
+    private final ReportHeader header;
+    private final ReportFooter footer;
+    private final long rowCount;
+    private final long byteCount;
+
+    private Result(
+        @Nullable ReportHeader header,
+        @Nullable ReportFooter footer,
+        long rowCount,
+        long byteCount) {
+      this.header = header;
+      this.footer = footer;
+      this.rowCount = rowCount;
+      this.byteCount = byteCount;
+    }
+
+    @Nullable
+    public ReportHeader getHeader() {
+      return header;
+    }
+
+    @Nullable
+    public ReportFooter getFooter() {
+      return footer;
+    }
+
+    public long getRowCount() {
+      return rowCount;
+    }
+
+    /** Returns the size of the response, before compression. */
+    public long getByteCount() {
+      return byteCount;
+    }
+  }
+
+  private ReportPassthrough() {}
+
+  /**
+   * Copies a report response to a channel and closes the response. The channel is left open.
+   *
+   * @param response The raw report response, as returned by {@code executeAsInputStream()}.
+   * @param sink The channel to copy the response to.
+   * @param compression How to compress the copy.
+   * @return What was copied.
+   * @throws IOException If the response could not be copied or is not a well-framed report. The
+   *     sink may then hold a partial copy.
+   */
+  public static Result copy(
+      InputStream response, WritableByteChannel sink, Compression compression) throws IOException {
+    try (ReadableByteChannel source = Channels.newChannel(response)) {
+      if (compression == Compression.NONE) {
+        return copy(source, sink, ByteBuffer.allocateDirect(BUFFER_SIZE));
+      }
+      // Compressing reads the bytes from an array, so a heap buffer avoids an extra copy.
+      GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(sink), BUFFER_SIZE);
+      Result result = copy(source, Channels.newChannel(gzip), ByteBuffer.allocate(BUFFER_SIZE));
+      gzip.finish();
+      gzip.flush();
+      return result;
+    }
+  }
+
+  /**
+   * Copies a report response to a file and closes the response. The file only appears once the
+   * whole response has been copied and validated.
+   *
+   * @param response The raw report response, as returned by {@code executeAsInputStream()}.
+   * @param file The file to create or replace.
+   * @param compression How to compress the file.
+   * @return What was copied.
+   */
+  public static Result copy(InputStream response, Path file, Compression compression)
+      throws IOException {
+    Path directory = file.toAbsolutePath().getParent();
+    Path temporaryFile = Files.createTempFile(directory, "report", ".tmp");
+    try {
+      Result result;
+      try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+        result = copy(response, channel, compression);
+      }
+      Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+      return result;
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  private static Result copy(
+      ReadableByteChannel source, WritableByteChannel sink, ByteBuffer buffer) throws IOException {
+    FramingValidator validator = new FramingValidator();
+    long byteCount = 0;
+    while (source.read(buffer) != -1) {
+      buffer.flip();
+      validator.scan(buffer);
+      byteCount += buffer.remaining();
+      while (buffer.hasRemaining()) {
+        sink.write(buffer);
+      }
+      buffer.clear();
+    }
+    validator.finish();
+    return new Result(
+        validator.parse("header", ReportHeader.class),
+        validator.parse("footer", ReportFooter.class),
+        validator.rowCount,
+        byteCount);
+  }
+
+  /**
+   * Checks the framing of a report response one byte at a time, tracking only string and nesting
+   * state, and keeps a copy of the header and footer elements.
+   */
+  private static final class FramingValidator {
+
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+    private boolean started;
+    private boolean ended;
+    private long elementCount;
+    private long rowCount;
+
+    /** The first field name of the current element, while it is being read. */
+    private final StringBuilder key = new StringBuilder();
+
+    private boolean readingKey;
+    private String currentKey;
+    private String lastKey;
+
+    /** The bytes of the current element, while it may still be a header or footer. */
+    private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+
+    private boolean capturing;
+    private byte[] header;
+    private byte[] footer;
+
+    void scan(ByteBuffer buffer) throws IOException {
+      int limit = buffer.limit();
+      for (int i = buffer.position(); i < limit; i++) {
+        if (inString && !escaped && !readingKey && !capturing) {
+          // Most of a response is row strings, which only need scanning for their end.
+          while (i < limit && buffer.get(i) != '"' && buffer.get(i) != '\\') {
+            i++;
+          }
+          if (i == limit) {
+            break;
+          }
+        }
+        byte b = buffer.get(i);
+        if (capturing) {
+          captured.write(b);
+          if (captured.size() > MAX_CAPTURED_ELEMENT_SIZE) {
+            capturing = false;
+          }
+        }
+        if (inString) {
+          scanString(b);
+        } else {
+          scanStructure(b);
+        }
+      }
+    }
+
+    private void scanString(byte b) {
+      if (escaped) {
+        escaped = false;
+      } else if (b == '\\') {
+        escaped = true;
+      } else if (b == '"') {
+        inString = false;
+        if (readingKey) {
+          readingKey = false;
+          currentKey = key.toString();
+          if (currentKey.equals("row")) {
+            // Rows are never parsed, so stop keeping a copy.
+            capturing = false;
+          }
+        }
+      } else if (readingKey) {
+        key.append((char) b);
+      }
+    }
+
+    private void scanStructure(byte b) throws IOException {
+      if (b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+        return;
+      }
+      if (depth == 0 && (started || b != '[')) {
+        throw malformed("the response must be a single JSON array");
+      }
+      if (depth == 1 && b != '{' && b != ',' && b != ']') {
+        throw malformed("report elements must be objects");
+      }
+      switch (b) {
+        case '"':
+          inString = true;
+          if (depth == 2 && currentKey == null) {
+            readingKey = true;
+            key.setLength(0);
+          }
+          break;
+        case '[':
+        case '{':
+          if (depth == 0) {
+            started = true;
+          } else if (depth == 1) {
+            currentKey = null;
+            captured.reset();
+            captured.write(b);
+            capturing = true;
+          }
+          depth++;
+          break;
+        case ']':
+        case '}':
+          depth--;
+          if (depth == 0) {
+            ended = true;
+          } else if (depth == 1) {
+            endElement();
+          }
+          break;
+        default:
+      }
+    }
+
+    private void endElement() throws IOException {
+      if (elementCount == 0 && !"header".equals(currentKey)) {
+        throw malformed("the first element must hold the header");
+      }
+      if ("row".equals(currentKey)) {
+        rowCount++;
+      } else if (capturing && "header".equals(currentKey)) {
+        header = captured.toByteArray();
+      } else if (capturing && "footer".equals(currentKey)) {
+        footer = captured.toByteArray();
+      }
+      capturing = false;
+      lastKey = currentKey;
+      elementCount++;
+    }
+
+    void finish() throws IOException {
+      if (!ended) {
+        throw malformed("the response ended before the report array was closed");
+      }
+      if (!"footer".equals(lastKey)) {
+        throw malformed("the last element must hold the footer");
+      }
+    }
+
+    /** Parses the kept copy of the header or footer element. */
+    @Nullable
+    <T> T parse(String field, Class<T> type) throws IOException {
+      byte[] element = field.equals("header") ? header : footer;
+      if (element == null) {
+        return null;
+      }
+      JsonParser parser =
+          Utils.getDefaultJsonFactory()
+              .createJsonParser(new ByteArrayInputStream(element), UTF_8);
+      try {
+        parser.nextToken();
+        parser.skipToKey(field);
+        return parser.getCurrentToken() == JsonToken.START_OBJECT ? parser.parse(type) : null;
+      } finally {
+        parser.close();
+      }
+    }
+
+    private static IOException malformed(String reason) {
+      return new IOException("Malformed report response: " + reason + ".");
+    }
+  }
+}
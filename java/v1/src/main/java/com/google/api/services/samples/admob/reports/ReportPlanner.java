@@ -0,0 +1,536 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.services.admob.v1.model.DateRange;
+import com.google.api.services.admob.v1.model.LocalizationSettings;
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.MediationReportSpecDimensionFilter;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpecDimensionFilter;
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.admob.v1.model.ReportWarning;
+import com.google.api.services.samples.admob.util.DateUtils;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+
+/**
+ * Generates many reports over the same account with as few API requests as possible.
+ *
+ * <p>Reports that only differ in their dimensions, metrics, filters, sort order, row limit or date
+ * range are answered from a single finer-grained request, rolled up locally with {@link
+ * ReportRollup}: the request asks for the union of their dimensions (including filtered ones) and
+ * metrics (including the weights of ratio metrics), over the union of their date ranges, broken
+ * down by DATE when those ranges differ. Reports with a different time zone or localization need
+ * their own requests. To keep requests from growing too large, a request is given at most {@code
+ * maxDimensionsPerRequest} dimensions, and reports are packed greedily into as few requests as fit.
+ *
+ * <p>Since planned requests drop the filters and row limits of the reports, they are the most
+ * likely to hit the API's row limit. A request the API truncates, matching more rows than it
+ * returns, is split into halves of its date range and generated again, down to single days; if a
+ * single day is still truncated, generating the reports fails rather than answering them from part
+ * of the rows. The warnings of a request are copied to the footer of each report it answers.
+ *
+ * <p>Reports can only use the account's time zone or America/Los_Angeles. A spec without a time
+ * zone uses the account's, so it shares requests with specs naming the account's time zone
+ * explicitly.
+ */
+public final class ReportPlanner {
+
+  private static final String LOS_ANGELES = "America/Los_Angeles";
+
+  private final ReportClient client;
+  private final ExecutorService executor;
+  private final int maxDimensionsPerRequest;
+
+  /**
+   * @param client The client the planned requests are generated with.
+   * @param executor The executor the planned requests run on, which bounds how many are in flight.
+   * @param maxDimensionsPerRequest The maximum number of dimensions of a planned request.
+   */
+  public ReportPlanner(ReportClient client, ExecutorService executor, int maxDimensionsPerRequest) {
+    this.client = client;
+    this.executor = executor;
+    this.maxDimensionsPerRequest = maxDimensionsPerRequest;
+  }
+
+  /**
+   * Generates network reports.
+   *
+   * @param accountName The account to generate the reports for.
+   * @param accountTimeZone The reporting time zone of the account, as returned by {@code
+   *     accounts.get}, or {@code null} if unknown.
+   * @param reportSpecs The reports to generate.
+   * @return The reports, in the order of their specs.
+   */
+  public List<Report> generateNetworkReports(
+      String accountName, @Nullable String accountTimeZone, List<NetworkReportSpec> reportSpecs)
+      throws IOException {
+    return generate(NETWORK, accountName, accountTimeZone, reportSpecs);
+  }
+
+  /**
+   * Generates mediation reports.
+   *
+   * @param accountName The account to generate the reports for.
+   * @param accountTimeZone The reporting time zone of the account, as returned by {@code
+   *     accounts.get}, or {@code null} if unknown.
+   * @param reportSpecs The reports to generate.
+   * @return The reports, in the order of their specs.
+   */
+  public List<Report> generateMediationReports(
+      String accountName, @Nullable String accountTimeZone, List<MediationReportSpec> reportSpecs)
+      throws IOException {
+    return generate(MEDIATION, accountName, accountTimeZone, reportSpecs);
+  }
+
+  /** Returns the network report requests that would be made to generate the given reports. */
+  public List<NetworkReportSpec> planNetworkReports(
+      @Nullable String accountTimeZone, List<NetworkReportSpec> reportSpecs) {
+    return specsOf(plan(NETWORK, accountTimeZone, reportSpecs));
+  }
+
+  /** Returns the mediation report requests that would be made to generate the given reports. */
+  public List<MediationReportSpec> planMediationReports(
+      @Nullable String accountTimeZone, List<MediationReportSpec> reportSpecs) {
+    return specsOf(plan(MEDIATION, accountTimeZone, reportSpecs));
+  }
+
+  private <S> List<Report> generate(
+      SpecType<S> type, String accountName, @Nullable String accountTimeZone, List<S> reportSpecs)
+      throws IOException {
+    List<Request<S>> requests = plan(type, accountTimeZone, reportSpecs);
+    List<Future<Report>> futures = new ArrayList<>();
+    for (Request<S> request : requests) {
+      futures.add(executor.submit(() -> fetch(type, accountName, request.spec)));
+    }
+
+    Report[] reports = new Report[reportSpecs.size()];
+    try {
+      for (int i = 0; i < requests.size(); i++) {
+        Request<S> request = requests.get(i);
+        Report report = futures.get(i).get();
+        ColumnarReport fetched =
+            ColumnarReport.build(
+                type.dimensions(request.spec),
+                type.metrics(request.spec),
+                report.getRows().iterator());
+        List<ReportWarning> warnings =
+            report.getFooter() == null ? null : report.getFooter().getWarnings();
+        for (int query : request.queries) {
+          reports[query] =
+              type.query(fetched, type.dateRange(request.spec), reportSpecs.get(query));
+          if (warnings != null && !warnings.isEmpty()) {
+            reports[query].getFooter().setWarnings(warnings);
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      futures.forEach(future -> future.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while generating planned reports.");
+    } catch (ExecutionException e) {
+      futures.forEach(future -> future.cancel(true));
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Failed to generate a planned report.", e.getCause());
+    }
+    return Arrays.asList(reports);
+  }
+
+  /**
+   * Generates a planned request, splitting its date range in halves for as long as the API
+   * truncates it.
+   */
+  private <S> Report fetch(SpecType<S> type, String accountName, S spec) throws IOException {
+    Report report = type.generate(client, accountName, spec);
+    ReportFooter footer = report.getFooter();
+    if (footer == null
+        || footer.getMatchingRowCount() == null
+        || footer.getMatchingRowCount() <= report.getRows().size()) {
+      return report;
+    }
+    DateRange dateRange = type.dateRange(spec);
+    LocalDate startDate = DateUtils.toLocalDate(dateRange.getStartDate());
+    LocalDate endDate = DateUtils.toLocalDate(dateRange.getEndDate());
+    if (!startDate.isBefore(endDate)) {
+      throw new IOException(
+          String.format(
+              "The planned report request for %s was truncated to %d of %d rows on %s. Lower the"
+                  + " maximum number of dimensions per request.",
+              accountName, report.getRows().size(), footer.getMatchingRowCount(), startDate));
+    }
+
+    // Rows of both halves with the same dimension values are summed up by the rollup.
+    LocalDate middleDate = startDate.plusDays(ChronoUnit.DAYS.between(startDate, endDate) / 2);
+    Report first = fetch(type, accountName, withDateRange(type, spec, startDate, middleDate));
+    Report second =
+        fetch(type, accountName, withDateRange(type, spec, middleDate.plusDays(1), endDate));
+    List<ReportRow> rows = new ArrayList<>(first.getRows());
+    rows.addAll(second.getRows());
+    // The halves mostly repeat the same warnings.
+    Set<ReportWarning> warnings = new LinkedHashSet<>();
+    for (Report half : Arrays.asList(first, second)) {
+      if (half.getFooter() != null && half.getFooter().getWarnings() != null) {
+        warnings.addAll(half.getFooter().getWarnings());
+      }
+    }
+    return new Report(
+        first.getHeader(),
+        rows,
+        new ReportFooter()
+            .setMatchingRowCount((long) rows.size())
+            .setWarnings(warnings.isEmpty() ? null : new ArrayList<>(warnings)));
+  }
+
+  private static <S> S withDateRange(
+      SpecType<S> type, S spec, LocalDate startDate, LocalDate endDate) {
+    return type.newSpec(
+        type.dimensions(spec),
+        type.metrics(spec),
+        DateUtils.toDateRange(startDate, endDate),
+        type.timeZone(spec),
+        type.localizationSettings(spec));
+  }
+
+  private <S> List<Request<S>> plan(
+      SpecType<S> type, @Nullable String accountTimeZone, List<S> reportSpecs) {
+    // Only reports with the same time zone and localization can share requests.
+    Map<String, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < reportSpecs.size(); i++) {
+      S spec = reportSpecs.get(i);
+      if (type.dateRange(spec) == null) {
+        throw new IllegalArgumentException("Planned reports must set a date range.");
+      }
+      String key =
+          effectiveTimeZone(type.timeZone(spec), accountTimeZone)
+              + "|"
+              + Objects.toString(type.localizationSettings(spec));
+      groups.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+    }
+
+    List<Request<S>> requests = new ArrayList<>();
+    for (List<Integer> group : groups.values()) {
+      // Place the reports with the most dimensions first, so that smaller ones fill in the gaps.
+      Comparator<Integer> byDimensionCount =
+          Comparator.comparingInt(i -> requiredDimensions(type, reportSpecs.get(i)).size());
+      group.sort(byDimensionCount.reversed());
+      List<Request<S>> groupRequests = new ArrayList<>();
+      for (int query : group) {
+        S spec = reportSpecs.get(query);
+        Request<S> target = null;
+        for (Request<S> request : groupRequests) {
+          if (request.fits(type, spec, maxDimensionsPerRequest)) {
+            target = request;
+            break;
+          }
+        }
+        if (target == null) {
+          target = new Request<>();
+          groupRequests.add(target);
+        }
+        target.add(type, spec, query);
+      }
+      for (Request<S> request : groupRequests) {
+        S template = reportSpecs.get(request.queries.get(0));
+        request.spec =
+            type.newSpec(
+                new ArrayList<>(request.dimensionsWithDate()),
+                new ArrayList<>(request.metrics),
+                request.dateRange(),
+                type.timeZone(template),
+                type.localizationSettings(template));
+      }
+      requests.addAll(groupRequests);
+    }
+    return requests;
+  }
+
+  /**
+   * Returns the time zone a report is generated in, or "" for an unknown account default. When the
+   * account's time zone is not known, explicit time zones are left for the API to check.
+   */
+  private static String effectiveTimeZone(
+      @Nullable String timeZone, @Nullable String accountTimeZone) {
+    if (timeZone == null || timeZone.isEmpty()) {
+      return accountTimeZone == null ? "" : accountTimeZone;
+    }
+    if (accountTimeZone != null
+        && !timeZone.equals(LOS_ANGELES)
+        && !timeZone.equals(accountTimeZone)) {
+      throw new IllegalArgumentException(
+          "Reports only support the account time zone and " + LOS_ANGELES + ", not " + timeZone);
+    }
+    return timeZone;
+  }
+
+  /** Returns the dimensions a request must include to answer a report. */
+  private static <S> Set<String> requiredDimensions(SpecType<S> type, S spec) {
+    Set<String> dimensions = new LinkedHashSet<>(type.dimensions(spec));
+    dimensions.addAll(type.filterDimensions(spec));
+    return dimensions;
+  }
+
+  private static <S> List<S> specsOf(List<Request<S>> requests) {
+    List<S> specs = new ArrayList<>();
+    for (Request<S> request : requests) {
+      specs.add(request.spec);
+    }
+    return specs;
+  }
+
+  /** A planned request and the reports it answers. */
+  private static final class Request<S> {
+    final Set<String> dimensions = new LinkedHashSet<>();
+    final Set<String> metrics = new LinkedHashSet<>();
+    final List<Integer> queries = new ArrayList<>();
+    LocalDate startDate;
+    LocalDate endDate;
+    boolean datesDiffer;
+    S spec;
+
+    boolean fits(SpecType<S> type, S spec, int maxDimensions) {
+      Set<String> union = new LinkedHashSet<>(dimensions);
+      union.addAll(requiredDimensions(type, spec));
+      DateRange dateRange = type.dateRange(spec);
+      if (datesDiffer
+          || !DateUtils.toLocalDate(dateRange.getStartDate()).equals(startDate)
+          || !DateUtils.toLocalDate(dateRange.getEndDate()).equals(endDate)) {
+        union.add("DATE");
+      }
+      return union.size() <= maxDimensions;
+    }
+
+    void add(SpecType<S> type, S spec, int query) {
+      dimensions.addAll(requiredDimensions(type, spec));
+      for (String metric : type.metrics(spec)) {
+        metrics.add(metric);
+        String weight = ReportRollup.ratioWeight(metric);
+        if (weight != null) {
+          metrics.add(weight);
+        }
+      }
+      DateRange dateRange = type.dateRange(spec);
+      LocalDate specStartDate = DateUtils.toLocalDate(dateRange.getStartDate());
+      LocalDate specEndDate = DateUtils.toLocalDate(dateRange.getEndDate());
+      if (queries.isEmpty()) {
+        startDate = specStartDate;
+        endDate = specEndDate;
+      } else if (!specStartDate.equals(startDate) || !specEndDate.equals(endDate)) {
+        datesDiffer = true;
+        startDate = specStartDate.isBefore(startDate) ? specStartDate : startDate;
+        endDate = specEndDate.isAfter(endDate) ? specEndDate : endDate;
+      }
+      queries.add(query);
+    }
+
+    Set<String> dimensionsWithDate() {
+      if (!datesDiffer) {
+        return dimensions;
+      }
+      Set<String> withDate = new LinkedHashSet<>(dimensions);
+      withDate.add("DATE");
+      return withDate;
+    }
+
+    DateRange dateRange() {
+      return DateUtils.toDateRange(startDate, endDate);
+    }
+  }
+
+  /** Reads and builds the specs of one kind of report. */
+  private interface SpecType<S> {
+    List<String> dimensions(S spec);
+
+    List<String> metrics(S spec);
+
+    List<String> filterDimensions(S spec);
+
+    @Nullable
+    DateRange dateRange(S spec);
+
+    @Nullable
+    String timeZone(S spec);
+
+    @Nullable
+    LocalizationSettings localizationSettings(S spec);
+
+    S newSpec(
+        List<String> dimensions,
+        List<String> metrics,
+        DateRange dateRange,
+        @Nullable String timeZone,
+        @Nullable LocalizationSettings localizationSettings);
+
+    Report generate(ReportClient client, String accountName, S spec) throws IOException;
+
+    Report query(ColumnarReport report, @Nullable DateRange reportDateRange, S spec);
+  }
+
+  private static final SpecType<NetworkReportSpec> NETWORK =
+      new SpecType<NetworkReportSpec>() {
+        @Override
+        public List<String> dimensions(NetworkReportSpec spec) {
+          return orEmpty(spec.getDimensions());
+        }
+
+        @Override
+        public List<String> metrics(NetworkReportSpec spec) {
+          return orEmpty(spec.getMetrics());
+        }
+
+        @Override
+        public List<String> filterDimensions(NetworkReportSpec spec) {
+          List<String> dimensions = new ArrayList<>();
+          if (spec.getDimensionFilters() != null) {
+            for (NetworkReportSpecDimensionFilter filter : spec.getDimensionFilters()) {
+              dimensions.add(filter.getDimension());
+            }
+          }
+          return dimensions;
+        }
+
+        @Override
+        public DateRange dateRange(NetworkReportSpec spec) {
+          return spec.getDateRange();
+        }
+
+        @Override
+        public String timeZone(NetworkReportSpec spec) {
+          return spec.getTimeZone();
+        }
+
+        @Override
+        public LocalizationSettings localizationSettings(NetworkReportSpec spec) {
+          return spec.getLocalizationSettings();
+        }
+
+        @Override
+        public NetworkReportSpec newSpec(
+            List<String> dimensions,
+            List<String> metrics,
+            DateRange dateRange,
+            @Nullable String timeZone,
+            @Nullable LocalizationSettings localizationSettings) {
+          return new NetworkReportSpec()
+              .setDimensions(dimensions)
+              .setMetrics(metrics)
+              .setDateRange(dateRange)
+              .setTimeZone(timeZone)
+              .setLocalizationSettings(localizationSettings);
+        }
+
+        @Override
+        public Report generate(ReportClient client, String accountName, NetworkReportSpec spec)
+            throws IOException {
+          return client.generateNetworkReport(accountName, spec);
+        }
+
+        @Override
+        public Report query(
+            ColumnarReport report, @Nullable DateRange reportDateRange, NetworkReportSpec spec) {
+          return ReportRollup.query(report, reportDateRange, spec);
+        }
+      };
+
+  private static final SpecType<MediationReportSpec> MEDIATION =
+      new SpecType<MediationReportSpec>() {
+        @Override
+        public List<String> dimensions(MediationReportSpec spec) {
+          return orEmpty(spec.getDimensions());
+        }
+
+        @Override
+        public List<String> metrics(MediationReportSpec spec) {
+          return orEmpty(spec.getMetrics());
+        }
+
+        @Override
+        public List<String> filterDimensions(MediationReportSpec spec) {
+          List<String> dimensions = new ArrayList<>();
+          if (spec.getDimensionFilters() != null) {
+            for (MediationReportSpecDimensionFilter filter : spec.getDimensionFilters()) {
+              dimensions.add(filter.getDimension());
+            }
+          }
+          return dimensions;
+        }
+
+        @Override
+        public DateRange dateRange(MediationReportSpec spec) {
+          return spec.getDateRange();
+        }
+
+        @Override
+        public String timeZone(MediationReportSpec spec) {
+          return spec.getTimeZone();
+        }
+
+        @Override
+        public LocalizationSettings localizationSettings(MediationReportSpec spec) {
+          return spec.getLocalizationSettings();
+        }
+
+        @Override
+        public MediationReportSpec newSpec(
+            List<String> dimensions,
+            List<String> metrics,
+            DateRange dateRange,
+            @Nullable String timeZone,
+            @Nullable LocalizationSettings localizationSettings) {
+          return new MediationReportSpec()
+              .setDimensions(dimensions)
+              .setMetrics(metrics)
+              .setDateRange(dateRange)
+              .setTimeZone(timeZone)
+              .setLocalizationSettings(localizationSettings);
+        }
+
+        @Override
+        public Report generate(ReportClient client, String accountName, MediationReportSpec spec)
+            throws IOException {
+          return client.generateMediationReport(accountName, spec);
+        }
+
+        @Override
+        public Report query(
+            ColumnarReport report, @Nullable DateRange reportDateRange, MediationReportSpec spec) {
+          return ReportRollup.query(report, reportDateRange, spec);
+        }
+      };
+
+  private static List<String> orEmpty(@Nullable List<String> values) {
+    return values == null ? new ArrayList<>() : values;
+  }
+}
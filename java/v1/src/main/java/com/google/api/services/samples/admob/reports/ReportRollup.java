@@ -0,0 +1,527 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.services.admob.v1.model.DateRange;
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.MediationReportSpecDimensionFilter;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpecDimensionFilter;
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.admob.v1.model.ReportRowDimensionValue;
+import com.google.api.services.admob.v1.model.ReportRowMetricValue;
+import com.google.api.services.admob.v1.model.StringList;
+import com.google.api.services.samples.admob.reports.ColumnarReport.MetricType;
+import com.google.api.services.samples.admob.util.DateUtils;
+import com.google.common.collect.ImmutableMap;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
+
+/**
+ * Answers report queries locally from a finer-grained report that was already fetched, instead of
+ * requesting a new report from the API.
+ *
+ * <p>A query is expressed as a report specification: its dimensions become the group-by columns,
+ * its dimension filters and date range select the rows, and its sort conditions and {@code
+ * maxReportRows} order and limit the result. The dimensions of the query must be a subset of those
+ * of the fetched report, and its date range can only be applied if the fetched report has the DATE
+ * dimension and covers those dates, or has no DATE dimension and covers the same dates.
+ *
+ * <p>Integer and micros metrics are summed. Ratio metrics such as MATCH_RATE are averaged, weighted
+ * by the metric they are a ratio of (e.g. AD_REQUESTS), which must also have been fetched. Rows are
+ * aggregated in parallel chunks across all available cores.
+ */
+public final class ReportRollup {
+
+  /** The metric each ratio metric is weighted by when averaging it over several rows. */
+  private static final ImmutableMap<String, String> RATIO_METRIC_WEIGHTS =
+      ImmutableMap.<String, String>builder()
+          .put("MATCH_RATE", "AD_REQUESTS")
+          .put("SHOW_RATE", "MATCHED_REQUESTS")
+          .put("IMPRESSION_CTR", "IMPRESSIONS")
+          .put("IMPRESSION_RPM", "IMPRESSIONS")
+          .put("OBSERVED_ECPM", "IMPRESSIONS")
+          .build();
+
+  /** The number of rows aggregated by a single task. */
+  private static final int CHUNK_SIZE = 1 << 16;
+
+  private ReportRollup() {}
+
+  /** Returns the metric a ratio metric is weighted by, or {@code null} if it is not a ratio. */
+  @Nullable
+  static String ratioWeight(String metric) {
+    return RATIO_METRIC_WEIGHTS.get(metric);
+  }
+
+  /**
+   * Answers a network report query from a fetched report with a DATE dimension, or from one that
+   * has none if the query has no date range either.
+   */
+  public static Report query(ColumnarReport report, NetworkReportSpec query) {
+    return query(report, null, query);
+  }
+
+  /**
+   * Answers a network report query from a fetched report.
+   *
+   * @param report The fetched report.
+   * @param reportDateRange The date range of the fetched report, or {@code null} if unknown. If
+   *     the fetched report has the DATE dimension, the date range of the query must be within it;
+   *     otherwise it must be the date range of the query.
+   * @param query The query.
+   */
+  public static Report query(
+      ColumnarReport report, @Nullable DateRange reportDateRange, NetworkReportSpec query) {
+    Map<String, List<String>> filters = new LinkedHashMap<>();
+    if (query.getDimensionFilters() != null) {
+      for (NetworkReportSpecDimensionFilter filter : query.getDimensionFilters()) {
+        String dimension = filter.getDimension();
+        filters.put(dimension, matchesAny(dimension, filter.getMatchesAny()));
+      }
+    }
+    return query(
+        report,
+        reportDateRange,
+        query.getDateRange(),
+        query.getDimensions(),
+        query.getMetrics(),
+        filters,
+        ReportSortOrder.of(query),
+        query.getMaxReportRows());
+  }
+
+  /**
+   * Answers a mediation report query from a fetched report with a DATE dimension, or from one that
+   * has none if the query has no date range either.
+   */
+  public static Report query(ColumnarReport report, MediationReportSpec query) {
+    return query(report, null, query);
+  }
+
+  /**
+   * Answers a mediation report query from a fetched report.
+   *
+   * @param report The fetched report.
+   * @param reportDateRange The date range of the fetched report, or {@code null} if unknown. If
+   *     the fetched report has the DATE dimension, the date range of the query must be within it;
+   *     otherwise it must be the date range of the query.
+   * @param query The query.
+   */
+  public static Report query(
+      ColumnarReport report, @Nullable DateRange reportDateRange, MediationReportSpec query) {
+    Map<String, List<String>> filters = new LinkedHashMap<>();
+    if (query.getDimensionFilters() != null) {
+      for (MediationReportSpecDimensionFilter filter : query.getDimensionFilters()) {
+        String dimension = filter.getDimension();
+        filters.put(dimension, matchesAny(dimension, filter.getMatchesAny()));
+      }
+    }
+    return query(
+        report,
+        reportDateRange,
+        query.getDateRange(),
+        query.getDimensions(),
+        query.getMetrics(),
+        filters,
+        ReportSortOrder.of(query),
+        query.getMaxReportRows());
+  }
+
+  private static Report query(
+      ColumnarReport report,
+      @Nullable DateRange reportDateRange,
+      @Nullable DateRange dateRange,
+      @Nullable List<String> dimensions,
+      List<String> metrics,
+      Map<String, List<String>> filters,
+      @Nullable Comparator<ReportRow> sortOrder,
+      @Nullable Integer maxReportRows) {
+    Plan plan =
+        new Plan(report, dimensions == null ? Collections.emptyList() : dimensions, metrics);
+    for (Map.Entry<String, List<String>> filter : filters.entrySet()) {
+      plan.filter(filter.getKey(), filter.getValue());
+    }
+    if (dateRange != null && report.dimensionIndex("DATE") >= 0) {
+      if (reportDateRange != null && !contains(reportDateRange, dateRange)) {
+        // Days outside the fetched report would silently count as having no data.
+        throw new IllegalArgumentException(
+            "The date range of a query must be within the date range of the fetched report.");
+      }
+      plan.filterDates(dateRange);
+    } else if (dateRange != null && !sameDates(dateRange, reportDateRange)) {
+      // Without dates, the rows hold totals over the range of the fetched report only.
+      throw new IllegalArgumentException(
+          "A query with a date range needs a fetched report with the DATE dimension, or with the"
+              + " same date range.");
+    }
+
+    // Aggregate chunks of rows in parallel, then merge the partial groups.
+    int chunkCount = (report.getRowCount() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    List<Groups> partials =
+        IntStream.range(0, chunkCount)
+            .parallel()
+            .mapToObj(
+                chunk ->
+                    plan.aggregate(
+                        chunk * CHUNK_SIZE,
+                        Math.min(report.getRowCount(), (chunk + 1) * CHUNK_SIZE)))
+            .collect(Collectors.toList());
+    Groups groups = new Groups(plan);
+    partials.forEach(groups::merge);
+
+    List<ReportRow> rows = plan.toRows(groups);
+    if (sortOrder != null) {
+      rows.sort(sortOrder);
+    }
+    long matchingRowCount = rows.size();
+    if (maxReportRows != null && maxReportRows > 0 && rows.size() > maxReportRows) {
+      rows = new ArrayList<>(rows.subList(0, maxReportRows));
+    }
+    ReportHeader header = new ReportHeader().setDateRange(dateRange);
+    header.setFactory(Utils.getDefaultJsonFactory());
+    ReportFooter footer = new ReportFooter().setMatchingRowCount(matchingRowCount);
+    footer.setFactory(Utils.getDefaultJsonFactory());
+    return new Report(header, rows, footer);
+  }
+
+  private static List<String> matchesAny(String dimension, @Nullable StringList matchesAny) {
+    if (matchesAny == null || matchesAny.getValues() == null) {
+      throw new IllegalArgumentException(
+          "The dimension filter of " + dimension + " must set the values it matches.");
+    }
+    return matchesAny.getValues();
+  }
+
+  private static boolean sameDates(DateRange dateRange, @Nullable DateRange other) {
+    return other != null
+        && DateUtils.toLocalDate(dateRange.getStartDate())
+            .equals(DateUtils.toLocalDate(other.getStartDate()))
+        && DateUtils.toLocalDate(dateRange.getEndDate())
+            .equals(DateUtils.toLocalDate(other.getEndDate()));
+  }
+
+  private static boolean contains(DateRange outer, DateRange inner) {
+    return !DateUtils.toLocalDate(inner.getStartDate())
+            .isBefore(DateUtils.toLocalDate(outer.getStartDate()))
+        && !DateUtils.toLocalDate(inner.getEndDate())
+            .isAfter(DateUtils.toLocalDate(outer.getEndDate()));
+  }
+
+  /** How a metric is aggregated over the rows of a group. */
+  private enum Aggregation {
+    /** Integer and micros values are summed. */
+    SUM,
+    /** Ratio values are averaged, weighted by another metric. */
+    WEIGHTED_AVERAGE,
+    /** Other values cannot be aggregated, so groups must contain a single row. */
+    SINGLE
+  }
+
+  /** The columns, filters and aggregations resolved once for a query. */
+  private static final class Plan {
+    final ColumnarReport report;
+    final List<String> dimensions;
+    final List<String> metrics;
+    final int[] dimensionColumns;
+    final long[] radixes;
+    final int[] metricColumns;
+    final int[] weightColumns;
+    final Aggregation[] aggregations;
+    final List<int[]> filterColumns = new ArrayList<>();
+    final List<boolean[]> filterMatches = new ArrayList<>();
+
+    Plan(ColumnarReport report, List<String> dimensions, List<String> metrics) {
+      this.report = report;
+      this.dimensions = dimensions;
+      this.metrics = metrics;
+
+      // Each group is keyed by its dimension codes combined into a single mixed-radix number.
+      dimensionColumns = new int[dimensions.size()];
+      radixes = new long[dimensions.size()];
+      long radix = 1;
+      for (int i = 0; i < dimensionColumns.length; i++) {
+        dimensionColumns[i] = column(report.dimensionIndex(dimensions.get(i)), dimensions.get(i));
+        radixes[i] = radix;
+        int cardinality = Math.max(1, report.dimensionCardinality(dimensionColumns[i]));
+        if (radix > Long.MAX_VALUE / cardinality) {
+          throw new IllegalArgumentException("Too many distinct dimension value combinations.");
+        }
+        radix *= cardinality;
+      }
+
+      metricColumns = new int[metrics.size()];
+      weightColumns = new int[metrics.size()];
+      aggregations = new Aggregation[metrics.size()];
+      for (int i = 0; i < metricColumns.length; i++) {
+        String metric = metrics.get(i);
+        metricColumns[i] = column(report.metricIndex(metric), metric);
+        String weight = RATIO_METRIC_WEIGHTS.get(metric);
+        weightColumns[i] = weight == null ? -1 : report.metricIndex(weight);
+        if (weightColumns[i] >= 0) {
+          aggregations[i] = Aggregation.WEIGHTED_AVERAGE;
+        } else if (weight == null && report.metricType(metricColumns[i]) != MetricType.DOUBLE) {
+          aggregations[i] = Aggregation.SUM;
+        } else {
+          aggregations[i] = Aggregation.SINGLE;
+        }
+      }
+    }
+
+    private static int column(int index, String name) {
+      if (index < 0) {
+        throw new IllegalArgumentException("The fetched report does not include " + name + ".");
+      }
+      return index;
+    }
+
+    void filter(String dimension, List<String> values) {
+      int column = column(report.dimensionIndex(dimension), dimension);
+      boolean[] matches = new boolean[report.dimensionCardinality(column)];
+      for (String value : values) {
+        int code = report.dimensionCode(column, value);
+        if (code >= 0) {
+          matches[code] = true;
+        }
+      }
+      filterColumns.add(report.dimensionCodes(column));
+      filterMatches.add(matches);
+    }
+
+    void filterDates(DateRange dateRange) {
+      int column = report.dimensionIndex("DATE");
+      LocalDate startDate = DateUtils.toLocalDate(dateRange.getStartDate());
+      LocalDate endDate = DateUtils.toLocalDate(dateRange.getEndDate());
+      boolean[] matches = new boolean[report.dimensionCardinality(column)];
+      for (int code = 0; code < matches.length; code++) {
+        String value = report.dimensionValue(column, code);
+        if (value != null) {
+          LocalDate date = LocalDate.parse(value, DateTimeFormatter.BASIC_ISO_DATE);
+          matches[code] = !date.isBefore(startDate) && !date.isAfter(endDate);
+        }
+      }
+      filterColumns.add(report.dimensionCodes(column));
+      filterMatches.add(matches);
+    }
+
+    Groups aggregate(int fromRow, int toRow) {
+      Groups groups = new Groups(this);
+      int[][] codes = new int[dimensionColumns.length][];
+      for (int i = 0; i < codes.length; i++) {
+        codes[i] = report.dimensionCodes(dimensionColumns[i]);
+      }
+      rows:
+      for (int row = fromRow; row < toRow; row++) {
+        for (int i = 0; i < filterColumns.size(); i++) {
+          if (!filterMatches.get(i)[filterColumns.get(i)[row]]) {
+            continue rows;
+          }
+        }
+        long key = 0;
+        for (int i = 0; i < codes.length; i++) {
+          key += codes[i][row] * radixes[i];
+        }
+        int group = groups.index(key);
+        groups.rowCounts[group]++;
+        int offset = group * metricColumns.length;
+        for (int i = 0; i < metricColumns.length; i++) {
+          switch (aggregations[i]) {
+            case SUM:
+              groups.longSums[offset + i] += report.longMetric(metricColumns[i], row);
+              break;
+            case WEIGHTED_AVERAGE:
+              double weight = report.metricAsDouble(weightColumns[i], row);
+              groups.doubleSums[offset + i] +=
+                  report.metricAsDouble(metricColumns[i], row) * weight;
+              groups.weightSums[offset + i] += weight;
+              break;
+            case SINGLE:
+              groups.doubleSums[offset + i] += report.metricAsDouble(metricColumns[i], row);
+              break;
+          }
+        }
+      }
+      return groups;
+    }
+
+    List<ReportRow> toRows(Groups groups) {
+      List<ReportRow> rows = new ArrayList<>(groups.size);
+      for (int group = 0; group < groups.size; group++) {
+        int[] codes = new int[dimensionColumns.length];
+        long key = groups.keys[group];
+        for (int i = codes.length - 1; i >= 0; i--) {
+          codes[i] = (int) (key / radixes[i]);
+          key %= radixes[i];
+        }
+        Map<String, ReportRowDimensionValue> dimensionValues = new LinkedHashMap<>();
+        for (int i = 0; i < codes.length; i++) {
+          dimensionValues.put(
+              dimensions.get(i),
+              new ReportRowDimensionValue()
+                  .setValue(report.dimensionValue(dimensionColumns[i], codes[i]))
+                  .setDisplayLabel(report.dimensionLabel(dimensionColumns[i], codes[i])));
+        }
+        Map<String, ReportRowMetricValue> metricValues = new LinkedHashMap<>();
+        int offset = group * metricColumns.length;
+        for (int i = 0; i < metricColumns.length; i++) {
+          metricValues.put(metrics.get(i), metricValue(groups, group, offset + i, i));
+        }
+        ReportRow row =
+            new ReportRow().setDimensionValues(dimensionValues).setMetricValues(metricValues);
+        row.setFactory(Utils.getDefaultJsonFactory());
+        rows.add(row);
+      }
+      return rows;
+    }
+
+    private ReportRowMetricValue metricValue(Groups groups, int group, int slot, int metric) {
+      MetricType type = report.metricType(metricColumns[metric]);
+      double value;
+      switch (aggregations[metric]) {
+        case SUM:
+          long sum = groups.longSums[slot];
+          return type == MetricType.MICROS
+              ? new ReportRowMetricValue().setMicrosValue(sum)
+              : new ReportRowMetricValue().setIntegerValue(sum);
+        case WEIGHTED_AVERAGE:
+          double weight = groups.weightSums[slot];
+          value = weight == 0 ? 0 : groups.doubleSums[slot] / weight;
+          break;
+        default:
+          if (groups.rowCounts[group] > 1) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "%s cannot be rolled up without %s.",
+                    metrics.get(metric),
+                    RATIO_METRIC_WEIGHTS.getOrDefault(metrics.get(metric), "a weight metric")));
+          }
+          value = groups.doubleSums[slot];
+      }
+      switch (type) {
+        case MICROS:
+          return new ReportRowMetricValue().setMicrosValue(Math.round(value));
+        case INTEGER:
+          return new ReportRowMetricValue().setIntegerValue(Math.round(value));
+        default:
+          return new ReportRowMetricValue().setDoubleValue(value);
+      }
+    }
+  }
+
+  /** Partial aggregates of groups, stored in flat arrays and indexed by an open-address table. */
+  private static final class Groups {
+    private static final long EMPTY = -1;
+
+    final int metricCount;
+    long[] keys = new long[16];
+    long[] rowCounts = new long[16];
+    long[] longSums;
+    double[] doubleSums;
+    double[] weightSums;
+    int size;
+    private long[] tableKeys = newTable(32);
+    private int[] tableIndexes = new int[32];
+
+    Groups(Plan plan) {
+      this.metricCount = plan.metricColumns.length;
+      this.longSums = new long[16 * metricCount];
+      this.doubleSums = new double[16 * metricCount];
+      this.weightSums = new double[16 * metricCount];
+    }
+
+    /** Returns the index of the group with the given key, adding it if needed. */
+    int index(long key) {
+      int mask = tableKeys.length - 1;
+      int slot = (int) mix(key) & mask;
+      while (tableKeys[slot] != EMPTY) {
+        if (tableKeys[slot] == key) {
+          return tableIndexes[slot];
+        }
+        slot = (slot + 1) & mask;
+      }
+      if (size == keys.length) {
+        growGroups();
+      }
+      tableKeys[slot] = key;
+      tableIndexes[slot] = size;
+      keys[size] = key;
+      if (++size * 2 > tableKeys.length) {
+        rehash();
+      }
+      return size - 1;
+    }
+
+    void merge(Groups other) {
+      for (int group = 0; group < other.size; group++) {
+        int index = index(other.keys[group]);
+        rowCounts[index] += other.rowCounts[group];
+        for (int i = 0; i < metricCount; i++) {
+          longSums[index * metricCount + i] += other.longSums[group * metricCount + i];
+          doubleSums[index * metricCount + i] += other.doubleSums[group * metricCount + i];
+          weightSums[index * metricCount + i] += other.weightSums[group * metricCount + i];
+        }
+      }
+    }
+
+    private void growGroups() {
+      int capacity = keys.length * 2;
+      keys = Arrays.copyOf(keys, capacity);
+      rowCounts = Arrays.copyOf(rowCounts, capacity);
+      longSums = Arrays.copyOf(longSums, capacity * metricCount);
+      doubleSums = Arrays.copyOf(doubleSums, capacity * metricCount);
+      weightSums = Arrays.copyOf(weightSums, capacity * metricCount);
+    }
+
+    private void rehash() {
+      tableKeys = newTable(tableKeys.length * 2);
+      tableIndexes = new int[tableKeys.length];
+      int mask = tableKeys.length - 1;
+      for (int group = 0; group < size; group++) {
+        int slot = (int) mix(keys[group]) & mask;
+        while (tableKeys[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        tableKeys[slot] = keys[group];
+        tableIndexes[slot] = group;
+      }
+    }
+
+    private static long[] newTable(int capacity) {
+      long[] table = new long[capacity];
+      Arrays.fill(table, EMPTY);
+      return table;
+    }
+
+    private static long mix(long key) {
+      key *= 0x9E3779B97F4A7C15L;
+      return key ^ (key >>> 32);
+    }
+  }
+}
@@ -0,0 +1,442 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.samples.admob.metrics.ApiMetrics;
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Reads a report response one row at a time into a single reusable row, without allocating per
+ * row.
+ *
+ * <p>{@link ReportStreamReader} materializes each row as a {@link
+ * com.google.api.services.admob.v1.model.ReportRow}: maps keyed by dimension and metric name, a
+ * model object per cell and boxed values. This cursor instead resolves the positions of the
+ * requested dimensions and metrics once, then decodes each row straight from the JSON tokens into
+ * primitive fields that are overwritten by the next row:
+ *
+ * <pre>{@code
+ * int country = cursor.dimensionIndex("COUNTRY");
+ * int earnings = cursor.metricIndex("ESTIMATED_EARNINGS");
+ * while (cursor.next()) {
+ *   totals[cursor.dimensionCode(country)] += cursor.longMetric(earnings);
+ * }
+ * }</pre>
+ *
+ * <p>Dimension values are interned into a dictionary per dimension and exposed as dense integer
+ * codes, so only the first occurrence of each distinct value allocates a string. Display labels
+ * are kept per code when they follow the value, as the API writes them.
+ */
+public final class ReportRowCursor implements Closeable {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final JsonParser parser;
+  private final ImmutableList<String> dimensions;
+  private final ImmutableList<String> metrics;
+  private final Dictionary[] dictionaries;
+  private final int[] dimensionCodes;
+  private final long[] longMetrics;
+  private final double[] doubleMetrics;
+  private final boolean[] hasMetric;
+
+  private ReportHeader header;
+  private ReportFooter footer;
+  private boolean finished;
+  private boolean closed;
+
+  /** When the cursor was opened and how many rows it read, for {@link ApiMetrics}. */
+  private final long openedNanos = System.nanoTime();
+
+  private long rowCount;
+
+  private ReportRowCursor(JsonParser parser, List<String> dimensions, List<String> metrics) {
+    this.parser = parser;
+    this.dimensions = ImmutableList.copyOf(dimensions);
+    this.metrics = ImmutableList.copyOf(metrics);
+    this.dictionaries = new Dictionary[dimensions.size()];
+    for (int i = 0; i < dictionaries.length; i++) {
+      dictionaries[i] = new Dictionary();
+    }
+    this.dimensionCodes = new int[dimensions.size()];
+    this.longMetrics = new long[metrics.size()];
+    this.doubleMetrics = new double[metrics.size()];
+    this.hasMetric = new boolean[metrics.size()];
+  }
+
+  /**
+   * Opens a cursor over a report response stream, as returned by {@code executeAsInputStream()}.
+   * The cursor takes ownership of the stream and closes it when the cursor is closed.
+   *
+   * @param response The raw report response.
+   * @param dimensions The dimensions to decode. Other dimensions are skipped.
+   * @param metrics The metrics to decode. Other metrics are skipped.
+   * @return A cursor positioned before the first row.
+   */
+  public static ReportRowCursor open(
+      InputStream response, List<String> dimensions, List<String> metrics) throws IOException {
+    JsonParser parser = JSON_FACTORY.createParser(response);
+    try {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new IOException("Expected the report response to be a JSON array.");
+      }
+    } catch (IOException | RuntimeException e) {
+      parser.close();
+      throw e;
+    }
+    return new ReportRowCursor(parser, dimensions, metrics);
+  }
+
+  /** Opens a cursor decoding the dimensions and metrics of a network report spec. */
+  public static ReportRowCursor open(InputStream response, NetworkReportSpec reportSpec)
+      throws IOException {
+    return open(response, orEmpty(reportSpec.getDimensions()), orEmpty(reportSpec.getMetrics()));
+  }
+
+  /** Opens a cursor decoding the dimensions and metrics of a mediation report spec. */
+  public static ReportRowCursor open(InputStream response, MediationReportSpec reportSpec)
+      throws IOException {
+    return open(response, orEmpty(reportSpec.getDimensions()), orEmpty(reportSpec.getMetrics()));
+  }
+
+  /** Returns the position of a dimension, or -1 if it is not decoded. */
+  public int dimensionIndex(String dimension) {
+    return dimensions.indexOf(dimension);
+  }
+
+  /** Returns the position of a metric, or -1 if it is not decoded. */
+  public int metricIndex(String metric) {
+    return metrics.indexOf(metric);
+  }
+
+  /**
+   * Moves to the next row.
+   *
+   * @return {@code false} once there are no more rows, at which point the footer is available.
+   */
+  public boolean next() throws IOException {
+    while (!finished) {
+      JsonToken token = parser.nextToken();
+      if (token == JsonToken.END_ARRAY || token == null) {
+        finished = true;
+      } else if (token != JsonToken.START_OBJECT) {
+        throw new IOException("Unexpected token in report response: " + token);
+      } else if (readElement()) {
+        rowCount++;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the code of a dimension's value in the current row, or -1 if the row has no value for
+   * it. Codes are dense, starting at 0, and stable for the life of the cursor.
+   */
+  public int dimensionCode(int dimension) {
+    return dimensionCodes[dimension];
+  }
+
+  /** Returns the number of distinct values seen so far for a dimension. */
+  public int dimensionCardinality(int dimension) {
+    return dictionaries[dimension].size;
+  }
+
+  /** Returns the value of a dimension that a code stands for. */
+  public String dimensionValue(int dimension, int code) {
+    return dictionaries[dimension].values[code];
+  }
+
+  /** Returns the display label of a dimension value, or {@code null} if it has none. */
+  @Nullable
+  public String dimensionLabel(int dimension, int code) {
+    return dictionaries[dimension].labels[code];
+  }
+
+  /** Returns whether the current row has a value for a metric. */
+  public boolean hasMetric(int metric) {
+    return hasMetric[metric];
+  }
+
+  /** Returns an integer or micros metric of the current row, or 0 if it has none. */
+  public long longMetric(int metric) {
+    return longMetrics[metric];
+  }
+
+  /** Returns a double metric of the current row, or 0 if it has none. */
+  public double doubleMetric(int metric) {
+    return doubleMetrics[metric];
+  }
+
+  /** Returns the report header, or {@code null} if it has not been read yet. */
+  @Nullable
+  public ReportHeader getHeader() {
+    return header;
+  }
+
+  /** Returns the report footer, or {@code null} if the rows have not all been read yet. */
+  @Nullable
+  public ReportFooter getFooter() {
+    return footer;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      ApiMetrics.global().recordReportRead(rowCount, System.nanoTime() - openedNanos);
+    }
+    parser.close();
+  }
+
+  /** Reads one array element, returning whether it held a row. */
+  private boolean readElement() throws IOException {
+    boolean row = false;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      switch (field) {
+        case "row":
+          readRow();
+          row = true;
+          break;
+        case "header":
+          header = parseModel(ReportHeader.class);
+          break;
+        case "footer":
+          footer = parseModel(ReportFooter.class);
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+    return row;
+  }
+
+  private void readRow() throws IOException {
+    Arrays.fill(dimensionCodes, -1);
+    Arrays.fill(longMetrics, 0);
+    Arrays.fill(doubleMetrics, 0);
+    Arrays.fill(hasMetric, false);
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      if (field.equals("dimensionValues")) {
+        readDimensionValues();
+      } else if (field.equals("metricValues")) {
+        readMetricValues();
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private void readDimensionValues() throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      int dimension = indexOf(dimensions, parser.getCurrentName());
+      parser.nextToken();
+      if (dimension < 0) {
+        parser.skipChildren();
+        continue;
+      }
+      Dictionary dictionary = dictionaries[dimension];
+      int code = -1;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        parser.nextToken();
+        if (field.equals("value")) {
+          code =
+              dictionary.code(
+                  parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        } else if (field.equals("displayLabel") && code >= 0 && dictionary.labels[code] == null) {
+          dictionary.labels[code] = parser.getText();
+        } else {
+          parser.skipChildren();
+        }
+      }
+      dimensionCodes[dimension] = code;
+    }
+  }
+
+  private void readMetricValues() throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      int metric = indexOf(metrics, parser.getCurrentName());
+      parser.nextToken();
+      if (metric < 0) {
+        parser.skipChildren();
+        continue;
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+        if (field.equals("integerValue") || field.equals("microsValue")) {
+          // 64-bit integers are encoded as JSON strings by the API.
+          longMetrics[metric] =
+              token == JsonToken.VALUE_STRING
+                  ? parseLong(
+                      parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())
+                  : parser.getLongValue();
+          hasMetric[metric] = true;
+        } else if (field.equals("doubleValue")) {
+          doubleMetrics[metric] =
+              token == JsonToken.VALUE_STRING
+                  ? Double.parseDouble(parser.getText())
+                  : parser.getDoubleValue();
+          hasMetric[metric] = true;
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+  }
+
+  /** Parses the current object into a model class, by way of its JSON text. */
+  private <T> T parseModel(Class<T> type) throws IOException {
+    ByteArrayOutputStream json = new ByteArrayOutputStream();
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+      generator.copyCurrentStructure(parser);
+    }
+    return Utils.getDefaultJsonFactory()
+        .fromInputStream(new ByteArrayInputStream(json.toByteArray()), type);
+  }
+
+  /**
+   * Returns the position of a name in a short list. Field names are interned by the parser, so the
+   * identity comparison almost always settles it.
+   */
+  private static int indexOf(List<String> names, String name) {
+    for (int i = 0; i < names.size(); i++) {
+      if (names.get(i) == name) {
+        return i;
+      }
+    }
+    return names.indexOf(name);
+  }
+
+  private static long parseLong(char[] chars, int offset, int length) throws IOException {
+    int end = offset + length;
+    boolean negative = length > 0 && chars[offset] == '-';
+    int i = negative ? offset + 1 : offset;
+    if (i == end) {
+      throw new IOException("Expected an integer in report response.");
+    }
+    long value = 0;
+    for (; i < end; i++) {
+      int digit = chars[i] - '0';
+      if (digit < 0 || digit > 9) {
+        throw new IOException("Expected an integer in report response.");
+      }
+      value = value * 10 - digit;
+    }
+    return negative ? value : -value;
+  }
+
+  private static List<String> orEmpty(@Nullable List<String> values) {
+    return values == null ? ImmutableList.of() : values;
+  }
+
+  /** Interns the values of one dimension, looking them up by characters without a string. */
+  private static final class Dictionary {
+
+    private String[] values = new String[16];
+    private String[] labels = new String[16];
+    private int[] hashes = new int[16];
+    private int size;
+
+    /** Open-addressing table of code + 1, or 0 for an empty slot. */
+    private int[] table = new int[32];
+
+    int code(char[] chars, int offset, int length) {
+      int hash = 0;
+      for (int i = offset; i < offset + length; i++) {
+        hash = 31 * hash + chars[i];
+      }
+      int mask = table.length - 1;
+      for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+        int entry = table[slot];
+        if (entry == 0) {
+          return add(slot, hash, new String(chars, offset, length));
+        }
+        int code = entry - 1;
+        if (hashes[code] == hash && matches(values[code], chars, offset, length)) {
+          return code;
+        }
+      }
+    }
+
+    private int add(int slot, int hash, String value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+        labels = Arrays.copyOf(labels, size * 2);
+        hashes = Arrays.copyOf(hashes, size * 2);
+      }
+      int code = size++;
+      values[code] = value;
+      hashes[code] = hash;
+      table[slot] = code + 1;
+      if (size * 2 > table.length) {
+        rehash();
+      }
+      return code;
+    }
+
+    private void rehash() {
+      table = new int[table.length * 2];
+      int mask = table.length - 1;
+      for (int code = 0; code < size; code++) {
+        int slot = mix(hashes[code]) & mask;
+        while (table[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        table[slot] = code + 1;
+      }
+    }
+
+    private static boolean matches(String value, char[] chars, int offset, int length) {
+      if (value.length() != length) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (value.charAt(i) != chars[offset + i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static int mix(int hash) {
+      return hash ^ (hash >>> 16);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.admob.v1.model.ReportRowDimensionValue;
+import com.google.api.services.admob.v1.model.ReportRowMetricValue;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/** Helper methods to read dimension and metric values from report rows. */
+public final class ReportRows {
+
+  private ReportRows() {}
+
+  /** Returns the value of the given dimension, or {@code null} if the row does not have it. */
+  @Nullable
+  public static String dimensionValue(ReportRow row, String dimension) {
+    Map<String, ReportRowDimensionValue> values = row.getDimensionValues();
+    ReportRowDimensionValue value = values == null ? null : values.get(dimension);
+    return value == null ? null : value.getValue();
+  }
+
+  /** Returns the value of the given metric, or {@code null} if the row does not have it. */
+  @Nullable
+  public static ReportRowMetricValue metricValue(ReportRow row, String metric) {
+    Map<String, ReportRowMetricValue> values = row.getMetricValues();
+    return values == null ? null : values.get(metric);
+  }
+
+  /**
+   * Returns the given metric as a double, whichever of the integer, micros or double values is
+   * set, or zero if the row does not have it. Micros values are returned unscaled.
+   */
+  public static double metricAsDouble(ReportRow row, String metric) {
+    ReportRowMetricValue value = metricValue(row, metric);
+    if (value == null) {
+      return 0;
+    } else if (value.getIntegerValue() != null) {
+      return value.getIntegerValue();
+    } else if (value.getMicrosValue() != null) {
+      return value.getMicrosValue();
+    } else if (value.getDoubleValue() != null) {
+      return value.getDoubleValue();
+    }
+    return 0;
+  }
+}
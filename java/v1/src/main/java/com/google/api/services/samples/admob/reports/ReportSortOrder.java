@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.MediationReportSpecSortCondition;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpecSortCondition;
+import com.google.api.services.admob.v1.model.ReportRow;
+import java.util.Comparator;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/** Builds comparators that order report rows by a report specification's sort conditions. */
+public final class ReportSortOrder {
+
+  private ReportSortOrder() {}
+
+  /**
+   * Returns a comparator for the sort conditions of a network report, or {@code null} if the
+   * specification has none.
+   */
+  @Nullable
+  public static Comparator<ReportRow> of(NetworkReportSpec reportSpec) {
+    List<NetworkReportSpecSortCondition> sortConditions = reportSpec.getSortConditions();
+    if (sortConditions == null || sortConditions.isEmpty()) {
+      return null;
+    }
+    Comparator<ReportRow> comparator = null;
+    for (NetworkReportSpecSortCondition condition : sortConditions) {
+      comparator =
+          thenComparing(
+              comparator,
+              comparing(condition.getDimension(), condition.getMetric(), condition.getOrder()));
+    }
+    return comparator;
+  }
+
+  /**
+   * Returns a comparator for the sort conditions of a mediation report, or {@code null} if the
+   * specification has none.
+   */
+  @Nullable
+  public static Comparator<ReportRow> of(MediationReportSpec reportSpec) {
+    List<MediationReportSpecSortCondition> sortConditions = reportSpec.getSortConditions();
+    if (sortConditions == null || sortConditions.isEmpty()) {
+      return null;
+    }
+    Comparator<ReportRow> comparator = null;
+    for (MediationReportSpecSortCondition condition : sortConditions) {
+      comparator =
+          thenComparing(
+              comparator,
+              comparing(condition.getDimension(), condition.getMetric(), condition.getOrder()));
+    }
+    return comparator;
+  }
+
+  /**
+   * Returns a comparator for a single sort condition on either a dimension or a metric.
+   *
+   * @param dimension The dimension to sort by, or {@code null} to sort by a metric.
+   * @param metric The metric to sort by, or {@code null} to sort by a dimension.
+   * @param order Either "ASCENDING" or "DESCENDING". Defaults to ascending when unset.
+   */
+  public static Comparator<ReportRow> comparing(
+      @Nullable String dimension, @Nullable String metric, @Nullable String order) {
+    Comparator<ReportRow> comparator;
+    if (dimension != null) {
+      comparator =
+          Comparator.comparing(
+              row -> ReportRows.dimensionValue(row, dimension),
+              Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+    } else if (metric != null) {
+      comparator = Comparator.comparingDouble(row -> ReportRows.metricAsDouble(row, metric));
+    } else {
+      throw new IllegalArgumentException("A sort condition needs a dimension or a metric.");
+    }
+    return "DESCENDING".equals(order) ? comparator.reversed() : comparator;
+  }
+
+  private static Comparator<ReportRow> thenComparing(
+      @Nullable Comparator<ReportRow> first, Comparator<ReportRow> second) {
+    return first == null ? second : first.thenComparing(second);
+  }
+}
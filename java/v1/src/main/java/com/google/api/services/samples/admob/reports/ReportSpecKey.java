@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.json.GenericJson;
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.MediationReportSpecDimensionFilter;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpecDimensionFilter;
+import com.google.api.services.admob.v1.model.StringList;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Computes canonical keys for report requests, so that requests returning the same rows map to the
+ * same key.
+ *
+ * <p>The order of metrics, dimensions, dimension filters and filter values does not change the
+ * rows of a report, so they are sorted before hashing. The order of sort conditions does change
+ * the rows and is kept as is.
+ */
+public final class ReportSpecKey {
+
+  private ReportSpecKey() {}
+
+  /** Returns the key of a network report request for the given account. */
+  public static String of(String accountName, NetworkReportSpec reportSpec) {
+    NetworkReportSpec normalized = ReportSpecs.copyOf(reportSpec);
+    normalized.setMetrics(sorted(reportSpec.getMetrics()));
+    normalized.setDimensions(sorted(reportSpec.getDimensions()));
+    if (reportSpec.getDimensionFilters() != null) {
+      List<NetworkReportSpecDimensionFilter> filters = new ArrayList<>();
+      for (NetworkReportSpecDimensionFilter filter : reportSpec.getDimensionFilters()) {
+        filters.add(
+            ReportSpecs.copy(filter, new NetworkReportSpecDimensionFilter())
+                .setMatchesAny(sorted(filter.getMatchesAny())));
+      }
+      filters.sort(
+          Comparator.comparing(
+              NetworkReportSpecDimensionFilter::getDimension,
+              Comparator.nullsFirst(Comparator.naturalOrder())));
+      normalized.setDimensionFilters(filters);
+    }
+    return hash("networkReport", accountName, normalized);
+  }
+
+  /** Returns the key of a mediation report request for the given account. */
+  public static String of(String accountName, MediationReportSpec reportSpec) {
+    MediationReportSpec normalized = ReportSpecs.copyOf(reportSpec);
+    normalized.setMetrics(sorted(reportSpec.getMetrics()));
+    normalized.setDimensions(sorted(reportSpec.getDimensions()));
+    if (reportSpec.getDimensionFilters() != null) {
+      List<MediationReportSpecDimensionFilter> filters = new ArrayList<>();
+      for (MediationReportSpecDimensionFilter filter : reportSpec.getDimensionFilters()) {
+        filters.add(
+            ReportSpecs.copy(filter, new MediationReportSpecDimensionFilter())
+                .setMatchesAny(sorted(filter.getMatchesAny())));
+      }
+      filters.sort(
+          Comparator.comparing(
+              MediationReportSpecDimensionFilter::getDimension,
+              Comparator.nullsFirst(Comparator.naturalOrder())));
+      normalized.setDimensionFilters(filters);
+    }
+    return hash("mediationReport", accountName, normalized);
+  }
+
+  @Nullable
+  private static List<String> sorted(@Nullable List<String> values) {
+    if (values == null) {
+      return null;
+    }
+    List<String> sorted = new ArrayList<>(values);
+    sorted.sort(null);
+    return sorted;
+  }
+
+  @Nullable
+  private static StringList sorted(@Nullable StringList values) {
+    return values == null
+        ? null
+        : ReportSpecs.copy(values, new StringList()).setValues(sorted(values.getValues()));
+  }
+
+  private static String hash(String method, String accountName, GenericJson reportSpec) {
+    String json;
+    try {
+      // Fields of generated model classes are always serialized in alphabetical order.
+      json = Utils.getDefaultJsonFactory().toString(reportSpec);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to serialize report specification.", e);
+    }
+    return Hashing.sha256()
+        .hashString(method + '\n' + accountName + '\n' + json, UTF_8)
+        .toString();
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.client.json.GenericJson;
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+
+/**
+ * Copies report specs.
+ *
+ * <p>The {@code clone()} of model classes deep-copies their values, which fails on immutable
+ * lists such as the {@code ImmutableList} values the samples build specs with. These copies share
+ * the values instead, so setting a field of a copy leaves the original as is, but values must not
+ * be modified in place.
+ */
+final class ReportSpecs {
+
+  private ReportSpecs() {}
+
+  static NetworkReportSpec copyOf(NetworkReportSpec reportSpec) {
+    return copy(reportSpec, new NetworkReportSpec());
+  }
+
+  static MediationReportSpec copyOf(MediationReportSpec reportSpec) {
+    return copy(reportSpec, new MediationReportSpec());
+  }
+
+  /** Sets every field of a model object to the value of the same field of another one. */
+  static <T extends GenericJson> T copy(GenericJson source, T target) {
+    target.putAll(source);
+    return target;
+  }
+}
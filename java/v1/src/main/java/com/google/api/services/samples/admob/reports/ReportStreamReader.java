@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.json.JsonParser;
+import com.google.api.client.json.JsonToken;
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.samples.admob.metrics.ApiMetrics;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
+
+/**
+ * Reads a network or mediation report response one row at a time.
+ *
+ * <p>Both report methods return a JSON array whose first element holds the report header, followed
+ * by one element per row and a final element holding the footer. Rather than materializing the
+ * whole array, this reader pulls rows from the underlying stream on demand, so memory use stays
+ * constant regardless of report size. The header is read when the reader is opened and the footer
+ * becomes available once every row has been consumed.
+ *
+ * <p>For very large reports, parsing on the reading thread can be slower than the network. A
+ * reader opened with a {@link ForkJoinPool} instead parses the response in chunks on the pool,
+ * reading a few chunks ahead, and still returns the rows in the order of the response.
+ */
+public final class ReportStreamReader implements Iterator<ReportRow>, Closeable {
+
+  /** The parser of the response, or {@code null} if it is parsed in parallel. */
+  @Nullable private final JsonParser parser;
+
+  /** The parallel parser of the response, or {@code null} if it is parsed on this thread. */
+  @Nullable private final ParallelReportParser chunks;
+
+  /** The remaining rows of the current chunk, when parsing in parallel. */
+  private Iterator<ReportRow> chunkRows = Collections.emptyIterator();
+
+  private ReportHeader header;
+  private ReportFooter footer;
+  private ReportRow nextRow;
+  private boolean finished;
+  private boolean closed;
+
+  /** When the reader was opened and how many rows it returned, for {@link ApiMetrics}. */
+  private final long openedNanos = System.nanoTime();
+
+  private long rowCount;
+
+  /** An element of the report array, which holds one of its header, a row or its footer. */
+  static final class Element {
+    @Nullable ReportHeader header;
+    @Nullable ReportRow row;
+    @Nullable ReportFooter footer;
+  }
+
+  private ReportStreamReader(@Nullable JsonParser parser, @Nullable ParallelReportParser chunks) {
+    this.parser = parser;
+    this.chunks = chunks;
+  }
+
+  /**
+   * Opens a reader over a report response stream, as returned by {@code executeAsInputStream()}.
+   * The reader takes ownership of the stream and closes it when the reader is closed.
+   *
+   * @param response The raw report response.
+   * @return A reader positioned on the first row of the report.
+   */
+  public static ReportStreamReader open(InputStream response) throws IOException {
+    JsonParser parser =
+        Utils.getDefaultJsonFactory().createJsonParser(response, StandardCharsets.UTF_8);
+    ReportStreamReader reader = new ReportStreamReader(parser, null);
+    try {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new IOException("Expected the report response to be a JSON array.");
+      }
+      reader.advance();
+    } catch (IOException | RuntimeException e) {
+      parser.close();
+      throw e;
+    }
+    return reader;
+  }
+
+  /**
+   * Opens a reader that parses a report response in parallel on a pool, which helps once a report
+   * is large enough, and the network fast enough, that a single thread cannot parse the response
+   * as fast as it arrives. Chunks of about a megabyte are parsed at once, so small reports are
+   * better read by {@link #open(InputStream)}. The rows of a chunk are only returned once the whole
+   * chunk is parsed, and the few chunks read ahead are held in memory.
+   *
+   * @param response The raw report response.
+   * @param pool The pool to parse the response on. Up to twice its parallelism chunks are read
+   *     ahead.
+   * @return A reader positioned on the first row of the report.
+   */
+  public static ReportStreamReader open(InputStream response, ForkJoinPool pool)
+      throws IOException {
+    ParallelReportParser chunks = new ParallelReportParser(response, pool);
+    ReportStreamReader reader = new ReportStreamReader(null, chunks);
+    try {
+      reader.advance();
+    } catch (IOException | RuntimeException e) {
+      chunks.close();
+      throw e;
+    }
+    return reader;
+  }
+
+  /** Returns the report header, or {@code null} if the response did not include one. */
+  @Nullable
+  public ReportHeader getHeader() {
+    return header;
+  }
+
+  /**
+   * Returns the report footer, or {@code null} if the rows have not all been read yet or the
+   * response did not include one.
+   */
+  @Nullable
+  public ReportFooter getFooter() {
+    return footer;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return nextRow != null;
+  }
+
+  @Override
+  public ReportRow next() {
+    if (nextRow == null) {
+      throw new NoSuchElementException();
+    }
+    ReportRow row = nextRow;
+    rowCount++;
+    try {
+      advance();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return row;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      ApiMetrics.global().recordReportRead(rowCount, System.nanoTime() - openedNanos);
+    }
+    if (parser != null) {
+      parser.close();
+    } else {
+      chunks.close();
+    }
+  }
+
+  /**
+   * Reads array elements until the next row is found or the array ends, recording the header and
+   * footer as they are encountered.
+   */
+  private void advance() throws IOException {
+    nextRow = null;
+    if (chunks != null) {
+      while (!finished && !chunkRows.hasNext()) {
+        ParallelReportParser.Chunk chunk = chunks.next();
+        if (chunk == null) {
+          finished = true;
+          return;
+        }
+        header = chunk.header != null ? chunk.header : header;
+        footer = chunk.footer != null ? chunk.footer : footer;
+        chunkRows = chunk.rows.iterator();
+      }
+      nextRow = chunkRows.hasNext() ? chunkRows.next() : null;
+      return;
+    }
+    while (!finished && nextRow == null) {
+      JsonToken token = parser.nextToken();
+      if (token == JsonToken.END_ARRAY || token == null) {
+        finished = true;
+      } else if (token == JsonToken.START_OBJECT) {
+        Element element = readElement(parser);
+        header = element.header != null ? element.header : header;
+        footer = element.footer != null ? element.footer : footer;
+        nextRow = element.row;
+      } else {
+        throw new IOException("Unexpected token in report response: " + token);
+      }
+    }
+  }
+
+  /**
+   * Reads a single array element, which holds one of "header", "row" or "footer", once the parser
+   * is on its opening brace.
+   */
+  static Element readElement(JsonParser parser) throws IOException {
+    Element element = new Element();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      switch (field) {
+        case "header":
+          element.header = parser.parse(ReportHeader.class);
+          break;
+        case "row":
+          element.row = parser.parse(ReportRow.class);
+          break;
+        case "footer":
+          element.footer = parser.parse(ReportFooter.class);
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+    return element;
+  }
+}
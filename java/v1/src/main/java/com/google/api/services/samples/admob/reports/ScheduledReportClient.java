@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import com.google.api.services.samples.admob.util.RequestScheduler;
+import com.google.api.services.samples.admob.util.RequestScheduler.Priority;
+import com.google.api.services.samples.admob.util.RequestScheduler.QuotaCategory;
+import java.io.IOException;
+
+/**
+ * A {@link ReportClient} that runs every report through a {@link RequestScheduler}, so that it is
+ * rate limited against the reporting quota and retried on transient errors. A report that fails
+ * while its rows are being read is generated again from scratch.
+ */
+public final class ScheduledReportClient implements ReportClient {
+
+  private final ReportClient delegate;
+  private final RequestScheduler scheduler;
+  private final Priority priority;
+
+  /**
+   * @param delegate The client that generates reports.
+   * @param scheduler The scheduler shared by every caller of the API.
+   * @param priority The lane the reports of this client wait in.
+   */
+  public ScheduledReportClient(
+      ReportClient delegate, RequestScheduler scheduler, Priority priority) {
+    this.delegate = delegate;
+    this.scheduler = scheduler;
+    this.priority = priority;
+  }
+
+  @Override
+  public Report generateNetworkReport(String accountName, NetworkReportSpec reportSpec)
+      throws IOException {
+    return scheduler.execute(
+        accountName,
+        QuotaCategory.REPORTING,
+        priority,
+        () -> delegate.generateNetworkReport(accountName, reportSpec));
+  }
+
+  @Override
+  public Report generateMediationReport(String accountName, MediationReportSpec reportSpec)
+      throws IOException {
+    return scheduler.execute(
+        accountName,
+        QuotaCategory.REPORTING,
+        priority,
+        () -> delegate.generateMediationReport(accountName, reportSpec));
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.services.admob.v1.model.DateRange;
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.admob.v1.model.ReportRow;
+import com.google.api.services.admob.v1.model.ReportWarning;
+import com.google.api.services.samples.admob.util.DateUtils;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.RateLimiter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ReportClient} that splits a report's date range into day or week shards, generates the
+ * shards concurrently and merges them back into a single report.
+ *
+ * <p>Shards run on the provided executor, which bounds how many requests are in flight, and are
+ * throttled by a per-account rate limit so that concurrent shards stay within the reporting
+ * quota. Rows of different shards only stay distinct when the report is broken down by DATE, so
+ * the DATE dimension is required. Shards are merged in the report's sort order, or in date order
+ * when the report has no sort conditions.
+ */
+public final class ShardedReportClient implements ReportClient {
+
+  /** The length of the date range covered by each shard. */
+  public enum ShardSize {
+    DAY(1),
+    WEEK(7);
+
+    private final int days;
+
+    ShardSize(int days) {
+      this.days = days;
+    }
+  }
+
+  private final ReportClient delegate;
+  private final ExecutorService executor;
+  private final ShardSize shardSize;
+  private final double requestsPerSecond;
+  private final ConcurrentMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+  /**
+   * @param delegate The client used to generate each shard.
+   * @param executor The executor shards run on. Its pool size bounds the requests in flight.
+   * @param shardSize The length of the date range covered by each shard.
+   * @param requestsPerSecond The maximum rate of shard requests issued per account.
+   */
+  public ShardedReportClient(
+      ReportClient delegate,
+      ExecutorService executor,
+      ShardSize shardSize,
+      double requestsPerSecond) {
+    this.delegate = delegate;
+    this.executor = executor;
+    this.shardSize = shardSize;
+    this.requestsPerSecond = requestsPerSecond;
+  }
+
+  @Override
+  public Report generateNetworkReport(String accountName, NetworkReportSpec reportSpec)
+      throws IOException {
+    checkShardable(reportSpec.getDimensions());
+    return generate(
+        accountName,
+        reportSpec.getDateRange(),
+        shard ->
+            delegate.generateNetworkReport(
+                accountName, ReportSpecs.copyOf(reportSpec).setDateRange(shard)),
+        ReportSortOrder.of(reportSpec),
+        reportSpec.getMaxReportRows());
+  }
+
+  @Override
+  public Report generateMediationReport(String accountName, MediationReportSpec reportSpec)
+      throws IOException {
+    checkShardable(reportSpec.getDimensions());
+    return generate(
+        accountName,
+        reportSpec.getDateRange(),
+        shard ->
+            delegate.generateMediationReport(
+                accountName, ReportSpecs.copyOf(reportSpec).setDateRange(shard)),
+        ReportSortOrder.of(reportSpec),
+        reportSpec.getMaxReportRows());
+  }
+
+  /** Generates the report for a single shard of the date range. */
+  private interface ShardRequest {
+    Report generate(DateRange shard) throws IOException;
+  }
+
+  private static void checkShardable(@Nullable List<String> dimensions) {
+    if (dimensions == null || !dimensions.contains("DATE")) {
+      throw new IllegalArgumentException("Sharded reports must include the DATE dimension.");
+    }
+  }
+
+  private Report generate(
+      String accountName,
+      DateRange dateRange,
+      ShardRequest request,
+      @Nullable Comparator<ReportRow> sortOrder,
+      @Nullable Integer maxReportRows)
+      throws IOException {
+    RateLimiter rateLimiter =
+        rateLimiters.computeIfAbsent(accountName, key -> RateLimiter.create(requestsPerSecond));
+
+    List<Future<Report>> futures = new ArrayList<>();
+    for (DateRange shard : split(dateRange)) {
+      futures.add(
+          executor.submit(
+              () -> {
+                rateLimiter.acquire();
+                return request.generate(shard);
+              }));
+    }
+
+    List<Report> shards = new ArrayList<>();
+    try {
+      for (Future<Report> future : futures) {
+        shards.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      futures.forEach(future -> future.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while generating report shards.");
+    } catch (ExecutionException e) {
+      futures.forEach(future -> future.cancel(true));
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Failed to generate a report shard.", e.getCause());
+    }
+    return merge(dateRange, shards, sortOrder, maxReportRows);
+  }
+
+  /** Splits a date range into consecutive shards of at most {@code shardSize} days. */
+  private List<DateRange> split(DateRange dateRange) {
+    LocalDate endDate = DateUtils.toLocalDate(dateRange.getEndDate());
+    List<DateRange> shards = new ArrayList<>();
+    for (LocalDate start = DateUtils.toLocalDate(dateRange.getStartDate());
+        !start.isAfter(endDate);
+        start = start.plusDays(shardSize.days)) {
+      LocalDate end = start.plusDays(shardSize.days - 1);
+      shards.add(DateUtils.toDateRange(start, end.isAfter(endDate) ? endDate : end));
+    }
+    return shards;
+  }
+
+  private static Report merge(
+      DateRange dateRange,
+      List<Report> shards,
+      @Nullable Comparator<ReportRow> sortOrder,
+      @Nullable Integer maxReportRows) {
+    List<Iterable<ReportRow>> shardRows = new ArrayList<>();
+    for (Report shard : shards) {
+      shardRows.add(shard.getRows());
+    }
+    // Each shard is already sorted by the API, so a k-way merge preserves the sort order.
+    Iterator<ReportRow> rows =
+        sortOrder == null
+            ? Iterables.concat(shardRows).iterator()
+            : Iterators.mergeSorted(
+                Iterables.transform(shardRows, Iterable::iterator), sortOrder);
+    if (maxReportRows != null && maxReportRows > 0) {
+      rows = Iterators.limit(rows, maxReportRows);
+    }
+    List<ReportRow> mergedRows = new ArrayList<>();
+    rows.forEachRemaining(mergedRows::add);
+
+    // Report the full date range in the header and combine the footers of all shards.
+    ReportHeader header = null;
+    ReportFooter footer = null;
+    long matchingRowCount = 0;
+    List<ReportWarning> warnings = new ArrayList<>();
+    for (Report shard : shards) {
+      if (header == null && shard.getHeader() != null) {
+        header = shard.getHeader().clone().setDateRange(dateRange);
+      }
+      ReportFooter shardFooter = shard.getFooter();
+      if (shardFooter != null) {
+        if (footer == null) {
+          footer = shardFooter.clone();
+        }
+        if (shardFooter.getMatchingRowCount() != null) {
+          matchingRowCount += shardFooter.getMatchingRowCount();
+        }
+        if (shardFooter.getWarnings() != null) {
+          warnings.addAll(shardFooter.getWarnings());
+        }
+      }
+    }
+    if (footer != null) {
+      footer
+          .setMatchingRowCount(matchingRowCount)
+          .setWarnings(warnings.isEmpty() ? null : warnings);
+    }
+    return new Report(header, mergedRows, footer);
+  }
+}
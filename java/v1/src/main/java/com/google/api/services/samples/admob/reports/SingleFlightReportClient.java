@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.reports;
+
+import com.google.api.services.admob.v1.model.MediationReportSpec;
+import com.google.api.services.admob.v1.model.NetworkReportSpec;
+import com.google.api.services.samples.admob.util.SingleFlight;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * A {@link ReportClient} that shares one report among concurrent callers asking for the same one,
+ * as identified by {@link ReportSpecKey}, so that identical requests cost a single API call.
+ *
+ * <p>The shared {@link Report} and its rows are handed to every caller, so callers must not modify
+ * them.
+ */
+public final class SingleFlightReportClient implements ReportClient {
+
+  private final ReportClient delegate;
+  private final SingleFlight<String, Report> reports;
+
+  /**
+   * Creates a client that only shares reports while they are being generated.
+   *
+   * @param delegate The client that generates reports.
+   */
+  public SingleFlightReportClient(ReportClient delegate) {
+    this.delegate = delegate;
+    this.reports = new SingleFlight<>();
+  }
+
+  /**
+   * @param delegate The client that generates reports.
+   * @param memoize How long a report is still shared once generated, e.g. a few seconds to absorb
+   *     dashboard refreshes.
+   * @param clock The clock used to expire shared reports.
+   */
+  public SingleFlightReportClient(ReportClient delegate, Duration memoize, Clock clock) {
+    this.delegate = delegate;
+    this.reports = new SingleFlight<>(memoize, clock);
+  }
+
+  @Override
+  public Report generateNetworkReport(String accountName, NetworkReportSpec reportSpec)
+      throws IOException {
+    return reports.get(
+        ReportSpecKey.of(accountName, reportSpec),
+        () -> delegate.generateNetworkReport(accountName, reportSpec));
+  }
+
+  @Override
+  public Report generateMediationReport(String accountName, MediationReportSpec reportSpec)
+      throws IOException {
+    return reports.get(
+        ReportSpecKey.of(accountName, reportSpec),
+        () -> delegate.generateMediationReport(accountName, reportSpec));
+  }
+}
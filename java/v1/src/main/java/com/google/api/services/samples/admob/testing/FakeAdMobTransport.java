@@ -0,0 +1,413 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.testing;
+
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpStatusCodes;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.Json;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.admob.v1.model.AdUnit;
+import com.google.api.services.admob.v1.model.App;
+import com.google.api.services.admob.v1.model.AppManualAppInfo;
+import com.google.api.services.admob.v1.model.ListAdUnitsResponse;
+import com.google.api.services.admob.v1.model.ListAppsResponse;
+import com.google.api.services.admob.v1.model.ListPublisherAccountsResponse;
+import com.google.api.services.admob.v1.model.PublisherAccount;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableMap;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * An in-process stand-in for the AdMob API, for load and latency tests that must not spend quota
+ * or depend on the network.
+ *
+ * <p>Pass it to {@code AdMobFactory.getInstance(HttpTransport)}. It serves {@code accounts.get},
+ * {@code accounts.list}, {@code apps.list}, {@code adUnits.list}, {@code networkReport:generate}
+ * and {@code mediationReport:generate} with synthetic data, and can inject latency, throttling
+ * ({@code 429 RESOURCE_EXHAUSTED}) and unavailability ({@code 503 UNAVAILABLE}) errors as well as
+ * enforce a per-account request quota.
+ *
+ * <p>Report responses always hold the rows of {@link SyntheticReports}, whatever the report spec.
+ * The response is generated once and replayed, so that serving it costs little next to parsing it.
+ */
+public final class FakeAdMobTransport extends HttpTransport {
+
+  private static final JsonFactory JSON_FACTORY = Utils.getDefaultJsonFactory();
+  private static final String PUBLISHER_ID_FORMAT = "pub-%016d";
+
+  private final int accounts;
+  private final int appsPerAccount;
+  private final int adUnitsPerApp;
+  private final int defaultPageSize;
+  private final Duration latency;
+  private final double throttledRate;
+  private final double unavailableRate;
+  private final int requestsPerMinute;
+  private final Supplier<byte[]> report;
+
+  private final ConcurrentMap<String, QuotaWindow> quotaWindows = new ConcurrentHashMap<>();
+  private final AtomicLong requestCount = new AtomicLong();
+  private final AtomicLong errorCount = new AtomicLong();
+
+  private FakeAdMobTransport(Builder builder) {
+    this.accounts = builder.accounts;
+    this.appsPerAccount = builder.appsPerAccount;
+    this.adUnitsPerApp = builder.adUnitsPerApp;
+    this.defaultPageSize = builder.defaultPageSize;
+    this.latency = builder.latency;
+    this.throttledRate = builder.throttledRate;
+    this.unavailableRate = builder.unavailableRate;
+    this.requestsPerMinute = builder.requestsPerMinute;
+    long reportRows = builder.reportRows;
+    this.report = Suppliers.memoize(() -> generateReport(reportRows));
+  }
+
+  /** Returns the name of one of the fake accounts. */
+  public static String accountName(int account) {
+    return "accounts/" + String.format(PUBLISHER_ID_FORMAT, account);
+  }
+
+  /** Returns the number of requests received so far. */
+  public long getRequestCount() {
+    return requestCount.get();
+  }
+
+  /** Returns the number of requests answered with an error so far. */
+  public long getErrorCount() {
+    return errorCount.get();
+  }
+
+  @Override
+  protected LowLevelHttpRequest buildRequest(String method, String url) {
+    return new MockLowLevelHttpRequest(url) {
+      @Override
+      public LowLevelHttpResponse execute() throws IOException {
+        return respond(method, new GenericUrl(url));
+      }
+    };
+  }
+
+  private LowLevelHttpResponse respond(String method, GenericUrl url) throws IOException {
+    requestCount.incrementAndGet();
+    sleep(latency);
+
+    // Paths look like "/v1/accounts/pub-XXXXXXXXXXXXXXXX/apps".
+    String[] path = url.getRawPath().replaceFirst("^/v1/", "").split("/");
+    if (!path[0].equals("accounts")) {
+      return error(HttpStatusCodes.STATUS_CODE_NOT_FOUND, "NOT_FOUND", "Unknown method.");
+    }
+    if (path.length == 1) {
+      return listAccounts(url);
+    }
+    int account = parseAccount(path[1]);
+    if (account < 0) {
+      return error(HttpStatusCodes.STATUS_CODE_NOT_FOUND, "NOT_FOUND", "Unknown account.");
+    }
+    if (!quotaWindows.computeIfAbsent(path[1], key -> new QuotaWindow()).tryAcquire()) {
+      return error(429, "RESOURCE_EXHAUSTED", "Quota exceeded for quota metric 'Requests'.");
+    }
+    double fault = ThreadLocalRandom.current().nextDouble();
+    if (fault < throttledRate) {
+      return error(429, "RESOURCE_EXHAUSTED", "Too many requests.");
+    }
+    if (fault < throttledRate + unavailableRate) {
+      return error(
+          HttpStatusCodes.STATUS_CODE_SERVICE_UNAVAILABLE, "UNAVAILABLE", "Service unavailable.");
+    }
+
+    String resource = path.length == 2 ? "" : path[2];
+    if (path.length == 2 && method.equals("GET")) {
+      return json(publisherAccount(account));
+    } else if (resource.equals("apps") && method.equals("GET")) {
+      return listApps(account, url);
+    } else if (resource.equals("adUnits") && method.equals("GET")) {
+      return listAdUnits(account, url);
+    } else if ((resource.equals("networkReport:generate")
+            || resource.equals("mediationReport:generate"))
+        && method.equals("POST")) {
+      return new MockLowLevelHttpResponse()
+          .setContentType(Json.MEDIA_TYPE)
+          .setContent(report.get());
+    }
+    return error(HttpStatusCodes.STATUS_CODE_NOT_FOUND, "NOT_FOUND", "Unknown method.");
+  }
+
+  private LowLevelHttpResponse listAccounts(GenericUrl url) throws IOException {
+    List<PublisherAccount> page = new ArrayList<>();
+    int start = pageStart(url);
+    int end = pageEnd(url, start, accounts);
+    for (int account = start; account < end; account++) {
+      page.add(publisherAccount(account));
+    }
+    return json(
+        new ListPublisherAccountsResponse()
+            .setAccount(page)
+            .setNextPageToken(nextPageToken(end, accounts)));
+  }
+
+  private LowLevelHttpResponse listApps(int account, GenericUrl url) throws IOException {
+    List<App> page = new ArrayList<>();
+    int start = pageStart(url);
+    int end = pageEnd(url, start, appsPerAccount);
+    for (int app = start; app < end; app++) {
+      String appId = SyntheticReports.appId(app);
+      page.add(
+          new App()
+              .setName(accountName(account) + "/apps/" + appId)
+              .setAppId(appId)
+              .setPlatform(app % 2 == 0 ? "ANDROID" : "IOS")
+              .setManualAppInfo(new AppManualAppInfo().setDisplayName("App " + app)));
+    }
+    return json(
+        new ListAppsResponse()
+            .setApps(page)
+            .setNextPageToken(nextPageToken(end, appsPerAccount)));
+  }
+
+  private LowLevelHttpResponse listAdUnits(int account, GenericUrl url) throws IOException {
+    int adUnits = appsPerAccount * adUnitsPerApp;
+    List<AdUnit> page = new ArrayList<>();
+    int start = pageStart(url);
+    int end = pageEnd(url, start, adUnits);
+    for (int adUnit = start; adUnit < end; adUnit++) {
+      String adUnitId = SyntheticReports.adUnitId(adUnit);
+      page.add(
+          new AdUnit()
+              .setName(accountName(account) + "/adUnits/" + adUnitId.replaceFirst(".*/", ""))
+              .setAdUnitId(adUnitId)
+              .setAppId(SyntheticReports.appId(adUnit / adUnitsPerApp))
+              .setDisplayName("Ad unit " + adUnit)
+              .setAdFormat("BANNER"));
+    }
+    return json(
+        new ListAdUnitsResponse().setAdUnits(page).setNextPageToken(nextPageToken(end, adUnits)));
+  }
+
+  private PublisherAccount publisherAccount(int account) {
+    return new PublisherAccount()
+        .setName(accountName(account))
+        .setPublisherId(String.format(PUBLISHER_ID_FORMAT, account))
+        .setReportingTimeZone("America/Los_Angeles")
+        .setCurrencyCode("USD");
+  }
+
+  /** Returns the index of a fake account, or -1 if there is no such account. */
+  private int parseAccount(String publisherId) {
+    try {
+      int account = Integer.parseInt(publisherId.replaceFirst("^pub-", ""));
+      return account < accounts ? account : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /** Page tokens are the offset of the first item of the page. */
+  private static int pageStart(GenericUrl url) {
+    Object pageToken = url.getFirst("pageToken");
+    return pageToken == null ? 0 : Integer.parseInt(pageToken.toString());
+  }
+
+  private int pageEnd(GenericUrl url, int start, int size) {
+    Object pageSize = url.getFirst("pageSize");
+    int limit = pageSize == null ? defaultPageSize : Integer.parseInt(pageSize.toString());
+    return (int) Math.min(size, (long) start + limit);
+  }
+
+  @Nullable
+  private static String nextPageToken(int end, int size) {
+    return end < size ? Integer.toString(end) : null;
+  }
+
+  private static MockLowLevelHttpResponse json(Object content) throws IOException {
+    return new MockLowLevelHttpResponse()
+        .setContentType(Json.MEDIA_TYPE)
+        .setContent(JSON_FACTORY.toByteArray(content));
+  }
+
+  private LowLevelHttpResponse error(int statusCode, String status, String message)
+      throws IOException {
+    errorCount.incrementAndGet();
+    GenericJson error = new GenericJson();
+    error.set("code", statusCode);
+    error.set("message", message);
+    error.set("status", status);
+    return json(ImmutableMap.of("error", error)).setStatusCode(statusCode);
+  }
+
+  private static byte[] generateReport(long rows) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      SyntheticReports.writeReport(out, rows, rows);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static void sleep(Duration duration) throws InterruptedIOException {
+    if (duration.isZero()) {
+      return;
+    }
+    try {
+      Thread.sleep(duration.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+  }
+
+  /** Counts the requests of an account within the current minute. */
+  private final class QuotaWindow {
+
+    private long minute;
+    private int requests;
+
+    synchronized boolean tryAcquire() {
+      if (requestsPerMinute == 0) {
+        return true;
+      }
+      long now = TimeUnit.NANOSECONDS.toMinutes(System.nanoTime());
+      if (now != minute) {
+        minute = now;
+        requests = 0;
+      }
+      return ++requests <= requestsPerMinute;
+    }
+  }
+
+  /** Configures a {@link FakeAdMobTransport}. */
+  public static final class Builder {
+
+    private int accounts = 1;
+    private int appsPerAccount = 50;
+    private int adUnitsPerApp = 20;
+    private int defaultPageSize = 100;
+    private long reportRows = 1_000;
+    private Duration latency = Duration.ZERO;
+    private double throttledRate;
+    private double unavailableRate;
+    private int requestsPerMinute;
+
+    /** Sets the number of accounts listed by {@code accounts.list}. */
+    public Builder setAccounts(int accounts) {
+      if (accounts <= 0) {
+        throw new IllegalArgumentException("The number of accounts must be positive.");
+      }
+      this.accounts = accounts;
+      return this;
+    }
+
+    /** Sets the number of apps of each account. */
+    public Builder setAppsPerAccount(int appsPerAccount) {
+      if (appsPerAccount < 0) {
+        throw new IllegalArgumentException("The number of apps per account must not be negative.");
+      }
+      this.appsPerAccount = appsPerAccount;
+      return this;
+    }
+
+    /** Sets the number of ad units of each app. */
+    public Builder setAdUnitsPerApp(int adUnitsPerApp) {
+      if (adUnitsPerApp < 0) {
+        throw new IllegalArgumentException("The number of ad units per app must not be negative.");
+      }
+      this.adUnitsPerApp = adUnitsPerApp;
+      return this;
+    }
+
+    /** Sets the page size of list requests that do not specify one. */
+    public Builder setDefaultPageSize(int defaultPageSize) {
+      if (defaultPageSize <= 0) {
+        throw new IllegalArgumentException("The default page size must be positive.");
+      }
+      this.defaultPageSize = defaultPageSize;
+      return this;
+    }
+
+    /** Sets the number of rows of every report. */
+    public Builder setReportRows(long reportRows) {
+      if (reportRows < 0) {
+        throw new IllegalArgumentException("The number of report rows must not be negative.");
+      }
+      this.reportRows = reportRows;
+      return this;
+    }
+
+    /** Sets the time every request takes before being answered. */
+    public Builder setLatency(Duration latency) {
+      if (latency.isNegative()) {
+        throw new IllegalArgumentException("The latency must not be negative.");
+      }
+      this.latency = latency;
+      return this;
+    }
+
+    /** Sets the fraction of requests answered with {@code 429 RESOURCE_EXHAUSTED}. */
+    public Builder setThrottledRate(double throttledRate) {
+      if (throttledRate < 0 || throttledRate > 1) {
+        throw new IllegalArgumentException("The throttled rate must be between 0 and 1.");
+      }
+      this.throttledRate = throttledRate;
+      return this;
+    }
+
+    /** Sets the fraction of requests answered with {@code 503 UNAVAILABLE}. */
+    public Builder setUnavailableRate(double unavailableRate) {
+      if (unavailableRate < 0 || unavailableRate > 1) {
+        throw new IllegalArgumentException("The unavailable rate must be between 0 and 1.");
+      }
+      this.unavailableRate = unavailableRate;
+      return this;
+    }
+
+    /**
+     * Sets the number of requests each account may make per minute before being answered with
+     * {@code 429 RESOURCE_EXHAUSTED}, or 0 for no limit.
+     */
+    public Builder setRequestsPerMinute(int requestsPerMinute) {
+      if (requestsPerMinute < 0) {
+        throw new IllegalArgumentException("The requests per minute must not be negative.");
+      }
+      this.requestsPerMinute = requestsPerMinute;
+      return this;
+    }
+
+    public FakeAdMobTransport build() {
+      return new FakeAdMobTransport(this);
+    }
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.testing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.json.JsonGenerator;
+import com.google.api.services.admob.v1.model.ReportFooter;
+import com.google.api.services.admob.v1.model.ReportHeader;
+import com.google.api.services.samples.admob.util.DateUtils;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import javax.annotation.Nullable;
+
+/**
+ * Generates synthetic report responses in the same JSON format as the AdMob API, for benchmarks and
+ * load tests that must not depend on a live account.
+ *
+ * <p>Rows are written one at a time, so responses of any size can be generated with flat memory.
+ */
+public final class SyntheticReports {
+
+  /** The dimensions of every synthetic row. */
+  public static final ImmutableList<String> DIMENSIONS =
+      ImmutableList.of("DATE", "APP", "AD_UNIT", "COUNTRY", "FORMAT");
+
+  /** The metrics of every synthetic row. */
+  public static final ImmutableList<String> METRICS =
+      ImmutableList.of("AD_REQUESTS", "IMPRESSIONS", "CLICKS", "ESTIMATED_EARNINGS", "MATCH_RATE");
+
+  private static final ImmutableList<String> COUNTRIES =
+      ImmutableList.of("US", "CA", "GB", "DE", "FR", "JP", "BR", "IN", "MX", "AU");
+  private static final ImmutableList<String> FORMATS =
+      ImmutableList.of("BANNER", "INTERSTITIAL", "NATIVE", "REWARDED");
+
+  private static final int DAYS = 90;
+  private static final int APPS = 50;
+  private static final int AD_UNITS_PER_APP = 20;
+  private static final LocalDate START_DATE = LocalDate.of(2021, 1, 1);
+  private static final String PUBLISHER_ID = "pub-0000000000000000";
+
+  private SyntheticReports() {}
+
+  /**
+   * Writes a report response with the given number of rows. The stream is flushed but not closed.
+   *
+   * @param out The stream to write the response to.
+   * @param rowCount The number of rows to write.
+   * @param seed The seed of the random metric values, so that responses are reproducible.
+   */
+  public static void writeReport(OutputStream out, long rowCount, long seed) throws IOException {
+    Random random = new Random(seed);
+    JsonGenerator generator = Utils.getDefaultJsonFactory().createJsonGenerator(out, UTF_8);
+    generator.writeStartArray();
+
+    generator.writeStartObject();
+    generator.writeFieldName("header");
+    generator.serialize(
+        new ReportHeader()
+            .setDateRange(DateUtils.toDateRange(START_DATE, START_DATE.plusDays(DAYS - 1)))
+            .setReportingTimeZone("America/Los_Angeles"));
+    generator.writeEndObject();
+
+    for (long row = 0; row < rowCount; row++) {
+      int adUnit = (int) (row / DAYS % (APPS * AD_UNITS_PER_APP));
+      int app = adUnit / AD_UNITS_PER_APP;
+      long adRequests = 1 + random.nextInt(10_000);
+      long impressions = (long) (adRequests * random.nextDouble());
+
+      generator.writeStartObject();
+      generator.writeFieldName("row");
+      generator.writeStartObject();
+
+      generator.writeFieldName("dimensionValues");
+      generator.writeStartObject();
+      writeDimension(
+          generator,
+          "DATE",
+          START_DATE.plusDays(row % DAYS).format(DateTimeFormatter.BASIC_ISO_DATE),
+          null);
+      writeDimension(generator, "APP", appId(app), "App " + app);
+      writeDimension(generator, "AD_UNIT", adUnitId(adUnit), "Ad unit " + adUnit);
+      writeDimension(generator, "COUNTRY", COUNTRIES.get((int) (row % COUNTRIES.size())), null);
+      writeDimension(generator, "FORMAT", FORMATS.get(adUnit % FORMATS.size()), null);
+      generator.writeEndObject();
+
+      generator.writeFieldName("metricValues");
+      generator.writeStartObject();
+      writeMetric(generator, "AD_REQUESTS", "integerValue", adRequests);
+      writeMetric(generator, "IMPRESSIONS", "integerValue", impressions);
+      writeMetric(generator, "CLICKS", "integerValue", impressions / 100);
+      writeMetric(generator, "ESTIMATED_EARNINGS", "microsValue", impressions * 1_500);
+      generator.writeFieldName("MATCH_RATE");
+      generator.writeStartObject();
+      generator.writeFieldName("doubleValue");
+      generator.writeNumber(random.nextDouble());
+      generator.writeEndObject();
+      generator.writeEndObject();
+
+      generator.writeEndObject();
+      generator.writeEndObject();
+    }
+
+    generator.writeStartObject();
+    generator.writeFieldName("footer");
+    generator.serialize(new ReportFooter().setMatchingRowCount(rowCount));
+    generator.writeEndObject();
+
+    generator.writeEndArray();
+    generator.flush();
+  }
+
+  /** Returns the ID of a synthetic app. */
+  public static String appId(int app) {
+    return String.format("ca-app-%s~%010d", PUBLISHER_ID, app);
+  }
+
+  /** Returns the ID of a synthetic ad unit. */
+  public static String adUnitId(int adUnit) {
+    return String.format("ca-app-%s/%010d", PUBLISHER_ID, adUnit);
+  }
+
+  private static void writeDimension(
+      JsonGenerator generator, String dimension, String value, @Nullable String displayLabel)
+      throws IOException {
+    generator.writeFieldName(dimension);
+    generator.writeStartObject();
+    generator.writeFieldName("value");
+    generator.writeString(value);
+    if (displayLabel != null) {
+      generator.writeFieldName("displayLabel");
+      generator.writeString(displayLabel);
+    }
+    generator.writeEndObject();
+  }
+
+  private static void writeMetric(
+      JsonGenerator generator, String metric, String type, long value) throws IOException {
+    generator.writeFieldName(metric);
+    generator.writeStartObject();
+    generator.writeFieldName(type);
+    // 64-bit integers are encoded as JSON strings by the API.
+    generator.writeString(Long.toString(value));
+    generator.writeEndObject();
+  }
+}
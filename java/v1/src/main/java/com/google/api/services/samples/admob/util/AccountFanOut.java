@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.util;
+
+import com.google.common.util.concurrent.RateLimiter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs a task for many publisher accounts in parallel.
+ *
+ * <p>Tasks run on virtual threads when the JVM supports them (Java 21+) and on a bounded thread
+ * pool otherwise. At most {@code maxConcurrency} tasks run at once across all accounts. Unless its
+ * tasks are already rate limited, e.g. by a {@link RequestScheduler}, each account can also have
+ * its own rate limit, shared by every task run for that account, so that adding accounts never
+ * pushes a single account over its API quota.
+ */
+public final class AccountFanOut implements AutoCloseable {
+
+  /** A task to run for a single account. */
+  public interface AccountTask<T> {
+    T run(String accountName) throws Exception;
+  }
+
+  /** The values returned by a task for each account, and the accounts for which it failed. */
+  public static final class Results<T> {
+    private final Map<String, T> values;
+    private final Map<String, Exception> failures;
+
+    private Results(Map<String, T> values, Map<String, Exception> failures) {
+      this.values = Collections.unmodifiableMap(values);
+      this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    /** Returns the value returned for each account that succeeded, in input order. */
+    public Map<String, T> getValues() {
+      return values;
+    }
+
+    /** Returns the exception thrown for each account that failed, in input order. */
+    public Map<String, Exception> getFailures() {
+      return failures;
+    }
+  }
+
+  private final ExecutorService executor;
+  private final Semaphore permits;
+  private final double tasksPerSecondPerAccount;
+  private final ConcurrentMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a fan-out that does not rate limit tasks, for tasks that limit their own requests.
+   *
+   * @param maxConcurrency The maximum number of tasks running at once across all accounts.
+   */
+  public AccountFanOut(int maxConcurrency) {
+    this(maxConcurrency, Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * @param maxConcurrency The maximum number of tasks running at once across all accounts.
+   * @param tasksPerSecondPerAccount The maximum rate at which tasks start for a single account.
+   */
+  public AccountFanOut(int maxConcurrency, double tasksPerSecondPerAccount) {
+    this.executor = newExecutor(maxConcurrency);
+    this.permits = new Semaphore(maxConcurrency);
+    this.tasksPerSecondPerAccount = tasksPerSecondPerAccount;
+  }
+
+  /**
+   * Runs a task for every account and waits for all of them to complete. A failure for one account
+   * does not stop the others.
+   *
+   * @param accountNames The accounts to run the task for.
+   * @param task The task to run.
+   * @return The value returned or the exception thrown for each account.
+   */
+  public <T> Results<T> run(Collection<String> accountNames, AccountTask<T> task)
+      throws InterruptedException {
+    Map<String, Future<T>> futures = new LinkedHashMap<>();
+    for (String accountName : accountNames) {
+      RateLimiter rateLimiter =
+          Double.isInfinite(tasksPerSecondPerAccount)
+              ? null
+              : rateLimiters.computeIfAbsent(
+                  accountName, key -> RateLimiter.create(tasksPerSecondPerAccount));
+      futures.put(
+          accountName,
+          executor.submit(
+              () -> {
+                permits.acquire();
+                try {
+                  if (rateLimiter != null) {
+                    rateLimiter.acquire();
+                  }
+                  return task.run(accountName);
+                } finally {
+                  permits.release();
+                }
+              }));
+    }
+
+    Map<String, T> values = new LinkedHashMap<>();
+    Map<String, Exception> failures = new LinkedHashMap<>();
+    try {
+      for (Map.Entry<String, Future<T>> entry : futures.entrySet()) {
+        try {
+          values.put(entry.getKey(), entry.getValue().get());
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          failures.put(entry.getKey(), cause instanceof Exception ? (Exception) cause : e);
+        }
+      }
+    } catch (InterruptedException e) {
+      List<Future<T>> pending = new ArrayList<>(futures.values());
+      pending.forEach(future -> future.cancel(true));
+      throw e;
+    }
+    return new Results<>(values, failures);
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  private static ExecutorService newExecutor(int maxConcurrency) {
+    try {
+      // Virtual threads are only available on Java 21+, so look them up reflectively to keep
+      // compiling for older releases. Concurrency is still bounded by the permits.
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newFixedThreadPool(maxConcurrency);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.util;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.services.samples.admob.metrics.ApiMetrics;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the access token of a credential fresh in the background.
+ *
+ * <p>A {@link Credential} only refreshes its access token when a request finds it expired, which
+ * stalls that request and every concurrent one behind it for a token server round trip. This
+ * manager refreshes the token on a daemon thread shortly before it expires instead, and fetches the
+ * first token as soon as it is created, so that it overlaps with the rest of startup. Only that
+ * thread refreshes, so concurrent requests share one token and never race to refresh it. Should a
+ * background refresh fail, the credential still refreshes itself on the next request as before.
+ */
+public final class CredentialManager implements AutoCloseable {
+
+  /** How long before expiry tokens are refreshed, well ahead of the credential's own minute. */
+  private static final Duration DEFAULT_REFRESH_MARGIN = Duration.ofMinutes(5);
+
+  private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+  private final Credential credential;
+  private final long refreshMarginSeconds;
+  private final ScheduledExecutorService refresher =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "credential-refresh");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public CredentialManager(Credential credential) {
+    this(credential, DEFAULT_REFRESH_MARGIN);
+  }
+
+  /**
+   * @param credential The credential to keep fresh.
+   * @param refreshMargin How long before expiry to refresh the access token.
+   */
+  public CredentialManager(Credential credential, Duration refreshMargin) {
+    if (refreshMargin.isNegative()) {
+      throw new IllegalArgumentException("The refresh margin must not be negative.");
+    }
+    this.credential = credential;
+    this.refreshMarginSeconds = refreshMargin.getSeconds();
+    refresher.execute(this::refreshIfExpiring);
+  }
+
+  /** Returns the managed credential, to authorize requests with. */
+  public Credential getCredential() {
+    return credential;
+  }
+
+  /** Stops refreshing the access token. */
+  @Override
+  public void close() {
+    refresher.shutdownNow();
+  }
+
+  /** Refreshes the access token if it is missing or about to expire, and schedules the next run. */
+  private void refreshIfExpiring() {
+    long delaySeconds;
+    try {
+      Long expiresInSeconds = credential.getExpiresInSeconds();
+      if (credential.getAccessToken() == null
+          || (expiresInSeconds != null && expiresInSeconds <= refreshMarginSeconds)) {
+        long start = System.nanoTime();
+        boolean refreshed = credential.refreshToken();
+        ApiMetrics.global().time(ApiMetrics.TOKEN_REFRESH, System.nanoTime() - start);
+        if (!refreshed) {
+          // Nothing to refresh the token with.
+          return;
+        }
+        expiresInSeconds = credential.getExpiresInSeconds();
+      }
+      if (expiresInSeconds == null) {
+        // The token never expires.
+        return;
+      }
+      delaySeconds = Math.max(1, expiresInSeconds - refreshMarginSeconds);
+    } catch (IOException | RuntimeException e) {
+      delaySeconds = RETRY_DELAY.getSeconds();
+    }
+    if (!refresher.isShutdown()) {
+      refresher.schedule(this::refreshIfExpiring, delaySeconds, TimeUnit.SECONDS);
+    }
+  }
+}
@@ -17,7 +17,9 @@
 package com.google.api.services.samples.admob.util;
 
 import com.google.api.services.admob.v1.model.Date;
+import com.google.api.services.admob.v1.model.DateRange;
 import java.time.Clock;
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
 
 /*
@@ -41,10 +43,22 @@ public final class DateUtils {
     return toDate(dateTime);
   }
 
-  private static Date toDate(ZonedDateTime dateTime) {
+  public static Date toDate(LocalDate localDate) {
     return new Date()
-        .setYear(dateTime.getYear())
-        .setMonth(dateTime.getMonthValue())
-        .setDay(dateTime.getDayOfMonth());
+        .setYear(localDate.getYear())
+        .setMonth(localDate.getMonthValue())
+        .setDay(localDate.getDayOfMonth());
+  }
+
+  public static LocalDate toLocalDate(Date date) {
+    return LocalDate.of(date.getYear(), date.getMonth(), date.getDay());
+  }
+
+  public static DateRange toDateRange(LocalDate startDate, LocalDate endDate) {
+    return new DateRange().setStartDate(toDate(startDate)).setEndDate(toDate(endDate));
+  }
+
+  private static Date toDate(ZonedDateTime dateTime) {
+    return toDate(dateTime.toLocalDate());
   }
 }
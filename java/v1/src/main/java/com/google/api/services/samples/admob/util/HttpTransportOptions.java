@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.util;
+
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
+import java.net.ProxySelector;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.apache.http.client.HttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
+
+/**
+ * Settings of the HTTP transport shared by all AdMob API clients of a process.
+ *
+ * <p>All API requests go to the same host, so when many report and list calls run concurrently the
+ * number of pooled connections per route is what bounds them; a connection is only set up, and its
+ * TLS handshake only paid, when no idle pooled connection is available. The transport speaks
+ * HTTP/1.1: HTTP/2 would need the JDK 11 {@code HttpClient}, while these samples target Java 8.
+ */
+public final class HttpTransportOptions {
+
+  /** The default settings, sized for fanning requests out over a few dozen accounts. */
+  public static final HttpTransportOptions DEFAULT = new Builder().build();
+
+  private final int maxConnections;
+  private final int maxConnectionsPerRoute;
+  private final Duration connectTimeout;
+  private final Duration readTimeout;
+  private final Duration idleTimeout;
+  private final boolean gzip;
+
+  private HttpTransportOptions(Builder builder) {
+    this.maxConnections = builder.maxConnections;
+    this.maxConnectionsPerRoute = builder.maxConnectionsPerRoute;
+    this.connectTimeout = builder.connectTimeout;
+    this.readTimeout = builder.readTimeout;
+    this.idleTimeout = builder.idleTimeout;
+    this.gzip = builder.gzip;
+  }
+
+  /**
+   * Creates a transport backed by a pool of persistent connections. The transport is thread-safe
+   * and meant to be shared by every client of the process.
+   */
+  public HttpTransport newTransport() {
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(maxConnections);
+    connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+    // Redirects, retries and decompression are left to the google-http-client request.
+    HttpClient httpClient =
+        HttpClientBuilder.create()
+            .useSystemProperties()
+            .setConnectionManager(connectionManager)
+            .setRoutePlanner(new SystemDefaultRoutePlanner(ProxySelector.getDefault()))
+            .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .disableRedirectHandling()
+            .disableAutomaticRetries()
+            .disableContentCompression()
+            .build();
+    return new ApacheHttpTransport(httpClient);
+  }
+
+  /**
+   * Returns a request initializer that applies these settings to every request, after the given
+   * initializer, typically a credential.
+   *
+   * @param delegate The initializer to run first, or {@code null} for none.
+   */
+  public HttpRequestInitializer newRequestInitializer(@Nullable HttpRequestInitializer delegate) {
+    return request -> {
+      if (delegate != null) {
+        delegate.initialize(request);
+      }
+      request.setConnectTimeout((int) connectTimeout.toMillis());
+      request.setReadTimeout((int) readTimeout.toMillis());
+      request.getHeaders().setAcceptEncoding(gzip ? "gzip" : null);
+    };
+  }
+
+  /** Builds {@link HttpTransportOptions}. */
+  public static final class Builder {
+
+    private int maxConnections = 200;
+    private int maxConnectionsPerRoute = 64;
+    private Duration connectTimeout = Duration.ofSeconds(20);
+    // Large reports can take minutes to be produced.
+    private Duration readTimeout = Duration.ofMinutes(5);
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    private boolean gzip = true;
+
+    /** Sets the maximum number of pooled connections, across all routes. */
+    public Builder setMaxConnections(int maxConnections) {
+      if (maxConnections <= 0) {
+        throw new IllegalArgumentException("The maximum number of connections must be positive.");
+      }
+      this.maxConnections = maxConnections;
+      return this;
+    }
+
+    /** Sets the maximum number of pooled connections to a single host. */
+    public Builder setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+      if (maxConnectionsPerRoute <= 0) {
+        throw new IllegalArgumentException(
+            "The maximum number of connections per route must be positive.");
+      }
+      this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+      return this;
+    }
+
+    /** Sets how long to wait for a connection to be established, or zero to wait forever. */
+    public Builder setConnectTimeout(Duration connectTimeout) {
+      this.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    /** Sets how long to wait for response data, or zero to wait forever. */
+    public Builder setReadTimeout(Duration readTimeout) {
+      this.readTimeout = readTimeout;
+      return this;
+    }
+
+    /** Sets how long a pooled connection may stay idle before being closed. */
+    public Builder setIdleTimeout(Duration idleTimeout) {
+      this.idleTimeout = idleTimeout;
+      return this;
+    }
+
+    /** Sets whether to ask for gzip-compressed responses. */
+    public Builder setGzip(boolean gzip) {
+      this.gzip = gzip;
+      return this;
+    }
+
+    public HttpTransportOptions build() {
+      return new HttpTransportOptions(this);
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.util;
+
+import com.google.api.services.samples.admob.metrics.ApiMetrics;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
+
+/**
+ * Iterates over the pages of a paginated list request, fetching upcoming pages in the background
+ * while the caller processes the current one.
+ *
+ * <p>As soon as a page arrives its next page token is known, so the following page is requested
+ * right away instead of after the caller is done with the current page. At most {@code lookahead}
+ * pages are fetched ahead of the caller: a page is only requested once fewer than {@code
+ * lookahead} fetched pages are waiting to be taken, which caps memory use when the caller is slower
+ * than the network.
+ *
+ * <p>If a page fails to be fetched, the error is thrown to the caller once it has taken the pages
+ * before it, and no further pages are fetched.
+ */
+public final class PagePrefetcher<P> implements Iterator<P>, AutoCloseable {
+
+  /** Fetches a single page of results. */
+  public interface PageRequest<P> {
+    /**
+     * @param pageToken The token of the page to fetch, or {@code null} for the first page.
+     */
+    P fetch(@Nullable String pageToken) throws IOException;
+  }
+
+  /** Marks the end of the pages in the buffer. */
+  private static final Object END = new Object();
+
+  /** Marks a failed fetch in the buffer. */
+  private static final class Failure {
+    final Throwable error;
+
+    Failure(Throwable error) {
+      this.error = error;
+    }
+  }
+
+  private final BlockingQueue<Object> buffer = new LinkedBlockingQueue<>();
+  private final Semaphore pagesAhead;
+  private final Future<?> producer;
+  private Object next;
+
+  /**
+   * Starts fetching pages in the background.
+   *
+   * @param request Fetches a page given its token.
+   * @param nextPageToken Returns the token of the page following the given one, or {@code null} if
+   *     it is the last page.
+   * @param executor The executor pages are fetched on.
+   * @param lookahead The maximum number of pages fetched ahead of the caller, which must be
+   *     positive.
+   */
+  public PagePrefetcher(
+      PageRequest<P> request,
+      Function<P, String> nextPageToken,
+      ExecutorService executor,
+      int lookahead) {
+    if (lookahead <= 0) {
+      throw new IllegalArgumentException("The lookahead must be positive.");
+    }
+    this.pagesAhead = new Semaphore(lookahead);
+    this.producer =
+        executor.submit(
+            () -> {
+              try {
+                String pageToken = null;
+                do {
+                  // Wait until the caller has taken enough pages to fetch another one.
+                  pagesAhead.acquire();
+                  P page = request.fetch(pageToken);
+                  ApiMetrics.global().count(ApiMetrics.PAGES_FETCHED, 1);
+                  buffer.put(page);
+                  pageToken = nextPageToken.apply(page);
+                } while (pageToken != null);
+                buffer.put(END);
+              } catch (InterruptedException e) {
+                // Closed before all pages were fetched.
+              } catch (Throwable e) {
+                // Hand every failure, including errors, to the caller, who would otherwise wait
+                // for the next page forever.
+                buffer.put(new Failure(e));
+              }
+              return null;
+            });
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null) {
+      try {
+        next = buffer.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for the next page.", e);
+      }
+      if (next != END && !(next instanceof Failure)) {
+        // The page is no longer ahead of the caller.
+        pagesAhead.release();
+      }
+    }
+    if (next instanceof Failure) {
+      Throwable error = ((Failure) next).error;
+      if (error instanceof IOException) {
+        throw new UncheckedIOException((IOException) error);
+      } else if (error instanceof RuntimeException) {
+        throw (RuntimeException) error;
+      } else if (error instanceof Error) {
+        throw (Error) error;
+      }
+      throw new IllegalStateException("Fetching a page failed.", error);
+    }
+    return next != END;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public P next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    P page = (P) next;
+    next = null;
+    return page;
+  }
+
+  /** Returns the remaining pages as a sequential stream. */
+  public Stream<P> stream() {
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  /** Stops fetching pages. Pages already buffered are discarded. */
+  @Override
+  public void close() {
+    producer.cancel(true);
+    buffer.clear();
+  }
+}
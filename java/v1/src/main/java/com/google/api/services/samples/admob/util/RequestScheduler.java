@@ -0,0 +1,319 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.util;
+
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.HttpStatusCodes;
+import com.google.api.services.samples.admob.metrics.ApiMetrics;
+import com.google.common.util.concurrent.RateLimiter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.ConnectionClosedException;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.TruncatedChunkException;
+
+/**
+ * Schedules AdMob API calls so that long-running jobs stay within quota and survive transient
+ * errors.
+ *
+ * <p>Each call goes through three stages:
+ *
+ * <ul>
+ *   <li>A token bucket per account and {@link QuotaCategory}, since reporting and inventory
+ *       methods have separate quotas.
+ *   <li>An adaptive concurrency limit shared by all calls: it grows by one call per round trip
+ *       while calls succeed and halves when a call is throttled with {@code 429
+ *       RESOURCE_EXHAUSTED} (additive increase, multiplicative decrease). Waiting {@link
+ *       Priority#INTERACTIVE} calls always take a free slot before waiting {@link Priority#BATCH}
+ *       calls, so that backfills cannot starve dashboards.
+ *   <li>Retries of throttled, server-side and network errors with exponential backoff and full
+ *       jitter, honoring {@code Retry-After}, until the call's deadline would be exceeded.
+ * </ul>
+ */
+public final class RequestScheduler {
+
+  /** The quota an API method counts against. */
+  public enum QuotaCategory {
+    /** The network and mediation report methods. */
+    REPORTING,
+    /** The account, app and ad unit methods. */
+    INVENTORY
+  }
+
+  /** The lane a call waits in for a concurrency slot. */
+  public enum Priority {
+    /** Calls a user is waiting on. */
+    INTERACTIVE,
+    /** Backfills and other bulk work. */
+    BATCH
+  }
+
+  /** An API call, typically {@code request::execute}. It may be invoked more than once. */
+  public interface ApiCall<T> {
+    T call() throws IOException;
+  }
+
+  private static final int STATUS_CODE_TOO_MANY_REQUESTS = 429;
+
+  private final double reportingRequestsPerSecond;
+  private final double inventoryRequestsPerSecond;
+  private final ConcurrencyLimit concurrencyLimit;
+  private final long initialBackoffNanos;
+  private final long maxBackoffNanos;
+  private final long deadlineNanos;
+  private final ConcurrentMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+  private RequestScheduler(Builder builder) {
+    this.reportingRequestsPerSecond = builder.reportingRequestsPerSecond;
+    this.inventoryRequestsPerSecond = builder.inventoryRequestsPerSecond;
+    this.concurrencyLimit =
+        new ConcurrencyLimit(builder.initialConcurrency, builder.maxConcurrency);
+    this.initialBackoffNanos = builder.initialBackoff.toNanos();
+    this.maxBackoffNanos = builder.maxBackoff.toNanos();
+    this.deadlineNanos = builder.deadline.toNanos();
+  }
+
+  /**
+   * Runs a call, retrying it on transient errors.
+   *
+   * @param accountName The account the call is made for.
+   * @param category The quota the call counts against.
+   * @param priority The lane the call waits in.
+   * @param call The call to run.
+   * @return The value returned by the first successful attempt.
+   * @throws IOException The error of the last attempt, if it was not transient or the deadline
+   *     does not leave time for another attempt.
+   */
+  public <T> T execute(
+      String accountName, QuotaCategory category, Priority priority, ApiCall<T> call)
+      throws IOException {
+    long deadline = System.nanoTime() + deadlineNanos;
+    RateLimiter rateLimiter =
+        rateLimiters.computeIfAbsent(
+            accountName + "/" + category,
+            key ->
+                RateLimiter.create(
+                    category == QuotaCategory.REPORTING
+                        ? reportingRequestsPerSecond
+                        : inventoryRequestsPerSecond));
+
+    for (int attempt = 0; ; attempt++) {
+      rateLimiter.acquire();
+      long start = concurrencyLimit.acquire(priority);
+      IOException error;
+      try {
+        T value = call.call();
+        concurrencyLimit.release(start, false);
+        return value;
+      } catch (IOException e) {
+        concurrencyLimit.release(start, isThrottled(e));
+        error = e;
+      } catch (RuntimeException | Error e) {
+        concurrencyLimit.release(start, false);
+        throw e;
+      }
+
+      if (!isRetryable(error)) {
+        throw error;
+      }
+      long backoff = backoffNanos(attempt, error);
+      if (System.nanoTime() + backoff >= deadline) {
+        throw error;
+      }
+      ApiMetrics.global().count(ApiMetrics.RETRIES, 1);
+      sleep(backoff);
+    }
+  }
+
+  /** Returns the current adaptive concurrency limit. */
+  public int getConcurrencyLimit() {
+    return concurrencyLimit.getLimit();
+  }
+
+  private static boolean isThrottled(IOException e) {
+    return e instanceof HttpResponseException
+        && ((HttpResponseException) e).getStatusCode() == STATUS_CODE_TOO_MANY_REQUESTS;
+  }
+
+  private static boolean isRetryable(IOException e) {
+    if (e instanceof InterruptedIOException && Thread.currentThread().isInterrupted()) {
+      return false;
+    }
+    if (e instanceof HttpResponseException) {
+      int statusCode = ((HttpResponseException) e).getStatusCode();
+      return statusCode == STATUS_CODE_TOO_MANY_REQUESTS
+          || statusCode >= HttpStatusCodes.STATUS_CODE_SERVER_ERROR;
+    }
+    // Network errors, including responses cut off while being read. Other errors, such as a
+    // malformed response, would fail again.
+    return e instanceof SocketException
+        || e instanceof InterruptedIOException
+        || e instanceof UnknownHostException
+        || e instanceof NoHttpResponseException
+        || e instanceof ConnectionClosedException
+        || e instanceof TruncatedChunkException;
+  }
+
+  /** Returns how long to wait before the next attempt. */
+  private long backoffNanos(int attempt, IOException error) {
+    if (error instanceof HttpResponseException) {
+      String retryAfter = ((HttpResponseException) error).getHeaders().getRetryAfter();
+      if (retryAfter != null && retryAfter.matches("\\d+")) {
+        return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter));
+      }
+    }
+    long ceiling = (long) Math.min(maxBackoffNanos, initialBackoffNanos * Math.pow(2, attempt));
+    return ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+
+  private static void sleep(long nanos) throws InterruptedIOException {
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+  }
+
+  /** An additive-increase, multiplicative-decrease limit on the number of calls in flight. */
+  private static final class ConcurrencyLimit {
+
+    private final int max;
+    private double limit;
+    private int inFlight;
+    private int interactiveWaiting;
+    private long lastDecrease = System.nanoTime();
+
+    ConcurrencyLimit(int initial, int max) {
+      this.limit = initial;
+      this.max = max;
+    }
+
+    /** Waits for a free slot and returns the time the call started. */
+    synchronized long acquire(Priority priority) throws InterruptedIOException {
+      boolean interactive = priority == Priority.INTERACTIVE;
+      if (interactive) {
+        interactiveWaiting++;
+      }
+      try {
+        while (inFlight >= (int) limit || (!interactive && interactiveWaiting > 0)) {
+          wait();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      } finally {
+        if (interactive && --interactiveWaiting == 0) {
+          // Let batch calls take any slots left.
+          notifyAll();
+        }
+      }
+      inFlight++;
+      return System.nanoTime();
+    }
+
+    /**
+     * Frees the slot of a finished call. A throttled call halves the limit, unless it started
+     * before the last decrease, so that a burst of throttled calls only counts once.
+     */
+    synchronized void release(long start, boolean throttled) {
+      inFlight--;
+      if (throttled) {
+        if (start - lastDecrease > 0) {
+          limit = Math.max(1, limit / 2);
+          lastDecrease = System.nanoTime();
+        }
+      } else {
+        limit = Math.min(max, limit + 1 / limit);
+      }
+      notifyAll();
+    }
+
+    synchronized int getLimit() {
+      return (int) limit;
+    }
+  }
+
+  /** Builds a {@link RequestScheduler}. */
+  public static final class Builder {
+
+    private double reportingRequestsPerSecond = 1.0;
+    private double inventoryRequestsPerSecond = 5.0;
+    private int initialConcurrency = 4;
+    private int maxConcurrency = 64;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofSeconds(32);
+    private Duration deadline = Duration.ofMinutes(10);
+
+    /** Sets the maximum rate of report calls for a single account. */
+    public Builder setReportingRequestsPerSecond(double reportingRequestsPerSecond) {
+      if (reportingRequestsPerSecond <= 0) {
+        throw new IllegalArgumentException("The reporting request rate must be positive.");
+      }
+      this.reportingRequestsPerSecond = reportingRequestsPerSecond;
+      return this;
+    }
+
+    /** Sets the maximum rate of account, app and ad unit calls for a single account. */
+    public Builder setInventoryRequestsPerSecond(double inventoryRequestsPerSecond) {
+      if (inventoryRequestsPerSecond <= 0) {
+        throw new IllegalArgumentException("The inventory request rate must be positive.");
+      }
+      this.inventoryRequestsPerSecond = inventoryRequestsPerSecond;
+      return this;
+    }
+
+    /** Sets the range of the adaptive limit on the number of calls in flight. */
+    public Builder setConcurrency(int initialConcurrency, int maxConcurrency) {
+      if (initialConcurrency <= 0 || maxConcurrency < initialConcurrency) {
+        throw new IllegalArgumentException(
+            "The initial concurrency must be positive and at most the maximum concurrency.");
+      }
+      this.initialConcurrency = initialConcurrency;
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /** Sets the bounds of the randomized wait before the first and any later retry. */
+    public Builder setBackoff(Duration initialBackoff, Duration maxBackoff) {
+      if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+        throw new IllegalArgumentException(
+            "The initial backoff must not be negative and at most the maximum backoff.");
+      }
+      this.initialBackoff = initialBackoff;
+      this.maxBackoff = maxBackoff;
+      return this;
+    }
+
+    /** Sets the time after which a call is no longer retried. */
+    public Builder setDeadline(Duration deadline) {
+      this.deadline = deadline;
+      return this;
+    }
+
+    public RequestScheduler build() {
+      return new RequestScheduler(this);
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.api.services.samples.admob.util;
+
+import com.google.api.services.samples.admob.util.RequestScheduler.ApiCall;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Coalesces identical concurrent calls: while a call for a key is in flight, other callers asking
+ * for the same key wait for it and share its result instead of making calls of their own.
+ *
+ * <p>Results can also be kept for a short time after the call completes, so that callers arriving
+ * just after it are served too. Failures are shared with the callers waiting at the time, but never
+ * kept. Shared results are handed to every caller as is, so they must be treated as read-only.
+ * For example, to share the listing of an account's apps:
+ *
+ * <pre>{@code
+ * SingleFlight<String, List<App>> apps = new SingleFlight<>();
+ * List<App> accountApps = apps.get(accountName, () -> ListApps.listApps(adMob, accountName));
+ * }</pre>
+ *
+ * @param <K> The type of the keys identifying calls, e.g. {@link
+ *     com.google.api.services.samples.admob.reports.ReportSpecKey} strings.
+ * @param <V> The type of the results.
+ */
+public final class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+  private final long memoizeMillis;
+  private final Clock clock;
+
+  /** Creates a single flight that only shares calls while they are in flight. */
+  public SingleFlight() {
+    this(Duration.ZERO, Clock.systemUTC());
+  }
+
+  /**
+   * @param memoize How long results are kept once their call completes.
+   * @param clock The clock used to expire results.
+   */
+  public SingleFlight(Duration memoize, Clock clock) {
+    if (memoize.isNegative()) {
+      throw new IllegalArgumentException("The memoization time must not be negative.");
+    }
+    this.memoizeMillis = memoize.toMillis();
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the result of the call in flight for a key, or of a call kept for it, or else makes
+   * the call on the current thread.
+   *
+   * @param key The key identifying the call; calls with equal keys must return equal results.
+   * @param call The call to make if none can be shared.
+   * @return The result of the call.
+   * @throws IOException The error of the shared call, as thrown by it.
+   */
+  public V get(K key, ApiCall<V> call) throws IOException {
+    while (true) {
+      Flight<V> flight = flights.get(key);
+      if (flight != null && flight.isExpired(clock.millis())) {
+        flights.remove(key, flight);
+        continue;
+      }
+      if (flight == null) {
+        Flight<V> created = new Flight<>();
+        flight = flights.putIfAbsent(key, created);
+        if (flight == null) {
+          return lead(key, created, call);
+        }
+      }
+      return flight.await();
+    }
+  }
+
+  /** Returns the number of calls in flight or kept. */
+  public int size() {
+    return flights.size();
+  }
+
+  private V lead(K key, Flight<V> flight, ApiCall<V> call) throws IOException {
+    V value;
+    try {
+      value = call.call();
+    } catch (IOException | RuntimeException | Error e) {
+      flights.remove(key, flight);
+      flight.result.completeExceptionally(e);
+      throw e;
+    }
+    if (memoizeMillis == 0) {
+      flights.remove(key, flight);
+    } else {
+      flight.expiresAtMillis = clock.millis() + memoizeMillis;
+      removeExpired();
+    }
+    flight.result.complete(value);
+    return value;
+  }
+
+  /** Drops expired results, so that keys never asked for again do not pile up. */
+  private void removeExpired() {
+    long now = clock.millis();
+    flights.values().removeIf(flight -> flight.isExpired(now));
+  }
+
+  private static final class Flight<V> {
+    final CompletableFuture<V> result = new CompletableFuture<>();
+
+    /** When the result stops being shared, once the call completed. */
+    volatile long expiresAtMillis = Long.MAX_VALUE;
+
+    boolean isExpired(long nowMillis) {
+      return nowMillis >= expiresAtMillis;
+    }
+
+    V await() throws IOException {
+      try {
+        return result.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for a shared call.");
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        } else if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new IOException(cause);
+      }
+    }
+  }
+}